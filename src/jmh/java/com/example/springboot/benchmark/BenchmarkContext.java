@@ -0,0 +1,43 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.SpringBootTestingApplication;
+import com.example.springboot.model.Employee;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against its in-memory H2 database for benchmark trials.
+ * SQL logging is switched off so stdout does not dominate the measurements.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .web(webApplicationType)
+                .properties("spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    static List<Employee> employees(int count, String prefix) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstName(prefix + "First" + i)
+                    .lastName(prefix + "Last" + i)
+                    .email(prefix.toLowerCase() + i + "@example.com")
+                    .build());
+        }
+        return employees;
+    }
+}
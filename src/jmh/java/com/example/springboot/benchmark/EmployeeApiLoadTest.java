@@ -0,0 +1,299 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.search.EmployeeSearchIndexLoader;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.testdata.EmployeeDataGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-JVM load-test suite for {@code /api/employees}: boots the application on a random port, bulk-loads
+ * {@code rows} synthetic employees with {@link EmployeeDataGenerator}, then drives each endpoint in turn with
+ * {@code clients} closed-loop HTTP clients. Per scenario it reports throughput and latency percentiles, garbage
+ * collections and the bytes allocated by Tomcat's request threads, and the SQL statements Hibernate prepared,
+ * each per request.
+ * <p>
+ * Arguments: {@code [rows=1000000] [clients=32] [seconds=20] [warmupSeconds=5] [scenarios=all] [key=value...]}.
+ * {@code scenarios} is a comma-separated subset of the names below; trailing {@code key=value} pairs are passed to
+ * the application, e.g. {@code app.write-behind.enabled=true}, which also enables the {@code async} scenario.
+ * Scenarios run in a fixed order, reads before writes and deletes last, with the same seed every run.
+ */
+public final class EmployeeApiLoadTest {
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient client;
+    private final URI base;
+    private final long firstId;
+    private final long rows;
+    private final Statistics statistics;
+    // writes use ids from the generated range from the top down, so reads of random ids mostly still hit
+    private final AtomicLong nextWriteId;
+    private final AtomicLong created = new AtomicLong();
+    private volatile LatencyRecorder recorder = new LatencyRecorder();
+
+    private EmployeeApiLoadTest(HttpClient client, URI base, long firstId, long rows, Statistics statistics) {
+        this.client = client;
+        this.base = base;
+        this.firstId = firstId;
+        this.rows = rows;
+        this.statistics = statistics;
+        this.nextWriteId = new AtomicLong(firstId + rows - 1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 20);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 5);
+        String scenarios = args.length > 4 ? args[4] : "all";
+        String[] properties = args.length > 5 ? Arrays.copyOfRange(args, 5, args.length) : new String[0];
+
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(WebApplicationType.SERVLET, properties)) {
+            long start = System.nanoTime();
+            long firstId;
+            if (context.getEnvironment().getProperty("app.memory-store.enabled", Boolean.class, false)
+                    || context.getEnvironment().getProperty("app.sharding.enabled", Boolean.class, false)) {
+                // the memory store and the shards do not read the employees table, so load through the service
+                firstId = load(context.getBean(EmployeeService.class), new EmployeeDataGenerator(42), rows);
+            } else {
+                firstId = new EmployeeDataGenerator(42).insert(context.getBean(DataSource.class), rows);
+                // rows written over JDBC bypass the service, so the search index has to be filled again
+                context.getBean(EmployeeSearchIndexLoader.class).load();
+            }
+            System.out.printf("generated %d employees in %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+
+            ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/employees");
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                    .getStatistics();
+            statistics.setStatisticsEnabled(true);
+            EmployeeApiLoadTest loadTest = new EmployeeApiLoadTest(client, base, firstId, rows, statistics);
+            boolean writeBehind = context.getEnvironment().getProperty("app.write-behind.enabled", Boolean.class, false);
+            try {
+                for (Map.Entry<String, Scenario> scenario : loadTest.scenarios(writeBehind).entrySet()) {
+                    if (scenarios.equals("all") || Arrays.asList(scenarios.split(",")).contains(scenario.getKey())) {
+                        int scenarioClients = scenario.getValue().wholeTable() ? 1 : clients;
+                        loadTest.run(scenario.getKey(), scenario.getValue().request(), scenarioClients, warmup,
+                                duration, System.out);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static long load(EmployeeService employeeService, EmployeeDataGenerator generator, int rows) {
+        long firstId = -1;
+        for (int loaded = 0; loaded < rows; loaded += 10_000) {
+            List<BatchItemResult> results = employeeService.saveEmployees(generator.employees(Math.min(10_000, rows - loaded)));
+            if (firstId < 0) {
+                firstId = results.get(0).id();
+            }
+        }
+        return firstId;
+    }
+
+    /**
+     * One request shape; whole-table reads run with a single client so they do not exhaust the heap.
+     */
+    private record Scenario(Supplier<HttpRequest> request, boolean wholeTable) {
+
+        static Scenario of(Supplier<HttpRequest> request) {
+            return new Scenario(request, false);
+        }
+    }
+
+    private Map<String, Scenario> scenarios(boolean writeBehind) {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("get-by-id", Scenario.of(() -> get("/" + randomId())));
+        scenarios.put("get-by-id-fields", Scenario.of(() -> get("/" + randomId() + "?fields=id,email")));
+        // one team of 50 per request; compare with 50 x get-by-id
+        scenarios.put("get-by-ids", Scenario.of(() -> get("?ids=" + randomIds(50))));
+        scenarios.put("lookup", Scenario.of(() -> send("POST", "/lookup", "[" + randomIds(500) + "]")));
+        scenarios.put("revalidate", Scenario.of(() -> HttpRequest.newBuilder(uri("/" + randomId()))
+                .header("If-None-Match", "\"0\"").GET().build()));
+        scenarios.put("page", Scenario.of(() -> get("?limit=100&after=" + (randomId() - 1))));
+        scenarios.put("page-fields", Scenario.of(() -> get("?limit=100&fields=id,email&after=" + (randomId() - 1))));
+        scenarios.put("search", Scenario.of(() -> get("/search?limit=10&q="
+                + List.of("j", "mar", "rob", "smi", "john", "eliz", "garcia").get(random(7)))));
+        scenarios.put("list-all", new Scenario(() -> get(""), true));
+        scenarios.put("export", new Scenario(() -> get("/export"), true));
+        scenarios.put("create", Scenario.of(() -> send("POST", "", employee(created.incrementAndGet()))));
+        scenarios.put("create-batch", Scenario.of(() -> send("POST", "/batch", batch(100))));
+        if (writeBehind) {
+            scenarios.put("async", Scenario.of(() -> send("POST", "/async", employee(created.incrementAndGet()))));
+        }
+        scenarios.put("update", Scenario.of(() -> {
+            long id = randomId();
+            return HttpRequest.newBuilder(uri("/" + id))
+                    .header("Content-Type", JSON)
+                    .header("If-Match", "*")
+                    .PUT(HttpRequest.BodyPublishers.ofString(employee(id, "updated" + created.incrementAndGet())))
+                    .build();
+        }));
+        scenarios.put("update-batch", Scenario.of(() -> {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < 100; i++) {
+                long id = randomId();
+                body.append(i == 0 ? "" : ",")
+                        .append(employee(id, "batch" + created.incrementAndGet()).replace("{", "{\"id\":" + id + ","));
+            }
+            return send("PUT", "/batch", body.append(']').toString());
+        }));
+        scenarios.put("delete", Scenario.of(() -> HttpRequest.newBuilder(uri("/" + nextWriteId.getAndDecrement()))
+                .DELETE().build()));
+        scenarios.put("delete-batch", Scenario.of(() -> {
+            StringBuilder ids = new StringBuilder("[");
+            for (int i = 0; i < 100; i++) {
+                ids.append(i == 0 ? "" : ",").append(nextWriteId.getAndDecrement());
+            }
+            return HttpRequest.newBuilder(uri("/batch"))
+                    .header("Content-Type", JSON)
+                    .method("DELETE", HttpRequest.BodyPublishers.ofString(ids.append(']').toString()))
+                    .build();
+        }));
+        return scenarios;
+    }
+
+    private void run(String name, Supplier<HttpRequest> requests, int clients, Duration warmup, Duration duration,
+                     PrintStream out) throws InterruptedException {
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            next(requests, deadline, finished);
+        }
+        Thread.sleep(warmup.toMillis());
+        recorder = new LatencyRecorder();
+        long statements = statistics.getPrepareStatementCount();
+        long collections = collectionCount();
+        long collectionMillis = collectionMillis();
+        long allocated = requestThreadAllocatedBytes();
+        long measureStart = System.nanoTime();
+        finished.await();
+        long elapsed = System.nanoTime() - measureStart;
+
+        recorder.report(String.format("%-16s x%-4d", name, clients), elapsed, out);
+        long requestCount = Math.max(1, recorder.count() + recorder.errors());
+        out.printf("%-22s gc: %d collections, %d ms; %.1f KB allocated/request; %.2f SQL statements/request%n", "",
+                collectionCount() - collections, collectionMillis() - collectionMillis,
+                (requestThreadAllocatedBytes() - allocated) / 1024.0 / requestCount,
+                (double) (statistics.getPrepareStatementCount() - statements) / requestCount);
+    }
+
+    private void next(Supplier<HttpRequest> requests, long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() < 400) {
+                        recorder.record(System.nanoTime() - start);
+                    } else {
+                        recorder.recordError();
+                    }
+                    next(requests, deadline, finished);
+                });
+    }
+
+    private String randomIds(int count) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ids.append(i == 0 ? "" : ",").append(randomId());
+        }
+        return ids.toString();
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextLong(rows);
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private URI uri(String path) {
+        return URI.create(base + path);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", JSON)
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String batch(int size) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",").append(employee(created.incrementAndGet()));
+        }
+        return body.append(']').toString();
+    }
+
+    private static String employee(long sequence) {
+        return employee(sequence, "load" + sequence);
+    }
+
+    private static String employee(long sequence, String local) {
+        return "{\"firstName\":\"Load\",\"lastName\":\"Test" + sequence + "\",\"email\":\"" + local
+                + "@loadtest.example.com\"}";
+    }
+
+    private static long collectionCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    // the client runs in the same JVM, so only Tomcat's request threads are counted
+    private static long requestThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = Arrays.stream(threads.getThreadInfo(threads.getAllThreadIds()))
+                .filter(info -> info != null && info.getThreadName().startsWith("http-nio-"))
+                .mapToLong(ThreadInfo::getThreadId)
+                .toArray();
+        return Arrays.stream(threads.getThreadAllocatedBytes(ids)).filter(bytes -> bytes > 0).sum();
+    }
+}
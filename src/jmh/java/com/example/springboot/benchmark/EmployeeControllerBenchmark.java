@@ -0,0 +1,107 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full request through the DispatcherServlet, message converters and {@code EmployeeController}, without socket I/O.
+ * Run with {@code -prof gc} to get allocated bytes per request ({@code gc.alloc.rate.norm}). The {@code Narrow}
+ * variants request {@code fields=id,email}; the payload size of both projections is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EmployeeControllerBenchmark {
+
+    private static final int LISTED_EMPLOYEES = 100;
+    private static final String NARROW_FIELDS = "id,email";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long existingId;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        Employee employee = BenchmarkContext.employees(1, "Controller").get(0);
+        existingId = context.getBean(EmployeeService.class).saveEmployee(employee).getId();
+        context.getBean(EmployeeService.class).saveEmployees(BenchmarkContext.employees(LISTED_EMPLOYEES - 1, "List"));
+        try {
+            System.out.printf("%nPayload of %d employees: %d bytes wide, %d bytes with fields=%s%n", LISTED_EMPLOYEES,
+                    getAllEmployees().length, getAllEmployeesNarrow().length, NARROW_FIELDS);
+            System.out.printf("Payload of one employee: %d bytes wide, %d bytes with fields=%s%n",
+                    getEmployeeById().length, getEmployeeByIdNarrow().length, NARROW_FIELDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getEmployeeById() throws Exception {
+        return mockMvc.perform(get("/api/employees/{id}", existingId))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getAllEmployees() throws Exception {
+        return mockMvc.perform(get("/api/employees"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getEmployeeByIdNarrow() throws Exception {
+        return mockMvc.perform(get("/api/employees/{id}", existingId).param("fields", NARROW_FIELDS))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getAllEmployeesNarrow() throws Exception {
+        return mockMvc.perform(get("/api/employees").param("fields", NARROW_FIELDS))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] createEmployee() throws Exception {
+        long next = sequence.incrementAndGet();
+        String body = "{\"firstName\":\"First" + next + "\",\"lastName\":\"Last" + next
+                + "\",\"email\":\"controller" + next + "@example.com\"}";
+        return mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Fetching a team of {@code teamSize} employees: one {@code GET /api/employees/{id}} per member against one
+ * {@code GET /api/employees?ids=} and one {@code POST /api/employees/lookup}, each a full MockMvc request.
+ * {@code cache=none} switches the {@code employees} cache off, so every variant reads the database. Teams are
+ * drawn from a fixed set of random id lists, so the cached variants are mostly hits after warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EmployeeMultiGetBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int TEAMS = 64;
+
+    @Param({"10", "100", "1000"})
+    private int teamSize;
+
+    @Param({"caffeine", "none"})
+    private String cache;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private final List<List<Long>> teams = new ArrayList<>();
+    private final List<String> idParameters = new ArrayList<>();
+    private final List<String> idBodies = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, "spring.cache.type=" + cache);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        List<Long> ids = new ArrayList<>(EMPLOYEES);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        for (int saved = 0; saved < EMPLOYEES; saved += 1000) {
+            for (BatchItemResult result : employeeService.saveEmployees(BenchmarkContext.employees(1000, "Team" + saved))) {
+                ids.add(result.id());
+            }
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < TEAMS; i++) {
+            List<Long> team = random.ints(teamSize, 0, EMPLOYEES).mapToObj(ids::get).toList();
+            teams.add(team);
+            String joined = team.stream().map(String::valueOf).collect(Collectors.joining(","));
+            idParameters.add(joined);
+            idBodies.add("[" + joined + "]");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long singleGets() throws Exception {
+        long bytes = 0;
+        for (long id : teams.get(nextTeam())) {
+            bytes += mockMvc.perform(get("/api/employees/{id}", id))
+                    .andReturn().getResponse().getContentAsByteArray().length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] multiGet() throws Exception {
+        return mockMvc.perform(get("/api/employees").param("ids", idParameters.get(nextTeam())))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] lookup() throws Exception {
+        return mockMvc.perform(post("/api/employees/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(idBodies.get(nextTeam())))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private int nextTeam() {
+        next = (next + 1) % TEAMS;
+        return next;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import com.example.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the four name-lookup query styles of {@link EmployeeRepository} over a seeded table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EmployeeRepositoryQueryBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private String firstName;
+    private String lastName;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(WebApplicationType.NONE);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        context.getBean(EmployeeService.class).saveEmployees(BenchmarkContext.employees(rows, "Query"));
+        firstName = "QueryFirst" + rows / 2;
+        lastName = "QueryLast" + rows / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee jpqlIndexParams() {
+        return employeeRepository.findByJPQL(firstName, lastName);
+    }
+
+    @Benchmark
+    public Employee jpqlNamedParams() {
+        return employeeRepository.findByJPQLNamedParams(firstName, lastName);
+    }
+
+    @Benchmark
+    public Employee nativeIndexParams() {
+        return employeeRepository.findByNativeSQL(firstName, lastName);
+    }
+
+    @Benchmark
+    public Employee nativeNamedParams() {
+        return employeeRepository.findByNativeSQLNamed(firstName, lastName);
+    }
+}
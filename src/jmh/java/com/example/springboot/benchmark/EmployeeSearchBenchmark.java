@@ -0,0 +1,95 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.model.Employee;
+import com.example.springboot.search.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead queries against {@link EmployeeSearchIndex} holding {@code employees} synthetic rows. The index is
+ * filled directly, without Spring or a database, so only the lookup and ranking are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmployeeSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"james", "mary", "john", "patricia", "robert", "jennifer",
+            "michael", "linda", "william", "elizabeth", "david", "barbara", "richard", "susan", "joseph", "jessica"};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "example.org"};
+
+    @Param({"1000000"})
+    public int employees;
+
+    private EmployeeSearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        searchIndex = new EmployeeSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 1; i <= employees; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            // random six letter last names give a realistic spread of distinct terms
+            String lastName = randomWord(random, 6);
+            searchIndex.index(Employee.builder()
+                    .id(i)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(firstName + "." + lastName + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)])
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%nsearch index: %d employees, ~%d MB%n", searchIndex.size(),
+                searchIndex.estimatedMemoryBytes() / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<EmployeeView> shortPrefix() {
+        return searchIndex.search("j", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeView> namePrefix() {
+        return searchIndex.search("eliz", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeView> firstAndLastName() {
+        return searchIndex.search("mary ab", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeView> noMatch() {
+        return searchIndex.search("zzzzzzz", 10);
+    }
+
+    private static String randomWord(SplittableRandom random, int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
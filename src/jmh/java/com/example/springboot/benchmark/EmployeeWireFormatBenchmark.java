@@ -0,0 +1,103 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.model.Employee;
+import com.example.springboot.testdata.EmployeeDataGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The whole-table response of {@code GET /api/employees} in each wire format: encoding it, encoding and
+ * gzip-compressing it as Tomcat does with {@code server.compression}, and decoding it as a request body. The
+ * encoded and gzipped sizes, i.e. the bytes on the wire without and with {@code Accept-Encoding: gzip}, are
+ * printed during setup. The rows come from {@link EmployeeDataGenerator}, so names and emails have realistic
+ * repetition. The 1M-row trials need more than the usual 1 GB heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EmployeeWireFormatBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private List<EmployeeView> employees;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        List<Employee> generated = new EmployeeDataGenerator(42).employees(rows);
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Employee employee = generated.get(i);
+            employees.add(new EmployeeView(i + 1, employee.getFirstName(), employee.getLastName(), employee.getEmail(), 0));
+        }
+        ObjectMapper objectMapper = new ObjectMapper(factory(format));
+        writer = objectMapper.writerFor(new TypeReference<List<EmployeeView>>() {
+        });
+        reader = objectMapper.readerFor(new TypeReference<List<Employee>>() {
+        });
+        encoded = serialize();
+        System.out.printf("%n%s, %d employees: %d bytes, %d bytes gzipped%n", format, rows, encoded.length,
+                serializeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded != null ? encoded.length / 4 : 8192);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            writer.writeValue(gzip, employees);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<Employee> deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.springboot.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-loop HTTP load generator: each simulated client sends a GET, waits for the response and immediately sends
+ * the next one, so the number of in-flight requests equals the number of clients.
+ * <p>
+ * Arguments: {@code <url> [clients=10000] [seconds=60] [warmupSeconds=10]}. Run it against an application started
+ * with and without the {@code virtual-threads} profile to compare the two execution modes.
+ */
+public final class HttpLoadTest {
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private volatile LatencyRecorder recorder = new LatencyRecorder();
+
+    private HttpLoadTest(HttpClient client, HttpRequest request) {
+        this.client = client;
+        this.request = request;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI target = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/employees/1");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        HttpLoadTest loadTest = new HttpLoadTest(client, HttpRequest.newBuilder(target).GET().build());
+        try {
+            loadTest.run(clients, warmup, duration);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(int clients, Duration warmup, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            next(deadline, finished);
+        }
+        Thread.sleep(warmup.toMillis());
+        recorder = new LatencyRecorder();
+        long measureStart = System.nanoTime();
+        finished.await();
+        recorder.report(request.uri() + " x" + clients, System.nanoTime() - measureStart, System.out);
+    }
+
+    private void next(long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() < 400) {
+                        recorder.record(System.nanoTime() - start);
+                    } else {
+                        recorder.recordError();
+                    }
+                    next(deadline, finished);
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.springboot.benchmark;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram for the load tests: 10 microsecond buckets up to 10 ms, then 1 ms buckets up to 10 s.
+ */
+final class LatencyRecorder {
+    private static final long FINE_LIMIT_MICROS = 10_000;
+    private static final int FINE_BUCKETS = 1_000;
+    private static final int COARSE_BUCKETS = 10_000;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(FINE_BUCKETS + COARSE_BUCKETS + 1);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = micros < FINE_LIMIT_MICROS
+                ? (int) (micros / 10)
+                : (int) Math.min(FINE_BUCKETS + (micros - FINE_LIMIT_MICROS) / 1000, FINE_BUCKETS + COARSE_BUCKETS);
+        buckets.incrementAndGet(bucket);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    long count() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long percentileMicros(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100.0 * count());
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return upperBoundMicros(i);
+            }
+        }
+        return 0;
+    }
+
+    void report(String name, long elapsedNanos, PrintStream out) {
+        long count = count();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.printf("%s: %d requests, %d errors, %.1f req/s, p50=%dus p99=%dus p99.9=%dus%n",
+                name, count, errors(), count / seconds,
+                percentileMicros(50), percentileMicros(99), percentileMicros(99.9));
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        return bucket < FINE_BUCKETS
+                ? (bucket + 1) * 10L
+                : FINE_LIMIT_MICROS + (bucket - FINE_BUCKETS + 1) * 1000L;
+    }
+}
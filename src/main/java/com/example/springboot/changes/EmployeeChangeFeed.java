@@ -0,0 +1,236 @@
+package com.example.springboot.changes;
+
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process feed of committed employee changes, streamed to subscribers as Server-Sent Events.
+ * <p>
+ * {@code EmployeeServiceImpl} publishes after commit into an {@link EmployeeChangeRing} of
+ * {@code app.changes.capacity} entries, which is the only buffer: a subscriber is just a position in the ring,
+ * drained by a small sender pool whenever something was published. A subscriber that falls more than the ring
+ * capacity behind, or resumes from a sequence the ring no longer holds, gets an {@code overflow} event and the
+ * stream ends; it has to reload the employees and resume from the sequence in that event.
+ * <p>
+ * Writing an event blocks until the client takes it, so the senders hand each write to a separate writer thread
+ * and wait at most {@code app.changes.send-timeout}. A subscriber whose write takes longer has stopped reading: it
+ * is dropped, treated like an overflowed subscriber, and the sender moves on to the others.
+ */
+@Component
+public class EmployeeChangeFeed implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    public static final String CHANGE_EVENT = "employee";
+    public static final String OVERFLOW_EVENT = "overflow";
+
+    // events written per subscriber before the sender moves on, so one busy stream cannot hold a sender forever
+    private static final int SEND_BATCH = 256;
+
+    /**
+     * Data of the {@code overflow} event: the changes after {@code requestedAfter} are lost to this subscriber.
+     * After reloading, changes after {@code lastSequence} are the ones still to come.
+     */
+    public record Overflow(long requestedAfter, long oldestSequence, long lastSequence) {
+    }
+
+    private final EmployeeChangeRing ring;
+    private final long timeoutMillis;
+    private final long sendTimeoutMillis;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    // one write in flight per sender, plus the writes stuck on dropped subscribers until the container gives up
+    private final ExecutorService writers;
+
+    public EmployeeChangeFeed(@Value("${app.changes.capacity:65536}") int capacity,
+                              @Value("${app.changes.sender-threads:4}") int senderThreads,
+                              @Value("${app.changes.timeout:30m}") Duration timeout,
+                              @Value("${app.changes.send-timeout:10s}") Duration sendTimeout) {
+        this.ring = new EmployeeChangeRing(capacity);
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads, threads("employee-changes-"));
+        this.writers = Executors.newCachedThreadPool(threads("employee-changes-writer-"));
+    }
+
+    /**
+     * Called after commit; never blocks on subscribers.
+     */
+    public void publish(EmployeeChange.Type type, long employeeId, EmployeeView employee) {
+        ring.publish(type, employeeId, employee);
+        subscriptions.forEach(this::schedule);
+    }
+
+    /**
+     * Streams the changes after sequence {@code after}, or only new changes when it is {@code null}.
+     */
+    public SseEmitter subscribe(Long after) {
+        Subscription subscription = new Subscription(new SseEmitter(timeoutMillis), after == null ? ring.lastSequence() : after);
+        subscription.emitter.onCompletion(() -> subscriptions.remove(subscription));
+        subscription.emitter.onTimeout(() -> subscriptions.remove(subscription));
+        subscription.emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        schedule(subscription);
+        return subscription.emitter;
+    }
+
+    public long lastSequence() {
+        return ring.lastSequence();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.changes.subscribers", subscriptions, Set::size)
+                .description("Open change feed streams")
+                .register(registry);
+        Gauge.builder("employees.changes.sequence", ring, EmployeeChangeRing::lastSequence)
+                .description("Sequence of the last published employee change")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+        writers.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private void schedule(Subscription subscription) {
+        if (subscription.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                subscription.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        List<EmployeeChange> changes = new ArrayList<>(SEND_BATCH);
+        try {
+            EmployeeChangeRing.ReadStatus status = ring.read(subscription.position, SEND_BATCH, changes);
+            for (EmployeeChange change : changes) {
+                send(subscription, SseEmitter.event()
+                        .id(Long.toString(change.sequence()))
+                        .name(CHANGE_EVENT)
+                        .data(change, MediaType.APPLICATION_JSON));
+                subscription.position = change.sequence();
+            }
+            if (status == EmployeeChangeRing.ReadStatus.OVERFLOW) {
+                send(subscription, overflow(subscription));
+                subscription.emitter.complete();
+                subscriptions.remove(subscription);
+                return;
+            }
+        } catch (TimeoutException e) {
+            log.debug("Dropping change feed subscriber that stopped reading at sequence {}", subscription.position);
+            subscriptions.remove(subscription);
+            // the stuck write holds the emitter until the container times it out; the overflow event follows it,
+            // for a client that only paused
+            try {
+                writers.execute(() -> {
+                    try {
+                        subscription.emitter.send(overflow(subscription));
+                        subscription.emitter.complete();
+                    } catch (IOException | IllegalStateException ignored) {
+                        subscription.emitter.completeWithError(e);
+                    }
+                });
+            } catch (RejectedExecutionException ignored) {
+                // shutting down
+            }
+            return;
+        } catch (IOException | IllegalStateException e) {
+            // the client went away or the stream already ended
+            log.debug("Dropping change feed subscriber", e);
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+            return;
+        }
+        subscription.scheduled.set(false);
+        // a change published after the read above may have found the subscription still scheduled
+        if (ring.hasChangesAfter(subscription.position)) {
+            schedule(subscription);
+        }
+    }
+
+    // waits for the write at most the send timeout, so a client that stopped reading cannot hold the sender
+    private void send(Subscription subscription, SseEmitter.SseEventBuilder event) throws IOException, TimeoutException {
+        Future<?> write;
+        try {
+            write = writers.submit(() -> {
+                subscription.emitter.send(event);
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Change feed is shutting down", e);
+        }
+        try {
+            write.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Change feed is shutting down", e);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder overflow(Subscription subscription) {
+        return SseEmitter.event()
+                .name(OVERFLOW_EVENT)
+                .data(new Overflow(subscription.position, ring.oldestSequence(), ring.lastSequence()),
+                        MediaType.APPLICATION_JSON);
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // only written by the sender currently holding the subscription
+        private volatile long position;
+
+        private Subscription(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+}
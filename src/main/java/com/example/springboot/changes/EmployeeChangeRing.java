@@ -0,0 +1,88 @@
+package com.example.springboot.changes;
+
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeView;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free ring of the most recent changes. A publisher claims the next sequence with one atomic increment and
+ * writes its change into the slot for that sequence; readers keep their own position and never block publishers.
+ * A slot holding a higher sequence than the one a reader expects means the reader was lapped.
+ */
+final class EmployeeChangeRing {
+
+    enum ReadStatus {
+        OK,
+        // the requested position is no longer, or was never, in the ring
+        OVERFLOW
+    }
+
+    private final AtomicReferenceArray<EmployeeChange> slots;
+    private final int mask;
+    // the first published sequence is 1, so 0 means "from the start"
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    EmployeeChangeRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Change feed capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    EmployeeChange publish(EmployeeChange.Type type, long employeeId, EmployeeView employee) {
+        long sequence = nextSequence.getAndIncrement();
+        EmployeeChange change = new EmployeeChange(sequence, type, employeeId, employee);
+        slots.set(index(sequence), change);
+        return change;
+    }
+
+    /**
+     * Adds up to {@code max} changes after sequence {@code after} to {@code into}. Stops early at a sequence that
+     * is claimed but not written yet, so changes are always returned without gaps. Changes added before an
+     * OVERFLOW are valid.
+     */
+    ReadStatus read(long after, int max, List<EmployeeChange> into) {
+        long last = lastSequence();
+        if (after > last || after < oldestSequence() - 1) {
+            return ReadStatus.OVERFLOW;
+        }
+        for (long sequence = after + 1; sequence <= last && into.size() < max; sequence++) {
+            EmployeeChange change = slots.get(index(sequence));
+            if (change == null || change.sequence() < sequence) {
+                break;
+            }
+            if (change.sequence() > sequence) {
+                return ReadStatus.OVERFLOW;
+            }
+            into.add(change);
+        }
+        return ReadStatus.OK;
+    }
+
+    /**
+     * Whether a read after {@code after} would return something now, either a change or an overflow.
+     */
+    boolean hasChangesAfter(long after) {
+        if (after >= lastSequence()) {
+            return false;
+        }
+        EmployeeChange change = slots.get(index(after + 1));
+        return change != null && change.sequence() > after;
+    }
+
+    long lastSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    long oldestSequence() {
+        return Math.max(1, lastSequence() - slots.length() + 1);
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
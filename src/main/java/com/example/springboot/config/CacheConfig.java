@@ -0,0 +1,16 @@
+package com.example.springboot.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Read-through Caffeine caches for employee lookups. Size bound, TTL and stats recording are set by
+ * {@code spring.cache.caffeine.spec}; hit/miss/eviction counters are published as {@code cache.*} metrics.
+ * The caching advice runs outside the transaction advice so puts and evictions happen after commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String EMPLOYEES_CACHE = "employees";
+}
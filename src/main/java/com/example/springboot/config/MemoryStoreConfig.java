@@ -0,0 +1,54 @@
+package com.example.springboot.config;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.memstore.EmployeeMemoryStore;
+import com.example.springboot.search.EmployeeSearchIndex;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.service.impl.MemoryEmployeeServiceImpl;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Opt-in memory-resident employee store, enabled with {@code app.memory-store.enabled=true}. Employees are then
+ * served by {@link MemoryEmployeeServiceImpl} from memory and persisted to the snapshot and write-ahead logs in
+ * {@code app.memory-store.directory} instead of the employees table.
+ * <p>
+ * Bulk import and write-behind commit their checkpoints in the database together with the employees they insert,
+ * which cannot be atomic with the store's log, so a resumed job or a replayed submission would create employees a
+ * second time. The import endpoints are therefore not available in this mode, and enabling write-behind as well
+ * fails at startup.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.memory-store.enabled", havingValue = "true")
+@EnableConfigurationProperties(MemoryStoreProperties.class)
+public class MemoryStoreConfig {
+
+    @Bean
+    public EmployeeMemoryStore employeeMemoryStore(MemoryStoreProperties properties, EmployeeSearchIndex searchIndex,
+                                                   EmployeeChangeFeed changeFeed) throws IOException {
+        return new EmployeeMemoryStore(properties.directory(), properties.fsync(), properties.snapshotInterval(),
+                (id, previous, current) -> {
+                    if (current == null) {
+                        searchIndex.remove(id);
+                        changeFeed.publish(EmployeeChange.Type.DELETED, id, null);
+                        return;
+                    }
+                    searchIndex.index(current.toEmployee());
+                    changeFeed.publish(previous == null ? EmployeeChange.Type.CREATED : EmployeeChange.Type.UPDATED,
+                            id, current);
+                });
+    }
+
+    @Bean
+    public EmployeeService employeeService(EmployeeMemoryStore store, EmployeeSearchIndex searchIndex,
+                                           ObjectProvider<EmployeeWriteBehind> writeBehind) {
+        return new MemoryEmployeeServiceImpl(store, searchIndex, writeBehind);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * {@code app.memory-store.*}: where the snapshot and the write-ahead logs live, whether every write waits for an
+ * fsync of the log, and how often a snapshot is taken when something changed.
+ */
+@ConfigurationProperties("app.memory-store")
+public record MemoryStoreProperties(boolean enabled,
+                                    Path directory,
+                                    @DefaultValue("true") boolean fsync,
+                                    @DefaultValue("5m") Duration snapshotInterval) {
+}
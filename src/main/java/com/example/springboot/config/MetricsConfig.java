@@ -0,0 +1,21 @@
+package com.example.springboot.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on Spring beans. Controller endpoints ({@code http.server.requests}), repository
+ * queries ({@code spring.data.repository.invocations}), Hibernate statements, the Hikari pool and the caches
+ * are instrumented by Spring Boot itself; percentiles for all of them are set in {@code application.properties}.
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "employees.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in read/write splitting, enabled with {@code app.datasource.routing.enabled=true} (see the {@code replicas}
+ * profile). {@code @Transactional(readOnly = true)} service methods, and Spring Data's read-only repository
+ * methods, read from the replicas in {@code app.datasource.routing.replicas}; all other work uses the primary from
+ * {@code spring.datasource.*}. A client that wrote keeps reading from the primary for
+ * {@code app.datasource.routing.read-your-writes}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties routingProperties) {
+        return new ReadYourWritesTracker(routingProperties.readYourWrites());
+    }
+
+    // bound to spring.datasource.hikari.* after creation, the way Spring Boot configures its own pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                               ReplicaRoutingProperties routingProperties,
+                                               ReadYourWritesTracker readYourWritesTracker,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : routingProperties.replicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setReadOnly(true);
+            meterRegistry.ifAvailable(pool::setMetricRegistry);
+            replicas.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.springboot.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas, round robin, and everything else to the primary.
+ * <p>
+ * The transaction manager opens the connection before the transaction's read-only flag is published, so the
+ * routing decision is deferred to the first statement by extending {@link LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> targets = new ArrayList<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, ReadYourWritesTracker tracker) {
+        Router router = new Router(replicas.size(), tracker);
+        Map<Object, Object> routes = new HashMap<>();
+        routes.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            routes.put(i, replicas.get(i));
+        }
+        router.setTargetDataSources(routes);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        targets.add(primary);
+        targets.addAll(replicas);
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource target : targets) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+        private final int replicas;
+        private final ReadYourWritesTracker tracker;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Router(int replicas, ReadYourWritesTracker tracker) {
+            this.replicas = replicas;
+            this.tracker = tracker;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                // treat every read-write connection as a write; cheaper than inspecting statements
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    tracker.recordWrite();
+                }
+                return PRIMARY;
+            }
+            if (replicas == 0 || tracker.readsFromPrimary()) {
+                return PRIMARY;
+            }
+            return Math.floorMod(next.getAndIncrement(), replicas);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code app.datasource.routing.*}: the read replicas used when routing is enabled, and how long a client keeps
+ * reading from the primary after one of its writes. The primary is configured with {@code spring.datasource.*}.
+ */
+@ConfigurationProperties("app.datasource.routing")
+public record ReplicaRoutingProperties(boolean enabled,
+                                       @DefaultValue("1s") Duration readYourWrites,
+                                       @DefaultValue List<Replica> replicas) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.springboot.config;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.search.EmployeeSearchIndex;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.service.impl.ShardedEmployeeServiceImpl;
+import com.example.springboot.sharding.ConsistentHashRing;
+import com.example.springboot.sharding.Shard;
+import com.example.springboot.sharding.ShardMembership;
+import com.example.springboot.sharding.ShardRebalancer;
+import com.example.springboot.sharding.ShardedEmployeeRepository;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in sharded employee storage, enabled with {@code app.sharding.enabled=true} (see the {@code shards}
+ * profile). Employees are then served by {@link ShardedEmployeeServiceImpl} from the databases in
+ * {@code app.sharding.shards}, placed by a consistent-hash ring; the main database from {@code spring.datasource.*}
+ * keeps the id sequence, the recorded ring and the rest of the application's tables.
+ * <p>
+ * Bulk import and write-behind commit their checkpoints in the main database, which cannot be atomic with the
+ * writes on the shards, so the import endpoints are not available in this mode and enabling write-behind as well
+ * fails at startup.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties properties) {
+        return new ConsistentHashRing(properties.shards().stream().map(ShardingProperties.ShardDefinition::name).toList(),
+                properties.virtualNodes());
+    }
+
+    @Bean
+    public ShardMembership shardMembership(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new ShardMembership(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    public ShardedEmployeeRepository shardedEmployeeRepository(ShardingProperties properties, ConsistentHashRing shardRing,
+                                                               ShardMembership shardMembership, JdbcTemplate jdbcTemplate,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!properties.rebalance()) {
+            shardMembership.verify(shardRing);
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("sharding/schema.sql"));
+        List<Shard> shards = new ArrayList<>();
+        for (ShardingProperties.ShardDefinition definition : properties.shards()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + definition.name());
+            pool.setJdbcUrl(definition.url());
+            pool.setUsername(definition.username());
+            pool.setPassword(definition.password());
+            meterRegistry.ifAvailable(pool::setMetricRegistry);
+            schema.execute(pool);
+            shards.add(Shard.of(definition.name(), pool));
+        }
+        return new ShardedEmployeeRepository(shardRing, shards, jdbcTemplate);
+    }
+
+    @Bean
+    public EmployeeService employeeService(ShardedEmployeeRepository repository, EmployeeSearchIndex searchIndex,
+                                           EmployeeChangeFeed changeFeed, ObjectProvider<EmployeeWriteBehind> writeBehind) {
+        return new ShardedEmployeeServiceImpl(repository, searchIndex, changeFeed, writeBehind);
+    }
+
+    // moves the rows from the recorded ring to the configured one, then records it; see ShardRebalanceTool
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.rebalance", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(ShardingProperties properties, ConsistentHashRing shardRing,
+                                                  ShardMembership shardMembership, ShardedEmployeeRepository repository) {
+        return arguments -> {
+            ConsistentHashRing recorded = shardMembership.recorded().orElse(shardRing);
+            new ShardRebalancer(List.copyOf(repository.shards()), properties.rebalanceChunkSize()).rebalance(recorded, shardRing);
+            shardMembership.record(shardRing);
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * {@code app.sharding.*}: the employee shards and the number of points each owns on the hash ring. Shard names,
+ * not their order or URLs, decide where a row lives, so a shard keeps its name when it moves to another server.
+ * {@code rebalance} is set by {@link com.example.springboot.sharding.ShardRebalanceTool}.
+ */
+@ConfigurationProperties("app.sharding")
+public record ShardingProperties(boolean enabled,
+                                 @DefaultValue("256") int virtualNodes,
+                                 @DefaultValue List<ShardDefinition> shards,
+                                 boolean rebalance,
+                                 @DefaultValue("1000") int rebalanceChunkSize) {
+
+    public record ShardDefinition(String name, String url, String username, String password) {
+    }
+}
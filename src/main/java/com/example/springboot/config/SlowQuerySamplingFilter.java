@@ -0,0 +1,26 @@
+package com.example.springboot.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one in {@code sampleOneIn} slow-query log events through, so a burst of slow statements under load
+ * cannot turn the log itself into the bottleneck. Configured in {@code logback-spring.xml}.
+ */
+public class SlowQuerySamplingFilter extends Filter<ILoggingEvent> {
+
+    private final AtomicLong events = new AtomicLong();
+    private int sampleOneIn = 1;
+
+    public void setSampleOneIn(int sampleOneIn) {
+        this.sampleOneIn = Math.max(1, sampleOneIn);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        return events.getAndIncrement() % sampleOneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.springboot.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup measurement and the {@code startup} profile's support beans. Nothing here is conditional on
+ * configuration properties: Spring AOT evaluates conditions at build time, so the beans decide at runtime.
+ * <ul>
+ * <li>With {@code -Dapp.startup.report=true} the slowest startup steps, the time to ready and the time to the
+ * first served request are logged, all measured from JVM start.</li>
+ * <li>With {@code app.startup.training-run=true} the application exits as soon as it is ready, which is how the
+ * Class Data Sharing archive is produced: the JVM dumps every class loaded up to that point.</li>
+ * <li>With {@code spring.main.lazy-initialization=true} the controllers are still created eagerly, so the
+ * first request does not pay for the controller, service, repository and JPA graph behind it.</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+
+    private static final int REPORTED_STEPS = 20;
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> startupReportListener() {
+        return event -> {
+            ConfigurableApplicationContext context = event.getApplicationContext();
+            if (context.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+                log.info("Application ready after {} ms ({} ms since JVM start), slowest startup steps:\n{}",
+                        event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime(),
+                        String.join("\n", StartupReport.slowestSteps(startup.getBufferedTimeline(), REPORTED_STEPS)));
+            }
+            if (context.getEnvironment().getProperty("app.startup.training-run", Boolean.class, false)) {
+                log.info("Training run finished, exiting");
+                System.exit(SpringApplication.exit(context));
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<OncePerRequestFilter> firstRequestFilter() {
+        AtomicBoolean served = new AtomicBoolean();
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                chain.doFilter(request, response);
+                if (!served.get() && served.compareAndSet(false, true)) {
+                    log.info("First request ({} {}) served {} ms after JVM start", request.getMethod(),
+                            request.getRequestURI(), ManagementFactory.getRuntimeMXBean().getUptime());
+                }
+            }
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        // only registered with the report; otherwise requests never see it
+        registration.setEnabled(StartupReport.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerControllers() {
+        return (beanName, beanDefinition, beanType) -> AnnotatedElementUtils.hasAnnotation(beanType, Controller.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.springboot.config;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Startup-time breakdown, enabled with the system property {@code -Dapp.startup.report=true}. The application
+ * startup has to be chosen before the context exists, so this cannot be an ordinary configuration property.
+ * The buffered steps are logged once the application is ready (see {@link StartupConfig}) and stay available
+ * at {@code /actuator/startup}.
+ */
+public final class StartupReport {
+
+    public static final String ENABLED_PROPERTY = "app.startup.report";
+
+    // steps recorded before older ones are dropped; a full context records a few thousand
+    private static final int CAPACITY = 10_000;
+
+    private StartupReport() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    public static ApplicationStartup applicationStartup() {
+        return isEnabled() ? new BufferingApplicationStartup(CAPACITY) : ApplicationStartup.DEFAULT;
+    }
+
+    /**
+     * The {@code limit} slowest steps of the timeline, one line each. Durations include nested steps, so a bean
+     * that creates its dependencies also carries their time.
+     */
+    static List<String> slowestSteps(StartupTimeline timeline, int limit) {
+        List<String> lines = new ArrayList<>(limit);
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(limit)
+                .forEach(event -> lines.add(describe(event.getStartupStep(), event.getDuration())));
+        return lines;
+    }
+
+    private static String describe(StartupStep step, Duration duration) {
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("%6d ms  %s", duration.toMillis(), step.getName()));
+        for (StartupStep.Tag tag : step.getTags()) {
+            line.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.springboot.config;
+
+import com.example.springboot.throttling.AdaptiveConcurrencyLimit;
+import com.example.springboot.throttling.ClientRateLimiter;
+import com.example.springboot.throttling.ThrottlingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in rate limiting and load shedding for {@code /api/**}, enabled with {@code app.throttling.enabled=true}.
+ * The adaptive concurrency limit learns from the duration of every repository call.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.throttling.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ThrottlingProperties.class)
+public class ThrottlingConfig implements WebMvcConfigurer {
+
+    private final ThrottlingProperties properties;
+    private final ObjectProvider<MeterRegistry> registry;
+    private final ObjectProvider<ClientRateLimiter> rateLimiter;
+    private final ObjectProvider<AdaptiveConcurrencyLimit> concurrencyLimit;
+
+    public ThrottlingConfig(ThrottlingProperties properties, ObjectProvider<MeterRegistry> registry,
+                            ObjectProvider<ClientRateLimiter> rateLimiter,
+                            ObjectProvider<AdaptiveConcurrencyLimit> concurrencyLimit) {
+        this.properties = properties;
+        this.registry = registry;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit() {
+        ThrottlingProperties.Concurrency concurrency = properties.concurrency();
+        return new AdaptiveConcurrencyLimit(concurrency.initialLimit(), concurrency.minLimit(), concurrency.maxLimit(),
+                concurrency.window().toNanos(), concurrency.tolerance(), concurrency.smoothing(), System::nanoTime);
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter() {
+        return new ClientRateLimiter(properties.maxClients(), properties.clientIdleTimeout(), System::nanoTime);
+    }
+
+    // mirrors how Spring Boot attaches its repository metrics listener
+    @Bean
+    public static BeanPostProcessor repositoryLatencyListener(ObjectProvider<AdaptiveConcurrencyLimit> concurrencyLimit) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+                            invocation -> concurrencyLimit.getObject().onSample(invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new ThrottlingInterceptor(rateLimiter.getObject(), concurrencyLimit.getObject(),
+                        properties::limits, properties.clientHeader(), registry.getObject()))
+                .addPathPatterns("/api/**");
+    }
+}
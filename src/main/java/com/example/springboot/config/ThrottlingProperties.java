@@ -0,0 +1,47 @@
+package com.example.springboot.config;
+
+import com.example.springboot.throttling.EndpointLimits;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code app.throttling.*}: the per-client rate limit applied to every endpoint, overrides per endpoint (keyed by
+ * controller and handler method signature in brackets, e.g.
+ * {@code app.throttling.endpoints[EmployeeController#getEmployeeById(long,String)].requests-per-second}), and the
+ * bounds of the adaptive concurrency limit. Clients are identified by {@code client-header}, or by address without it.
+ */
+@ConfigurationProperties("app.throttling")
+public record ThrottlingProperties(boolean enabled,
+                                   @DefaultValue("X-Api-Key") String clientHeader,
+                                   @DefaultValue("100") double requestsPerSecond,
+                                   @DefaultValue("200") int burst,
+                                   @DefaultValue("100000") int maxClients,
+                                   @DefaultValue("10m") Duration clientIdleTimeout,
+                                   @DefaultValue Map<String, Endpoint> endpoints,
+                                   @DefaultValue Concurrency concurrency) {
+
+    public record Endpoint(Double requestsPerSecond, Integer burst, @DefaultValue("true") boolean concurrencyLimited) {
+    }
+
+    public record Concurrency(@DefaultValue("20") int initialLimit,
+                              @DefaultValue("4") int minLimit,
+                              @DefaultValue("200") int maxLimit,
+                              @DefaultValue("100ms") Duration window,
+                              @DefaultValue("1.5") double tolerance,
+                              @DefaultValue("0.2") double smoothing) {
+    }
+
+    public EndpointLimits limits(String endpoint) {
+        Endpoint overrides = endpoints.get(endpoint);
+        if (overrides == null) {
+            return new EndpointLimits(requestsPerSecond, burst, true);
+        }
+        return new EndpointLimits(
+                overrides.requestsPerSecond() != null ? overrides.requestsPerSecond() : requestsPerSecond,
+                overrides.burst() != null ? overrides.burst() : burst,
+                overrides.concurrencyLimited());
+    }
+}
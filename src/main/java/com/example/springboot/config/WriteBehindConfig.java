@@ -0,0 +1,46 @@
+package com.example.springboot.config;
+
+import com.example.springboot.repository.WriteBehindSubmissionRepository;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+
+/**
+ * Opt-in asynchronous employee creation, enabled with {@code app.write-behind.enabled=true}.
+ * {@code POST /api/employees/async} answers once the request is durable in the local log at
+ * {@code app.write-behind.log-file}, and a background drainer inserts the logged employees in batches.
+ * <p>
+ * The drainer records which log entries were inserted in the same database transaction as the employees, so it
+ * cannot be combined with {@code app.memory-store.enabled=true} or {@code app.sharding.enabled=true}, whose
+ * employees are not in that database; startup fails instead of replaying already created employees after a crash.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true")
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    @Bean
+    public EmployeeWriteBehind employeeWriteBehind(WriteBehindProperties properties,
+                                                   ObjectProvider<EmployeeService> employeeService,
+                                                   WriteBehindSubmissionRepository submissionRepository,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ObjectMapper objectMapper,
+                                                   @Value("${app.memory-store.enabled:false}") boolean memoryStore,
+                                                   @Value("${app.sharding.enabled:false}") boolean sharding)
+            throws IOException {
+        if (memoryStore || sharding) {
+            throw new IllegalStateException("app.write-behind.enabled=true cannot be combined with "
+                    + (memoryStore ? "app.memory-store.enabled=true" : "app.sharding.enabled=true"));
+        }
+        return new EmployeeWriteBehind(properties, employeeService, submissionRepository, transactionManager, objectMapper);
+    }
+}
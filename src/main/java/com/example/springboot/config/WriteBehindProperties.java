@@ -0,0 +1,23 @@
+package com.example.springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * {@code app.write-behind.*}: where the write-behind log lives and how big it may grow, how many entries the
+ * drainer writes per transaction, how long the flusher and the drainer idle when there is nothing to do, and how
+ * often the drainer tries to read an entry before it moves it to the dead-letter file.
+ */
+@ConfigurationProperties("app.write-behind")
+public record WriteBehindProperties(boolean enabled,
+                                    Path logFile,
+                                    @DefaultValue("64MB") DataSize logSize,
+                                    @DefaultValue("500") int batchSize,
+                                    @DefaultValue("2ms") Duration flushInterval,
+                                    @DefaultValue("10ms") Duration drainInterval,
+                                    @DefaultValue("3") int maxDecodeAttempts) {
+}
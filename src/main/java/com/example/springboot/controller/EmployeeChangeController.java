@@ -0,0 +1,28 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    public EmployeeChangeController(EmployeeChangeFeed employeeChangeFeed) {
+        this.employeeChangeFeed = employeeChangeFeed;
+    }
+
+    // an EventSource reconnects with Last-Event-ID and the original URL, so the header wins over after
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(name = "after", required = false) Long after,
+    								@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId){
+    	return employeeChangeFeed.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
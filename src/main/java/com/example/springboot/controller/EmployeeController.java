@@ -1,21 +1,48 @@
 package com.example.springboot.controller;
 
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeePage;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.dto.WriteBehindStatus;
 import com.example.springboot.model.Employee;
 import com.example.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_LOOKUP_IDS = 5000;
+
     private EmployeeService employeeService;
+    private ObjectMapper objectMapper;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -24,39 +51,223 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
     
+    @PostMapping("async")
+    public ResponseEntity<WriteBehindStatus> submitEmployee(@RequestBody Employee employee){
+    	// answered once the employee is durable in the write-behind log; the insert happens later
+    	WriteBehindStatus status = employeeService.submitEmployee(employee);
+    	return ResponseEntity.accepted()
+    			.location(URI.create("/api/employees/submissions/" + status.trackingId()))
+    			.body(status);
+    }
+    
+    @GetMapping("submissions/{trackingId}")
+    public ResponseEntity<WriteBehindStatus> getSubmissionStatus(@PathVariable("trackingId") String trackingId){
+    	return ResponseEntity.of(employeeService.getSubmissionStatus(trackingId));
+    }
+    
+    @PostMapping("batch")
+    public List<BatchItemResult> createEmployees(@RequestBody List<Employee> employees){
+    	return employeeService.saveEmployees(employees);
+    }
+    
+    @PutMapping("batch")
+    public List<BatchItemResult> updateEmployees(@RequestBody List<Employee> employees){
+    	return employeeService.updateEmployees(employees);
+    }
+    
+    @DeleteMapping("batch")
+    public List<BatchItemResult> deleteEmployees(@RequestBody List<Long> employeeIds){
+    	return employeeService.deleteEmployees(employeeIds);
+    }
+    
     @GetMapping
-    public List<Employee> getAllEmployees(){
+    public List<EmployeeView> getAllEmployees(){
     	return employeeService.getAllEmployees();
     }
     
+    @GetMapping(params = {"fields", "!ids"})
+    public List<EmployeeProjection> getAllEmployees(@RequestParam("fields") String fields){
+    	// only the requested columns are selected and serialized
+    	return employeeService.getAllEmployees(EmployeeField.parse(fields));
+    }
+    
+    @GetMapping(params = "ids")
+    public ResponseEntity<EmployeeLookupResult> getEmployeesByIds(@RequestParam("ids") List<Long> ids){
+    	// one request and a few IN (...) queries instead of one GET /{id} per employee
+    	return lookupEmployees(ids);
+    }
+    
+    @PostMapping("lookup")
+    public ResponseEntity<EmployeeLookupResult> lookupEmployeesByIds(@RequestBody List<Long> ids){
+    	// same as GET ?ids=, for id lists too long for a URL
+    	return lookupEmployees(ids);
+    }
+    
+    @GetMapping(params = {"limit", "!ids"})
+    public EmployeePage<EmployeeView> getEmployeesPage(@RequestParam(name = "after", defaultValue = "0") long after,
+    												   @RequestParam("limit") int limit){
+    	int pageSize = pageSize(limit);
+    	// fetch one extra row to know whether another page exists
+    	List<EmployeeView> employees = employeeService.getEmployeesAfter(after, pageSize + 1);
+    	if(employees.size() <= pageSize){
+    		return new EmployeePage<>(employees, null);
+    	}
+    	List<EmployeeView> page = employees.subList(0, pageSize);
+    	return new EmployeePage<>(page, page.get(pageSize - 1).id());
+    }
+    
+    @GetMapping(params = {"limit", "fields", "!ids"})
+    public EmployeePage<EmployeeProjection> getEmployeesPage(@RequestParam(name = "after", defaultValue = "0") long after,
+    														 @RequestParam("limit") int limit,
+    														 @RequestParam("fields") String fields){
+    	int pageSize = pageSize(limit);
+    	List<EmployeeProjection> employees = employeeService.getEmployeesAfter(after, pageSize + 1, EmployeeField.parse(fields));
+    	if(employees.size() <= pageSize){
+    		return new EmployeePage<>(employees, null);
+    	}
+    	List<EmployeeProjection> page = employees.subList(0, pageSize);
+    	return new EmployeePage<>(page, page.get(pageSize - 1).id());
+    }
+    
+    @GetMapping("search")
+    public List<EmployeeView> searchEmployees(@RequestParam("q") String query,
+    									  @RequestParam(name = "limit", defaultValue = "10") int limit){
+    	return employeeService.searchEmployees(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees(){
+    	StreamingResponseBody body = outputStream -> {
+    		try (SequenceWriter writer = objectMapper.writerFor(Employee.class)
+    				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+    				.withRootValueSeparator("\n")
+    				.writeValues(outputStream)) {
+    			employeeService.streamAllEmployees(employee -> {
+    				try {
+    					writer.write(employee);
+    				} catch (IOException e) {
+    					throw new UncheckedIOException(e);
+    				}
+    			});
+    		}
+    	};
+    	return ResponseEntity.ok()
+    			.contentType(MediaType.APPLICATION_NDJSON)
+    			.body(body);
+    }
+    
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable("id") long employeeId,
+    												@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+    	Optional<Long> notModified = notModified(employeeId, ifNoneMatch);
+    	if(notModified.isPresent()){
+    		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(notModified.get())).build();
+    	}
     	return employeeService.getEmployeeById(employeeId)
-    			.map(ResponseEntity::ok)
+    			.map(employee -> ResponseEntity.ok().eTag(etag(employee.version())).body(employee))
+    			.orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping(value = "{id}", params = "fields")
+    public ResponseEntity<EmployeeProjection> getEmployeeById(@PathVariable("id") long employeeId,
+    														  @RequestParam("fields") String fields,
+    														  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+    	Set<EmployeeField> selected = EmployeeField.parse(fields);
+    	Optional<Long> notModified = notModified(employeeId, ifNoneMatch);
+    	if(notModified.isPresent()){
+    		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(notModified.get())).build();
+    	}
+    	// the ETag is the entity's, so a narrow and a full representation revalidate alike
+    	return employeeService.getEmployeeById(employeeId, selected)
+    			.map(employee -> ResponseEntity.ok().eTag(etag(employee.version())).body(employee))
     			.orElseGet(() -> ResponseEntity.notFound().build());
     }
     
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
+    											   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
     											   @RequestBody Employee employee){
-    	return employeeService.getEmployeeById(employeeId)
-    			.map(savedEmployee -> {
-    				
-    				savedEmployee.setFirstName(employee.getFirstName());
-    				savedEmployee.setLastName(employee.getLastName());
-    				savedEmployee.setEmail(employee.getEmail());
-    				
-    				Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-    				return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-    				
-    			})
-    			.orElseGet(() -> ResponseEntity.notFound().build());
+    	if(ifMatch == null){
+    		return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+    	}
+    	Long expectedVersion = null;
+    	if(!ifMatch.trim().equals("*")){
+    		expectedVersion = parseETag(ifMatch);
+    		if(expectedVersion == null){
+    			return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    		}
+    	}
+    	
+    	// one conditional UPDATE statement; the entity is only read when nothing was written
+    	EmployeeUpdateResult result = employeeService.updateEmployee(employeeId, expectedVersion, employee);
+    	return switch (result.status()) {
+    		case UPDATED, UNCHANGED -> ResponseEntity.ok()
+    				.eTag(etag(result.employee().getVersion()))
+    				.body(result.employee());
+    		case PRECONDITION_FAILED -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+    				.eTag(etag(result.employee().getVersion()))
+    				.build();
+    		case NOT_FOUND -> ResponseEntity.notFound().build();
+    	};
     }
     
     @DeleteMapping("{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId){
-    	employeeService.deleteEmployee(employeeId);
+    	if(!employeeService.deleteEmployee(employeeId)){
+    		return ResponseEntity.notFound().build();
+    	}
     	
     	return new ResponseEntity<String>("Employee deleted successfully!.", HttpStatus.OK);
     }
+    
+    // answers revalidation from the version column alone, without loading the entity
+    private Optional<Long> notModified(long employeeId, String ifNoneMatch){
+    	if(ifNoneMatch == null){
+    		return Optional.empty();
+    	}
+    	return employeeService.getEmployeeVersion(employeeId).filter(version -> etagMatches(ifNoneMatch, version));
+    }
+    
+    private ResponseEntity<EmployeeLookupResult> lookupEmployees(List<Long> ids){
+    	if(ids.size() > MAX_LOOKUP_IDS || ids.contains(null)){
+    		return ResponseEntity.badRequest().build();
+    	}
+    	return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+    
+    private static int pageSize(int limit){
+    	return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+    
+    static String etag(long version){
+    	return "\"" + version + "\"";
+    }
+    
+    // If-None-Match uses weak comparison (RFC 9110, section 8.8.3.2)
+    static boolean etagMatches(String header, long version){
+    	String expected = etag(version);
+    	for(String candidate : header.split(",")){
+    		String tag = candidate.trim();
+    		if(tag.startsWith("W/")){
+    			tag = tag.substring(2);
+    		}
+    		if(tag.equals("*") || tag.equals(expected)){
+    			return true;
+    		}
+    	}
+    	return false;
+    }
+    
+    // If-Match uses strong comparison, so weak or malformed tags never match
+    static Long parseETag(String header){
+    	String tag = header.trim();
+    	if(tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")){
+    		return null;
+    	}
+    	try {
+    		return Long.parseLong(tag.substring(1, tag.length() - 1));
+    	} catch (NumberFormatException e) {
+    		return null;
+    	}
+    }
 }
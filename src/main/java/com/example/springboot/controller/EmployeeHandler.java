@@ -0,0 +1,93 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.service.ReactiveEmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler functions for the reactive {@code /api/employees} API, routed by {@link EmployeeRouter}.
+ * Mirrors the request and response contract of {@link EmployeeController}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EmployeeHandler {
+    private final ReactiveEmployeeService employeeService;
+
+    public EmployeeHandler(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request){
+        return request.bodyToMono(Employee.class)
+                .flatMap(employeeService::saveEmployee)
+                .flatMap(savedEmployee -> ServerResponse.status(HttpStatus.CREATED).bodyValue(savedEmployee));
+    }
+
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request){
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(employeeService.getAllEmployees(), Employee.class);
+    }
+
+    // rows are written as they arrive from R2DBC and requested only as fast as the client reads
+    public Mono<ServerResponse> streamAllEmployees(ServerRequest request){
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeService.getAllEmployees(), Employee.class);
+    }
+
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request){
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        return employeeService.getEmployeeById(employeeId(request))
+                .flatMap(employee -> {
+                    String etag = EmployeeController.etag(employee.getVersion());
+                    if (ifNoneMatch != null && EmployeeController.etagMatches(ifNoneMatch, employee.getVersion())) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                    }
+                    return ServerResponse.ok().eTag(etag).bodyValue(employee);
+                })
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // same conditional update as EmployeeController: If-Match is required, * updates whatever version is current
+    public Mono<ServerResponse> updateEmployee(ServerRequest request){
+        long employeeId = employeeId(request);
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return ServerResponse.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        Long expectedVersion = ifMatch.trim().equals("*") ? null : EmployeeController.parseETag(ifMatch);
+        if (expectedVersion == null && !ifMatch.trim().equals("*")) {
+            return ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return request.bodyToMono(Employee.class)
+                .flatMap(employee -> employeeService.updateEmployee(employeeId, expectedVersion, employee))
+                .flatMap(result -> switch (result.status()) {
+                    case UPDATED, UNCHANGED -> ServerResponse.ok()
+                            .eTag(EmployeeController.etag(result.employee().getVersion()))
+                            .bodyValue(result.employee());
+                    case PRECONDITION_FAILED -> ServerResponse.status(HttpStatus.PRECONDITION_FAILED)
+                            .eTag(EmployeeController.etag(result.employee().getVersion()))
+                            .build();
+                    case NOT_FOUND -> ServerResponse.notFound().build();
+                });
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request){
+        return employeeService.deleteEmployee(employeeId(request))
+                .flatMap(deleted -> deleted
+                        ? ServerResponse.ok().bodyValue("Employee deleted successfully!.")
+                        : ServerResponse.notFound().build());
+    }
+
+    private static long employeeId(ServerRequest request){
+        return Long.parseLong(request.pathVariable("id"));
+    }
+}
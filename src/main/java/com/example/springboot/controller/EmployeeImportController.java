@@ -0,0 +1,65 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.model.ImportJob;
+import com.example.springboot.model.ImportJobError;
+import com.example.springboot.service.EmployeeImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = {"app.memory-store.enabled", "app.sharding.enabled"}, havingValue = "false", matchIfMissing = true)
+@RequestMapping("/api/employees/import")
+public class EmployeeImportController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int MAX_ERRORS_PAGE_SIZE = 1000;
+
+    private EmployeeImportService employeeImportService;
+
+    public EmployeeImportController(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    // the body is read as a stream and stored on disk, so uploads of any size are accepted
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJob> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+    												 InputStream content) throws IOException {
+    	ImportJob.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+    			? ImportJob.Format.NDJSON
+    			: ImportJob.Format.CSV;
+    	ImportJob job = employeeImportService.startImport(content, format);
+    	return ResponseEntity.accepted()
+    			.location(URI.create("/api/employees/import/" + job.getId()))
+    			.body(job);
+    }
+    
+    @GetMapping("{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable("jobId") String jobId){
+    	return ResponseEntity.of(employeeImportService.getImportJob(jobId));
+    }
+    
+    @GetMapping("{jobId}/errors")
+    public List<ImportJobError> getImportErrors(@PathVariable("jobId") String jobId,
+    											@RequestParam(name = "after", defaultValue = "0") long afterRow,
+    											@RequestParam(name = "limit", defaultValue = "100") int limit){
+    	return employeeImportService.getImportErrors(jobId, afterRow, Math.max(1, Math.min(limit, MAX_ERRORS_PAGE_SIZE)));
+    }
+    
+    // picks a failed job up again after its last committed chunk
+    @PostMapping("{jobId}/resume")
+    public ResponseEntity<ImportJob> resumeImport(@PathVariable("jobId") String jobId){
+    	return employeeImportService.resumeImport(jobId)
+    			.map(job -> ResponseEntity.accepted().body(job))
+    			.orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
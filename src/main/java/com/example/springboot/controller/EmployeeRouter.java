@@ -0,0 +1,34 @@
+package com.example.springboot.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+
+/**
+ * Functional routes serving the {@code /api/employees} contract when the application runs as a reactive web
+ * application (the {@code reactive} profile). {@code GET /api/employees} answers with a JSON array for JSON or
+ * wildcard {@code Accept} headers and streams NDJSON otherwise.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EmployeeRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler employeeHandler) {
+        return RouterFunctions.route()
+                .POST("/api/employees", employeeHandler::createEmployee)
+                .GET("/api/employees", accept(MediaType.APPLICATION_JSON), employeeHandler::getAllEmployees)
+                .GET("/api/employees", employeeHandler::streamAllEmployees)
+                .GET("/api/employees/export", employeeHandler::streamAllEmployees)
+                .GET("/api/employees/{id}", employeeHandler::getEmployeeById)
+                .PUT("/api/employees/{id}", employeeHandler::updateEmployee)
+                .DELETE("/api/employees/{id}", employeeHandler::deleteEmployee)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.springboot.dto;
+
+/**
+ * Outcome of a single item in a batch request; {@code index} is the item's position in the request body.
+ */
+public record BatchItemResult(int index, Long id, BatchItemStatus status, String message) {
+
+    public static BatchItemResult of(int index, long id, BatchItemStatus status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, BatchItemStatus status, String message) {
+        return new BatchItemResult(index, id, status, message);
+    }
+}
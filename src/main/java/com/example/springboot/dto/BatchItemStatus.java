@@ -0,0 +1,11 @@
+package com.example.springboot.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CONFLICT,
+    NOT_FOUND,
+    // only from the sharded service: the item's shard failed while other items of the batch were stored
+    FAILED
+}
@@ -0,0 +1,14 @@
+package com.example.springboot.dto;
+
+/**
+ * One committed employee mutation in the change feed. {@code sequence} grows by one per change; {@code employee}
+ * is the state after the change and {@code null} for a DELETED employee.
+ */
+public record EmployeeChange(long sequence, Type type, long employeeId, EmployeeView employee) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
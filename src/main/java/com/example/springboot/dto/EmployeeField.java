@@ -0,0 +1,62 @@
+package com.example.springboot.dto;
+
+import com.example.springboot.exception.UnknownFieldException;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Employee attributes a client can select with {@code fields=}; the name is both the JSON field and the entity
+ * attribute.
+ */
+public enum EmployeeField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    VERSION("version");
+
+    private static final Set<EmployeeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+    private final String fieldName;
+    private final SerializedString jsonName;
+
+    EmployeeField(String fieldName) {
+        this.fieldName = fieldName;
+        this.jsonName = new SerializedString(fieldName);
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    SerializedString jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,email}; an empty list selects every field.
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        EnumSet<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String fieldName = name.trim();
+            if (fieldName.isEmpty()) {
+                continue;
+            }
+            selected.add(of(fieldName));
+        }
+        return selected.isEmpty() ? ALL : Collections.unmodifiableSet(selected);
+    }
+
+    private static EmployeeField of(String fieldName) {
+        for (EmployeeField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new UnknownFieldException("Unknown employee field: " + fieldName);
+    }
+}
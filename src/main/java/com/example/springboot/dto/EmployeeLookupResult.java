@@ -0,0 +1,27 @@
+package com.example.springboot.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answer to a multi-get by id: the employees found, in the order their ids were requested, and the requested ids
+ * that do not exist, also in request order. An id requested twice is answered once.
+ */
+public record EmployeeLookupResult(List<EmployeeView> employees, List<Long> missing) {
+
+    public static EmployeeLookupResult of(List<Long> ids, Map<Long, EmployeeView> found) {
+        List<EmployeeView> employees = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            EmployeeView employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new EmployeeLookupResult(employees, missing);
+    }
+}
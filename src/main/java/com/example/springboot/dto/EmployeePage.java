@@ -0,0 +1,11 @@
+package com.example.springboot.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated employee listing, of {@link EmployeeView}s or, with {@code fields=}, of
+ * {@link EmployeeProjection}s.
+ * {@code nextCursor} is the value to pass as {@code after} for the next page, or {@code null} on the last page.
+ */
+public record EmployeePage<T>(List<T> content, Long nextCursor) {
+}
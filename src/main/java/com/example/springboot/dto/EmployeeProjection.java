@@ -0,0 +1,66 @@
+package com.example.springboot.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Employee read with only some of its columns, for {@code fields=} requests. {@code values} may hold more than
+ * {@code fields} (the id for the page cursor, the version for the ETag), but only {@code fields} are serialized.
+ */
+@JsonSerialize(using = EmployeeProjection.Serializer.class)
+public record EmployeeProjection(Set<EmployeeField> fields, Map<EmployeeField, Object> values) {
+
+    /**
+     * Projection of an employee that is already fully in memory; {@code values} then holds every field.
+     */
+    public static EmployeeProjection of(EmployeeView employee, Set<EmployeeField> fields) {
+        Map<EmployeeField, Object> values = new EnumMap<>(EmployeeField.class);
+        values.put(EmployeeField.ID, employee.id());
+        values.put(EmployeeField.FIRST_NAME, employee.firstName());
+        values.put(EmployeeField.LAST_NAME, employee.lastName());
+        values.put(EmployeeField.EMAIL, employee.email());
+        values.put(EmployeeField.VERSION, employee.version());
+        return new EmployeeProjection(fields, values);
+    }
+
+    public Object get(EmployeeField field) {
+        return values.get(field);
+    }
+
+    public Long id() {
+        return (Long) values.get(EmployeeField.ID);
+    }
+
+    public Long version() {
+        return (Long) values.get(EmployeeField.VERSION);
+    }
+
+    public static final class Serializer extends StdSerializer<EmployeeProjection> {
+
+        public Serializer() {
+            super(EmployeeProjection.class);
+        }
+
+        @Override
+        public void serialize(EmployeeProjection employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(employee);
+            for (EmployeeField field : employee.fields()) {
+                generator.writeFieldName(field.jsonName());
+                Object value = employee.get(field);
+                if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else {
+                    generator.writeString((String) value);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.springboot.dto;
+
+import com.example.springboot.model.Employee;
+
+/**
+ * Outcome of a conditional employee update; {@code employee} is the current state, or {@code null} when not found.
+ */
+public record EmployeeUpdateResult(Status status, Employee employee) {
+
+    public enum Status {
+        UPDATED,
+        UNCHANGED,
+        PRECONDITION_FAILED,
+        NOT_FOUND
+    }
+
+    public static EmployeeUpdateResult updated(Employee employee) {
+        return new EmployeeUpdateResult(Status.UPDATED, employee);
+    }
+
+    public static EmployeeUpdateResult unchanged(Employee employee) {
+        return new EmployeeUpdateResult(Status.UNCHANGED, employee);
+    }
+
+    public static EmployeeUpdateResult preconditionFailed(Employee employee) {
+        return new EmployeeUpdateResult(Status.PRECONDITION_FAILED, employee);
+    }
+
+    public static EmployeeUpdateResult notFound() {
+        return new EmployeeUpdateResult(Status.NOT_FOUND, null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.springboot.dto;
+
+import com.example.springboot.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Read model of an employee. List and get queries select it with a JPQL constructor expression, so no entity is
+ * hydrated and no dirty-checking snapshot is kept; being immutable, it is also safe to hand out from the cache.
+ * Serialized with the same JSON shape as {@link Employee}.
+ */
+@JsonSerialize(using = EmployeeView.Serializer.class)
+public record EmployeeView(long id, String firstName, String lastName, String email, long version) {
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getVersion());
+    }
+
+    public Employee toEmployee() {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Writes the fields directly with pre-encoded names instead of going through bean introspection and
+     * reflective accessors.
+     */
+    public static final class Serializer extends StdSerializer<EmployeeView> {
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+        private static final SerializedString LAST_NAME = new SerializedString("lastName");
+        private static final SerializedString EMAIL = new SerializedString("email");
+        private static final SerializedString VERSION = new SerializedString("version");
+
+        public Serializer() {
+            super(EmployeeView.class);
+        }
+
+        @Override
+        public void serialize(EmployeeView employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(employee);
+            generator.writeFieldName(ID);
+            generator.writeNumber(employee.id());
+            generator.writeFieldName(FIRST_NAME);
+            generator.writeString(employee.firstName());
+            generator.writeFieldName(LAST_NAME);
+            generator.writeString(employee.lastName());
+            generator.writeFieldName(EMAIL);
+            generator.writeString(employee.email());
+            generator.writeFieldName(VERSION);
+            generator.writeNumber(employee.version());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.springboot.dto;
+
+/**
+ * State of an employee creation accepted in write-behind mode; {@code employeeId} is set once it is CREATED and
+ * {@code message} explains a CONFLICT or a FAILED write.
+ */
+public record WriteBehindStatus(String trackingId, Status status, Long employeeId, String message) {
+
+    public enum Status {
+        PENDING,
+        CREATED,
+        CONFLICT,
+        FAILED
+    }
+
+    public static WriteBehindStatus pending(String trackingId) {
+        return new WriteBehindStatus(trackingId, Status.PENDING, null, null);
+    }
+}
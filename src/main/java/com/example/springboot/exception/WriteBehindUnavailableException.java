@@ -0,0 +1,11 @@
+package com.example.springboot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteBehindUnavailableException extends RuntimeException{
+    public WriteBehindUnavailableException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.springboot.lookup;
+
+import com.example.springboot.config.ReadYourWritesTracker;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight, micro-batched loading of employees by id, behind the {@code employees} cache.
+ * <p>
+ * Concurrent lookups of the same id share one pending load: the first caller registers it in a concurrent map
+ * and queues it, the others find it there and wait for the same result. Loader threads take queued loads,
+ * collect whatever else arrives within {@code app.lookup.batch-window} (up to {@code app.lookup.max-batch-size}
+ * ids) and read them with one {@code where id in (...)} query. A load that has already been sent to the database is
+ * not joined any more, so a caller never gets a result read before it asked, and never misses a write that
+ * committed before its request.
+ * <p>
+ * Callers inside a transaction, or pinned to the primary after a write, read directly on their own thread, as do
+ * callers before the loaders are started with the application context. A caller waits at most
+ * {@code app.lookup.timeout} for a batched load; once the coalescer is stopped, lookups fail.
+ */
+@Component
+public class EmployeeLookupCoalescer implements SmartLifecycle, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeLookupCoalescer.class);
+
+    private static final class Load {
+        private final long id;
+        private final CompletableFuture<Optional<EmployeeView>> result = new CompletableFuture<>();
+        private volatile boolean started;
+
+        private Load(long id) {
+            this.id = id;
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWrites;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final int threads;
+    private final long timeoutNanos;
+    private final Map<Long, Load> pending = new ConcurrentHashMap<>();
+    private final LinkedTransferQueue<Load> queue = new LinkedTransferQueue<>();
+    private final List<Thread> loaders = new ArrayList<>();
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    private final Counter lookups;
+    private final Counter coalesced;
+    private final Counter queries;
+    private final DistributionSummary batchSizes;
+
+    public EmployeeLookupCoalescer(EmployeeRepository employeeRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<ReadYourWritesTracker> readYourWrites,
+                                   MeterRegistry registry,
+                                   @Value("${app.lookup.batch-window:200us}") Duration batchWindow,
+                                   @Value("${app.lookup.max-batch-size:100}") int maxBatchSize,
+                                   @Value("${app.lookup.threads:4}") int threads,
+                                   @Value("${app.lookup.timeout:5s}") Duration timeout) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readYourWrites = readYourWrites;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.threads = threads;
+        this.timeoutNanos = timeout.toNanos();
+        this.lookups = Counter.builder("employees.lookup.requests")
+                .description("Employee lookups by id that missed the cache")
+                .register(registry);
+        this.coalesced = Counter.builder("employees.lookup.coalesced")
+                .description("Lookups that joined a load already pending for the same id")
+                .register(registry);
+        this.queries = Counter.builder("employees.lookup.queries")
+                .description("Database queries run for lookups by id")
+                .register(registry);
+        FunctionCounter.builder("employees.lookup.queries.saved", this,
+                        coalescer -> coalescer.lookups.count() - coalescer.queries.count())
+                .description("Lookups by id that did not need a query of their own")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("employees.lookup.batch.size")
+                .description("Distinct ids read per batched lookup query")
+                .register(registry);
+    }
+
+    public Optional<EmployeeView> findById(long id) {
+        if (stopped) {
+            throw shuttingDown();
+        }
+        lookups.increment();
+        ReadYourWritesTracker tracker = readYourWrites.getIfAvailable();
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()
+                || (tracker != null && tracker.readsFromPrimary())) {
+            queries.increment();
+            return readOnlyTransaction.execute(transaction -> employeeRepository.findViewById(id));
+        }
+        try {
+            return join(id).result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Lookup of employee " + id + " timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while looking up employee " + id, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        for (int i = 1; i <= threads; i++) {
+            Thread loader = new Thread(this::load, "employee-lookup-" + i);
+            loader.setDaemon(true);
+            loader.start();
+            loaders.add(loader);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        failPending();
+        loaders.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // started before and stopped after the web server, so requests in flight at shutdown still complete
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    private void failPending() {
+        IllegalStateException shuttingDown = shuttingDown();
+        pending.values().forEach(load -> load.result.completeExceptionally(shuttingDown));
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("Employee lookups are shutting down");
+    }
+
+    private Load join(long id) {
+        while (true) {
+            Load current = pending.get(id);
+            if (current != null && !current.started) {
+                coalesced.increment();
+                return current;
+            }
+            Load load = new Load(id);
+            boolean registered = current == null
+                    ? pending.putIfAbsent(id, load) == null
+                    : pending.replace(id, current, load);
+            if (registered) {
+                queue.add(load);
+                if (stopped) {
+                    // stop() may have failed the pending loads before this one was registered
+                    failPending();
+                }
+                return load;
+            }
+        }
+    }
+
+    private void load() {
+        List<Load> batch = new ArrayList<>(maxBatchSize);
+        while (!stopped) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Load next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                read(batch);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void read(List<Load> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Load load : batch) {
+            // from here on, later callers start a new load instead of joining this one
+            load.started = true;
+            ids.add(load.id);
+        }
+        try {
+            Map<Long, EmployeeView> employees = new HashMap<>();
+            queries.increment();
+            batchSizes.record(ids.size());
+            readOnlyTransaction.executeWithoutResult(transaction -> employeeRepository.findViewsByIdIn(ids)
+                    .forEach(employee -> employees.put(employee.id(), employee)));
+            for (Load load : batch) {
+                load.result.complete(Optional.ofNullable(employees.get(load.id)));
+            }
+        } catch (RuntimeException e) {
+            log.debug("Batched employee lookup of {} ids failed", ids.size(), e);
+            batch.forEach(load -> load.result.completeExceptionally(e));
+        } finally {
+            batch.forEach(load -> pending.remove(load.id, load));
+        }
+    }
+}
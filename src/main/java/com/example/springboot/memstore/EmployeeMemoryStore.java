@@ -0,0 +1,360 @@
+package com.example.springboot.memstore;
+
+import com.example.springboot.dto.EmployeeView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * All employees in memory: a {@code long} id to {@link EmployeeView} map, the ids in ascending order for paging,
+ * and an email index for the uniqueness checks.
+ * <p>
+ * Reads by id are lock-free: they run under the optimistic read of a {@link StampedLock} and only retry with a read
+ * lock when a write was applied meanwhile. Writers are serialized by a separate lock and go through a
+ * {@link Writer}, which stages their changes; the staged changes are appended to the write-ahead log and made
+ * durable, and only then applied under the write lock, so readers never see a write that a crash could lose and
+ * are only held up while the maps are updated, not during the fsync. A background thread periodically writes a
+ * snapshot and starts a new log, so recovery replays a bounded amount of log.
+ * <p>
+ * The {@link ChangeListener} hears about every applied change while the writer still holds its lock, so it sees
+ * the changes of one employee in the order they were made.
+ */
+public class EmployeeMemoryStore implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeMemoryStore.class);
+
+    private static final int SCAN_CHUNK = 1000;
+
+    /**
+     * Told about each applied change; {@code previous} is {@code null} for a creation, {@code current} for a
+     * deletion.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void changed(long id, EmployeeView previous, EmployeeView current);
+    }
+
+    private final LongRecordMap<EmployeeView> employees = new LongRecordMap<>(1024);
+    // ids in ascending order; deleted ids stay until compaction and are skipped because the map lacks them
+    private long[] order = new long[1024];
+    private int orderSize;
+    private int deletedInOrder;
+    // only read and written while holding writeLock
+    private final Map<String, Long> emailIndex = new HashMap<>();
+    private long nextId = 1;
+
+    private final StampedLock lock = new StampedLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final EmployeeStoreLog storeLog;
+    private final ChangeListener listener;
+    private final ScheduledExecutorService snapshots;
+    private volatile long writesSinceSnapshot;
+
+    public EmployeeMemoryStore(Path directory, boolean fsync, Duration snapshotInterval, ChangeListener listener)
+            throws IOException {
+        this.listener = listener;
+        long start = System.nanoTime();
+        this.storeLog = EmployeeStoreLog.open(directory, fsync, new EmployeeStoreLog.Replay() {
+            @Override
+            public void put(EmployeeView employee) {
+                apply(employee.id(), employee);
+            }
+
+            @Override
+            public void delete(long id) {
+                apply(id, null);
+            }
+
+            @Override
+            public void nextId(long id) {
+                nextId = Math.max(nextId, id);
+            }
+        });
+        log.info("Recovered {} employees from {} in {} ms", employees.size(), directory,
+                (System.nanoTime() - start) / 1_000_000);
+        this.snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = snapshotInterval.toMillis();
+        snapshots.scheduleWithFixedDelay(this::snapshotIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public Optional<EmployeeView> get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        EmployeeView employee = employees.get(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                employee = employees.get(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Optional.ofNullable(employee);
+    }
+
+    /**
+     * Up to {@code limit} employees with an id greater than {@code afterId}, in id order.
+     */
+    public List<EmployeeView> after(long afterId, int limit) {
+        List<EmployeeView> page = new ArrayList<>(Math.min(limit, SCAN_CHUNK));
+        long stamp = lock.readLock();
+        try {
+            int from = Arrays.binarySearch(order, 0, orderSize, afterId);
+            for (int i = from < 0 ? -from - 1 : from + 1; i < orderSize && page.size() < limit; i++) {
+                EmployeeView employee = employees.get(order[i]);
+                if (employee != null) {
+                    page.add(employee);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return page;
+    }
+
+    /**
+     * Visits every employee in id order; the read lock is taken per chunk, so writers are not held up for long.
+     */
+    public void forEach(Consumer<EmployeeView> consumer) {
+        long after = 0;
+        List<EmployeeView> chunk;
+        do {
+            chunk = after(after, SCAN_CHUNK);
+            chunk.forEach(consumer);
+            if (!chunk.isEmpty()) {
+                after = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == SCAN_CHUNK);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Runs {@code work} as the only writer and applies what it staged once it is durable; nothing is applied when
+     * {@code work} throws.
+     */
+    public <T> T write(Function<Writer, T> work) {
+        writeLock.lock();
+        try {
+            Writer writer = new Writer();
+            T result = work.apply(writer);
+            if (!writer.records.isEmpty()) {
+                try {
+                    storeLog.append(writer.records);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not write the employee store log", e);
+                }
+                writesSinceSnapshot += writer.records.size();
+                List<EmployeeView> previous = new ArrayList<>(writer.staged.size());
+                long stamp = lock.writeLock();
+                try {
+                    writer.staged.forEach((id, employee) -> previous.add(apply(id, employee)));
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+                int i = 0;
+                for (Map.Entry<Long, EmployeeView> change : writer.staged.entrySet()) {
+                    EmployeeView before = previous.get(i++);
+                    if (before != null || change.getValue() != null) {
+                        listener.changed(change.getKey(), before, change.getValue());
+                    }
+                }
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Changes of one {@link #write(Function)}; reads through it see the changes staged so far.
+     */
+    public final class Writer {
+        private final Map<Long, EmployeeView> staged = new LinkedHashMap<>();
+        private final Map<String, Long> stagedEmails = new HashMap<>();
+        private final List<byte[]> records = new ArrayList<>();
+
+        private Writer() {
+        }
+
+        public Optional<EmployeeView> get(long id) {
+            return Optional.ofNullable(staged.containsKey(id) ? staged.get(id) : employees.get(id));
+        }
+
+        /**
+         * The id of the employee with this email, or {@code null}.
+         */
+        public Long ownerOf(String email) {
+            return stagedEmails.containsKey(email) ? stagedEmails.get(email) : emailIndex.get(email);
+        }
+
+        public EmployeeView insert(String firstName, String lastName, String email) {
+            return stage(new EmployeeView(nextId++, firstName, lastName, email, 0));
+        }
+
+        /**
+         * Replaces the employee's fields and increments its version; returns the new state.
+         */
+        public EmployeeView update(EmployeeView current, String firstName, String lastName, String email) {
+            release(current);
+            return stage(new EmployeeView(current.id(), firstName, lastName, email, current.version() + 1));
+        }
+
+        public void delete(EmployeeView current) {
+            release(current);
+            staged.put(current.id(), null);
+            records.add(EmployeeStoreLog.delete(current.id()));
+        }
+
+        // an earlier change of this write may already have given the email to another employee
+        private void release(EmployeeView current) {
+            if (Objects.equals(ownerOf(current.email()), current.id())) {
+                stagedEmails.put(current.email(), null);
+            }
+        }
+
+        private EmployeeView stage(EmployeeView employee) {
+            // the columns are NOT NULL in the database mode, so reject the same employees here
+            if (employee.firstName() == null || employee.lastName() == null || employee.email() == null) {
+                throw new DataIntegrityViolationException("Employee first name, last name and email are required");
+            }
+            stagedEmails.put(employee.email(), employee.id());
+            staged.put(employee.id(), employee);
+            records.add(EmployeeStoreLog.put(employee));
+            return employee;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.memory-store.size", this, EmployeeMemoryStore::size)
+                .description("Employees held by the memory store")
+                .register(registry);
+        Gauge.builder("employees.memory-store.log.bytes", storeLog, EmployeeStoreLog::logSize)
+                .description("Size of the memory store's current write-ahead log")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Writes a snapshot and starts a new log. Writers wait only while the employees are copied, not while the
+     * snapshot is written.
+     */
+    public void snapshot() throws IOException {
+        List<EmployeeView> copy;
+        long generation;
+        long snapshotNextId;
+        writeLock.lock();
+        try {
+            copy = new ArrayList<>(employees.size());
+            for (int i = 0; i < orderSize; i++) {
+                EmployeeView employee = employees.get(order[i]);
+                if (employee != null) {
+                    copy.add(employee);
+                }
+            }
+            snapshotNextId = nextId;
+            generation = storeLog.rotate();
+            writesSinceSnapshot = 0;
+        } finally {
+            writeLock.unlock();
+        }
+        long start = System.nanoTime();
+        storeLog.writeSnapshot(generation, snapshotNextId, copy);
+        log.info("Wrote a snapshot of {} employees in {} ms", copy.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        snapshots.shutdownNow();
+        try {
+            // a snapshot at shutdown makes the next start replay nothing
+            snapshotIfChanged();
+        } finally {
+            storeLog.close();
+        }
+    }
+
+    private void snapshotIfChanged() {
+        if (writesSinceSnapshot == 0) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Memory store snapshot failed; the log keeps growing until the next one succeeds", e);
+        }
+    }
+
+    // caller holds the write lock, or is recovering before the store is published; returns the replaced state
+    private EmployeeView apply(long id, EmployeeView employee) {
+        EmployeeView previous = employee == null ? employees.remove(id) : employees.put(id, employee);
+        if (previous != null) {
+            // only if still its own: within one write another employee may have taken the email first
+            emailIndex.remove(previous.email(), id);
+        }
+        if (employee != null) {
+            emailIndex.put(employee.email(), id);
+            if (previous == null) {
+                append(id);
+            }
+        } else if (previous != null) {
+            deletedInOrder++;
+            if (deletedInOrder > orderSize / 2) {
+                compact();
+            }
+        }
+        return previous;
+    }
+
+    // ids are handed out in ascending order, so a new id always belongs at the end
+    private void append(long id) {
+        if (orderSize > 0 && order[orderSize - 1] >= id) {
+            throw new IllegalStateException("Employee id " + id + " is not above " + order[orderSize - 1]);
+        }
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, order.length * 2);
+        }
+        order[orderSize++] = id;
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < orderSize; i++) {
+            if (employees.get(order[i]) != null) {
+                order[live++] = order[i];
+            }
+        }
+        orderSize = live;
+        deletedInOrder = 0;
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.springboot.memstore;
+
+import com.example.springboot.dto.EmployeeView;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Files of the memory store in one directory: a snapshot and the write-ahead logs written after it.
+ * <p>
+ * Logs are numbered by generation. A snapshot records the generation of the first log it does not contain, so
+ * recovery loads the snapshot and replays that log and every later one. A log record is
+ * {@code [int length][int crc32][payload]}; a short or corrupt record at the end of the newest log is a write
+ * torn by a crash and is cut off, anywhere else it is an error. Snapshots are written to a temporary file and
+ * moved into place, so a crash while writing one leaves the previous snapshot and its logs intact.
+ */
+final class EmployeeStoreLog implements Closeable {
+
+    private static final int SNAPSHOT_MAGIC = 0x454d5053;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int RECORD_HEADER = 8;
+    private static final Pattern LOG_NAME = Pattern.compile("employees-(\\d+)\\.wal");
+
+    /**
+     * Receives the recovered state, in log order.
+     */
+    interface Replay {
+        void put(EmployeeView employee);
+
+        void delete(long id);
+
+        void nextId(long nextId);
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    // replaced on rotation; read by the log size gauge
+    private volatile FileChannel channel;
+    private long generation;
+    // set when a failed append could not be cut off again; the log then refuses further appends
+    private volatile IOException failure;
+
+    private EmployeeStoreLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Replays the snapshot and the logs after it into {@code replay}, and opens the newest log for appending.
+     */
+    static EmployeeStoreLog open(Path directory, boolean fsync, Replay replay) throws IOException {
+        Files.createDirectories(directory);
+        EmployeeStoreLog log = new EmployeeStoreLog(directory, fsync);
+        long firstGeneration = log.readSnapshot(replay);
+        List<Long> generations = log.generations().stream().filter(generation -> generation >= firstGeneration).toList();
+        long validEnd = 0;
+        for (int i = 0; i < generations.size(); i++) {
+            validEnd = log.replay(generations.get(i), replay, i == generations.size() - 1);
+        }
+        log.generation = generations.isEmpty() ? firstGeneration : generations.get(generations.size() - 1);
+        log.channel = FileChannel.open(log.logFile(log.generation),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // drop a torn tail, so new records follow the last complete one
+        log.channel.truncate(validEnd);
+        log.channel.position(validEnd);
+        return log;
+    }
+
+    static byte[] put(EmployeeView employee) {
+        return encode(out -> {
+            out.writeByte(PUT);
+            writeEmployee(out, employee);
+        });
+    }
+
+    static byte[] delete(long id) {
+        return encode(out -> {
+            out.writeByte(DELETE);
+            out.writeLong(id);
+        });
+    }
+
+    /**
+     * Appends the records of one write as a unit and, unless fsync is off, makes them durable before returning.
+     * When that fails, the log is truncated to where the write began, so none of its records are replayed; if even
+     * that fails, every later append fails too.
+     */
+    void append(List<byte[]> records) throws IOException {
+        if (failure != null) {
+            throw new IOException("The memory store log is closed after a failed write", failure);
+        }
+        int size = 0;
+        for (byte[] record : records) {
+            size += RECORD_HEADER + record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32 crc = new CRC32();
+        for (byte[] record : records) {
+            crc.reset();
+            crc.update(record);
+            buffer.putInt(record.length).putInt((int) crc.getValue()).put(record);
+        }
+        buffer.flip();
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncation) {
+                e.addSuppressed(truncation);
+                failure = e;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the current log and starts the next generation; returns the new generation.
+     */
+    long rotate() throws IOException {
+        channel.force(false);
+        channel.close();
+        generation++;
+        channel = FileChannel.open(logFile(generation), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return generation;
+    }
+
+    /**
+     * Writes a snapshot of {@code employees} holding everything before log {@code generation}, then deletes the
+     * older logs.
+     */
+    void writeSnapshot(long generation, long nextId, List<EmployeeView> employees) throws IOException {
+        Path temporary = directory.resolve("employees.snapshot.tmp");
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(file), 1 << 16), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(generation);
+            out.writeLong(nextId);
+            out.writeInt(employees.size());
+            for (EmployeeView employee : employees) {
+                writeEmployee(out, employee);
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.force(true);
+        }
+        Files.move(temporary, snapshotFile(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (long older : generations()) {
+            if (older < generation) {
+                Files.deleteIfExists(logFile(older));
+            }
+        }
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    long logSize() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    // returns the first log generation the snapshot does not contain
+    private long readSnapshot(Replay replay) throws IOException {
+        Path file = snapshotFile();
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(input, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                throw new IOException("Not a memory store snapshot: " + file);
+            }
+            long generation = in.readLong();
+            long nextId = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                replay.put(readEmployee(in));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Corrupt memory store snapshot: " + file);
+            }
+            replay.nextId(nextId);
+            return generation;
+        }
+    }
+
+    // returns the end of the last complete record
+    private long replay(long generation, Replay replay, boolean newest) throws IOException {
+        Path file = logFile(generation);
+        long size = Files.size(file);
+        long end = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > size - end - RECORD_HEADER) {
+                        throw new EOFException();
+                    }
+                    payload = in.readNBytes(length);
+                    if (payload.length < length) {
+                        throw new EOFException();
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                apply(payload, replay);
+                end += RECORD_HEADER + payload.length;
+            }
+        }
+        if (!newest && end != size) {
+            throw new IOException("Corrupt memory store log " + file + " at byte " + end);
+        }
+        return end;
+    }
+
+    private static void apply(byte[] payload, Replay replay) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        if (type == PUT) {
+            EmployeeView employee = readEmployee(in);
+            replay.put(employee);
+            replay.nextId(employee.id() + 1);
+        } else if (type == DELETE) {
+            replay.delete(in.readLong());
+        } else {
+            throw new IOException("Unknown memory store log record type " + type);
+        }
+    }
+
+    private List<Long> generations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = LOG_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path logFile(long generation) {
+        return directory.resolve("employees-" + generation + ".wal");
+    }
+
+    private Path snapshotFile() {
+        return directory.resolve("employees.snapshot");
+    }
+
+    private static void writeEmployee(DataOutputStream out, EmployeeView employee) throws IOException {
+        out.writeLong(employee.id());
+        out.writeLong(employee.version());
+        out.writeUTF(employee.firstName());
+        out.writeUTF(employee.lastName());
+        out.writeUTF(employee.email());
+    }
+
+    private static EmployeeView readEmployee(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        long version = in.readLong();
+        return new EmployeeView(id, in.readUTF(), in.readUTF(), in.readUTF(), version);
+    }
+
+    private interface Encoder {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encoder.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
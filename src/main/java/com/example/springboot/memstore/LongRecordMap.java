@@ -0,0 +1,143 @@
+package com.example.springboot.memstore;
+
+/**
+ * Open-addressing hash map from positive {@code long} keys to values, without boxing the keys.
+ * <p>
+ * Not thread-safe on its own: there is one writer at a time, and readers go through the optimistic read of the
+ * store's {@link java.util.concurrent.locks.StampedLock}. A read racing with a write can return a wrong answer,
+ * which the failed validation then discards, but it always terminates and never indexes outside the table, because
+ * keys and values live in one table object that a resize replaces as a whole.
+ */
+final class LongRecordMap<V> {
+
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    private volatile Table table;
+    private int size;
+
+    LongRecordMap(int expectedSize) {
+        table = new Table(capacityFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Table t = table;
+        long[] keys = t.keys;
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        for (int probes = 0; probes < keys.length; probes++) {
+            long candidate = keys[index];
+            if (candidate == key) {
+                return (V) t.values[index];
+            }
+            if (candidate == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        if ((size + 1) * 2 > table.keys.length) {
+            resize(table.keys.length * 2);
+        }
+        Table t = table;
+        int mask = t.keys.length - 1;
+        int index = slot(key, mask);
+        while (t.keys[index] != EMPTY) {
+            if (t.keys[index] == key) {
+                V previous = (V) t.values[index];
+                t.values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        t.values[index] = value;
+        t.keys[index] = key;
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        Table t = table;
+        long[] keys = t.keys;
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (keys[index] != key) {
+            if (keys[index] == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        V previous = (V) t.values[index];
+        // backward-shift deletion: move later entries of the probe run into the gap, so no tombstones are needed
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                t.values[gap] = t.values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        t.values[gap] = null;
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key != EMPTY) {
+                int index = slot(key, mask);
+                while (resized.keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                resized.keys[index] = key;
+                resized.values[index] = old.values[i];
+            }
+        }
+        table = resized;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // ids are sequential, so spread them before masking or neighbouring ids would form long probe runs
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
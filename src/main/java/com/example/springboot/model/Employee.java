@@ -11,10 +11,18 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 @Builder
-@Table(name="employees")
+@Table(name="employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = "idx_employees_first_name_last_name", columnList = "first_name, last_name"))
+@org.springframework.data.relational.core.mapping.Table("employees")
 public class Employee {
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id
+    // sequence with a pooled optimizer so Hibernate can batch inserts; IDENTITY forces one INSERT per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private long id;
     @Column(name="first_name", nullable = false)
     private String firstName;
@@ -22,4 +30,8 @@ public class Employee {
     private String lastName;
     @Column(nullable = false)
     private String email;
+    // exposed to clients as the strong ETag of the employee resource; JPA's only, as Spring Data JPA rejects a
+    // second @Version, so ReactiveEmployeeRepository bumps the column itself
+    @Version
+    private long version;
 }
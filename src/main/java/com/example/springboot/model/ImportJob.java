@@ -0,0 +1,58 @@
+package com.example.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A bulk employee import. {@code committedRows} is the checkpoint: every data row up to that number has been
+ * written or rejected in a committed transaction, so a restarted job continues from the next row.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(name="import_jobs")
+public class ImportJob {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    private String id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Format format;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+    // counted from line breaks while the upload is stored, so only an estimate
+    @Column(name="total_rows")
+    private long totalRows;
+    @Column(name="committed_rows")
+    private long committedRows;
+    @Column(name="imported_rows")
+    private long importedRows;
+    @Column(name="rejected_rows")
+    private long rejectedRows;
+    @Column(length = 1000)
+    private String message;
+    @Column(name="created_at", nullable = false)
+    private Instant createdAt;
+    @Column(name="updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.example.springboot.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an import that was rejected, with the reason. Stored rather than kept in memory so that any number of
+ * bad rows can be reported.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(name="import_job_errors",
+        indexes = @Index(name = "idx_import_job_errors_job_id_row_num", columnList = "job_id, row_num"))
+public class ImportJobError {
+
+    @Id
+    @JsonIgnore
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_errors_seq")
+    @SequenceGenerator(name = "import_job_errors_seq", sequenceName = "import_job_errors_seq", allocationSize = 50)
+    private long id;
+    @JsonIgnore
+    @Column(name="job_id", nullable = false)
+    private String jobId;
+    @Column(name="row_num", nullable = false)
+    private long rowNumber;
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
@@ -0,0 +1,43 @@
+package com.example.springboot.model;
+
+import com.example.springboot.dto.WriteBehindStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Outcome of a drained write-behind entry. It is written in the same transaction as the employee, so replaying
+ * the log after a crash skips entries that already have one.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(name="write_behind_submissions")
+public class WriteBehindSubmission implements Persistable<String> {
+
+    @Id
+    @Column(name="tracking_id")
+    private String id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WriteBehindStatus.Status status;
+    @Column(name="employee_id")
+    private Long employeeId;
+    @Column(length = 1000)
+    private String message;
+
+    // submissions are only ever inserted, so save() can persist without a merge lookup
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public WriteBehindStatus toStatus() {
+        return new WriteBehindStatus(id, status, employeeId, message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springboot.repository;
+
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeProjection;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads of a caller-chosen subset of the employee columns; part of {@link EmployeeRepository}.
+ */
+public interface EmployeeProjectionRepository {
+
+    List<EmployeeProjection> findAllProjections(Set<EmployeeField> fields);
+
+    //the id is always read, as the cursor of the next page
+    List<EmployeeProjection> findProjectionsByIdGreaterThan(long id, Set<EmployeeField> fields, int limit);
+
+    //the version is always read, for the ETag
+    Optional<EmployeeProjection> findProjectionById(long id, Set<EmployeeField> fields);
+}
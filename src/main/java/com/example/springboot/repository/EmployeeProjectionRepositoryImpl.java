@@ -0,0 +1,90 @@
+package com.example.springboot.repository;
+
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tuple queries that select only the requested columns. There are only 2^5 field combinations per query shape,
+ * so the JPQL is built once per combination and then reused; an identical query string is served from
+ * Hibernate's query plan cache, whereas a Criteria query is translated again on every call.
+ */
+class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    private static final String ALL = "";
+    private static final String AFTER_ID = " where e.id > :id order by e.id";
+    private static final String BY_ID = " where e.id = :id";
+
+    private final EntityManager entityManager;
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+    EmployeeProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<EmployeeProjection> findAllProjections(Set<EmployeeField> fields) {
+        Set<EmployeeField> selected = EnumSet.copyOf(fields);
+        return read(fields, selected, query(selected, ALL).getResultList());
+    }
+
+    @Override
+    public List<EmployeeProjection> findProjectionsByIdGreaterThan(long id, Set<EmployeeField> fields, int limit) {
+        Set<EmployeeField> selected = with(fields, EmployeeField.ID);
+        return read(fields, selected, query(selected, AFTER_ID)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Override
+    public Optional<EmployeeProjection> findProjectionById(long id, Set<EmployeeField> fields) {
+        Set<EmployeeField> selected = with(fields, EmployeeField.VERSION);
+        return read(fields, selected, query(selected, BY_ID).setParameter("id", id).getResultList())
+                .stream().findFirst();
+    }
+
+    private TypedQuery<Tuple> query(Set<EmployeeField> selected, String condition) {
+        String jpql = queries.computeIfAbsent(selected + condition, key -> {
+            StringBuilder select = new StringBuilder("select ");
+            for (EmployeeField field : selected) {
+                if (select.length() > "select ".length()) {
+                    select.append(", ");
+                }
+                select.append("e.").append(field.fieldName());
+            }
+            return select.append(" from Employee e").append(condition).toString();
+        });
+        return entityManager.createQuery(jpql, Tuple.class);
+    }
+
+    private static List<EmployeeProjection> read(Set<EmployeeField> fields, Set<EmployeeField> selected, List<Tuple> rows) {
+        List<EmployeeProjection> projections = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<EmployeeField, Object> values = new EnumMap<>(EmployeeField.class);
+            int column = 0;
+            for (EmployeeField field : selected) {
+                values.put(field, row.get(column++));
+            }
+            projections.add(new EmployeeProjection(fields, values));
+        }
+        return projections;
+    }
+
+    private static Set<EmployeeField> with(Set<EmployeeField> fields, EmployeeField field) {
+        Set<EmployeeField> selected = EnumSet.copyOf(fields);
+        selected.add(field);
+        return selected;
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.springboot.repository;
 
+import com.example.springboot.dto.EmployeeView;
 import com.example.springboot.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeProjectionRepository {
     Optional<Employee> findByEmail(String email);
 
+    //bulk lookup used by the batch endpoints: one IN (...) query instead of one findByEmail per item
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     //define custom query using JPQL with index params
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
@@ -24,4 +39,58 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     @Query(value="select * from employees e where e.first_name=:firstName and e.last_name = :lastName", nativeQuery = true)
     Employee findByNativeSQLNamed(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    //read model projections: constructor expressions skip entity hydration and the persistence context
+    @Query("select new com.example.springboot.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version)"
+            + " from Employee e")
+    List<EmployeeView> findAllViews();
+
+    @Query("select new com.example.springboot.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version)"
+            + " from Employee e where e.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") long id);
+
+    @Query("select new com.example.springboot.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version)"
+            + " from Employee e where e.id in :ids")
+    List<EmployeeView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.example.springboot.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version)"
+            + " from Employee e where e.id > :id order by e.id")
+    List<EmployeeView> findViewsByIdGreaterThan(@Param("id") long id, Pageable pageable);
+
+    //version only, for answering conditional requests without hydrating the entity
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    //single-statement conditional update; only matches when the version is current and something actually changes
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, e.version = e.version + 1"
+            + " where e.id = :id and e.version = :version"
+            + " and (e.firstName <> :firstName or e.lastName <> :lastName or e.email <> :email)")
+    int updateByIdAndVersion(@Param("id") long id, @Param("version") long version, @Param("firstName") String firstName,
+                             @Param("lastName") String lastName, @Param("email") String email);
+
+    //same as updateByIdAndVersion for If-Match: *
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, e.version = e.version + 1"
+            + " where e.id = :id"
+            + " and (e.firstName <> :firstName or e.lastName <> :lastName or e.email <> :email)")
+    int updateById(@Param("id") long id, @Param("firstName") String firstName,
+                   @Param("lastName") String lastName, @Param("email") String email);
+
+    //single-statement delete, unlike deleteById which loads the entity first
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Employee e where e.id = :id")
+    int removeById(@Param("id") long id);
+
+    //keyset pagination: seek past the last seen id on the primary key instead of using OFFSET
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    //stream every row in id order, fetching from the JDBC result set as the stream is consumed
+    //must be called inside a transaction and the stream must be closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllOrderedById();
 }
@@ -0,0 +1,12 @@
+package com.example.springboot.repository;
+
+import com.example.springboot.model.ImportJobError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findByJobIdAndRowNumberGreaterThanOrderByRowNumberAsc(String jobId, long rowNumber, Pageable pageable);
+}
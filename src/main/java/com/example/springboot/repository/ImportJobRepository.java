@@ -0,0 +1,28 @@
+package com.example.springboot.repository;
+
+import com.example.springboot.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+
+    // moves the checkpoint in the same transaction that wrote the rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ImportJob j set j.committedRows = :committedRows, j.importedRows = j.importedRows + :imported, " +
+            "j.rejectedRows = j.rejectedRows + :rejected, j.updatedAt = :now where j.id = :id")
+    int advance(@Param("id") String id, @Param("committedRows") long committedRows, @Param("imported") long imported,
+                @Param("rejected") long rejected, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ImportJob j set j.status = :status, j.message = :message, j.updatedAt = :now where j.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") ImportJob.Status status, @Param("message") String message,
+                     @Param("now") Instant now);
+}
@@ -0,0 +1,80 @@
+package com.example.springboot.repository;
+
+import com.example.springboot.model.Employee;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepository} for the reactive stack, with the same lookups.
+ * Built on {@link R2dbcEntityTemplate} rather than a Spring Data repository interface so that calls do not go
+ * through {@code @Transactional} and the JPA transaction manager.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeRepository {
+
+    private final R2dbcEntityTemplate template;
+
+    public ReactiveEmployeeRepository(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    public Flux<Employee> findAll() {
+        return template.select(Query.empty().sort(Sort.by("id")), Employee.class);
+    }
+
+    public Mono<Employee> findById(long id) {
+        return template.selectOne(query(where("id").is(id)), Employee.class);
+    }
+
+    public Mono<Employee> findByEmail(String email) {
+        return template.selectOne(query(where("email").is(email)), Employee.class);
+    }
+
+    public Mono<Employee> findByFirstNameAndLastName(String firstName, String lastName) {
+        return template.select(query(where("firstName").is(firstName).and("lastName").is(lastName)).limit(1), Employee.class)
+                .next();
+    }
+
+    // ids come from the same sequence Hibernate uses; each value is an id no pooled block hands out
+    public Mono<Employee> insert(Employee employee) {
+        return template.getDatabaseClient()
+                .sql("select next value for employees_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> {
+                    employee.setId(id);
+                    return template.insert(employee);
+                });
+    }
+
+    // single-statement conditional update like EmployeeRepository.updateByIdAndVersion; a null version matches any.
+    // The version column is JPA's @Version, so it is bumped here
+    public Mono<Long> updateById(long id, Long version, Employee employee) {
+        DatabaseClient.GenericExecuteSpec update = template.getDatabaseClient()
+                .sql("update employees set first_name = :firstName, last_name = :lastName, email = :email,"
+                        + " version = version + 1 where id = :id" + (version != null ? " and version = :version" : "")
+                        + " and (first_name <> :firstName or last_name <> :lastName or email <> :email)")
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .bind("id", id);
+        if (version != null) {
+            update = update.bind("version", version);
+        }
+        return update.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return template.delete(query(where("id").is(id)), Employee.class);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.springboot.repository;
+
+import com.example.springboot.model.WriteBehindSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WriteBehindSubmissionRepository extends JpaRepository<WriteBehindSubmission, String> {
+
+    @Query("select s.id from WriteBehindSubmission s where s.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+}
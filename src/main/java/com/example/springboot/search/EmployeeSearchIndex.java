@@ -0,0 +1,323 @@
+package com.example.springboot.search;
+
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.model.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over employee first name, last name and email.
+ * <p>
+ * Every lowercased word of the names and every alphanumeric part of the email (plus the whole email) is a term in
+ * a sorted map of term to employee ids, so a prefix query is a range scan over the map. Searches are lock-free;
+ * writes are serialized by a lock because they are rare compared to reads. Matches are served from the indexed
+ * copies without touching the database.
+ * <p>
+ * While the initial load runs, the live updates from the service race with it: an update is kept by comparing
+ * versions, and a removal leaves a tombstone so the load cannot add the deleted employee back afterwards.
+ */
+@Component
+public class EmployeeSearchIndex implements MeterBinder {
+
+    // rough per-object costs on a 64-bit JVM with compressed oops, used for the memory estimate
+    private static final long TERM_BYTES = 120;
+    private static final long POSTING_BYTES = 48;
+    private static final long DOCUMENT_BYTES = 160;
+
+    // how far a multi-word query counts the matches of each word when picking the most selective one
+    private static final long SELECTIVITY_PROBE_LIMIT = 10_000;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("\\s+");
+    private static final Pattern EMAIL_SEPARATOR = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedEmployee> documents = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // ids removed since the initial load began, null when no load runs; only used under writeLock
+    private Set<Long> tombstones;
+
+    // maintained under writeLock; ConcurrentSkipListMap.size() is O(n)
+    private volatile long termCount;
+    private volatile long postingCount;
+    private volatile long characterCount;
+
+    public void index(Employee employee) {
+        IndexedEmployee document = IndexedEmployee.of(employee);
+        writeLock.lock();
+        try {
+            if (tombstones != null && tombstones.contains(document.id())) {
+                // deleted while the initial load was running; ids are not reused
+                return;
+            }
+            IndexedEmployee previous = documents.get(document.id());
+            if (previous != null) {
+                if (previous.version() > document.version()) {
+                    // a newer state was indexed concurrently, e.g. while the startup load was running
+                    return;
+                }
+                removeDocument(previous);
+            }
+            addDocument(document);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(long id) {
+        writeLock.lock();
+        try {
+            if (tombstones != null) {
+                tombstones.add(id);
+            }
+            IndexedEmployee previous = documents.get(id);
+            if (previous != null) {
+                removeDocument(previous);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Starts remembering removed ids, so that a load of all employees that read them before the removal does not
+     * index them again. Call {@link #endInitialLoad()} when the load is done.
+     */
+    public void beginInitialLoad() {
+        writeLock.lock();
+        try {
+            tombstones = new HashSet<>();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void endInitialLoad() {
+        writeLock.lock();
+        try {
+            tombstones = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} employees for which every query word is a prefix of one of their terms, best
+     * matches first: name matches rank above email matches and exact words above prefixes.
+     */
+    public List<EmployeeView> search(String query, int limit) {
+        String[] words = words(query);
+        if (words.length == 0) {
+            return List.of();
+        }
+        int candidateLimit = Math.max(limit * 20, 200);
+        // candidates come from the most selective word; the others are checked against each candidate's terms
+        String anchor = words[0];
+        if (words.length > 1) {
+            long fewest = Long.MAX_VALUE;
+            for (String word : words) {
+                long count = countPostings(word, SELECTIVITY_PROBE_LIMIT);
+                if (count < fewest) {
+                    fewest = count;
+                    anchor = word;
+                }
+            }
+        }
+
+        List<ScoredEmployee> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        scan:
+        for (Set<Long> ids : range(anchor).values()) {
+            for (Long id : ids) {
+                IndexedEmployee document = documents.get(id);
+                if (document == null || !seen.add(id)) {
+                    continue;
+                }
+                int score = document.score(words);
+                if (score > 0) {
+                    matches.add(new ScoredEmployee(document, score));
+                    if (matches.size() >= candidateLimit) {
+                        break scan;
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(ScoredEmployee::score).reversed()
+                .thenComparing(match -> match.document().lastName(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(match -> match.document().firstName(), Comparator.nullsLast(Comparator.naturalOrder())));
+        return matches.stream()
+                .limit(limit)
+                .map(match -> match.document().toView())
+                .toList();
+    }
+
+    private NavigableMap<String, Set<Long>> range(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private long countPostings(String prefix, long limit) {
+        long count = 0;
+        for (Set<Long> ids : range(prefix).values()) {
+            count += ids.size();
+            if (count >= limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    public long size() {
+        return documents.size();
+    }
+
+    public long estimatedMemoryBytes() {
+        return termCount * TERM_BYTES + postingCount * POSTING_BYTES
+                + documents.size() * DOCUMENT_BYTES + characterCount;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.search.index.documents", this, EmployeeSearchIndex::size)
+                .description("Employees in the search index")
+                .register(registry);
+        Gauge.builder("employees.search.index.terms", this, index -> index.termCount)
+                .description("Distinct terms in the search index")
+                .register(registry);
+        Gauge.builder("employees.search.index.memory", this, EmployeeSearchIndex::estimatedMemoryBytes)
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void addDocument(IndexedEmployee document) {
+        documents.put(document.id(), document);
+        characterCount += document.characters();
+        for (String term : document.terms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+                postings.put(term, ids);
+                termCount++;
+                characterCount += term.length();
+            }
+            if (ids.add(document.id())) {
+                postingCount++;
+            }
+        }
+    }
+
+    private void removeDocument(IndexedEmployee document) {
+        documents.remove(document.id());
+        characterCount -= document.characters();
+        for (String term : document.terms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null && ids.remove(document.id())) {
+                postingCount--;
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                    termCount--;
+                    characterCount -= term.length();
+                }
+            }
+        }
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? new String[0] : WORD_SEPARATOR.split(normalized);
+    }
+
+    private record ScoredEmployee(IndexedEmployee document, int score) {
+    }
+
+    private record IndexedEmployee(long id, long version, String firstName, String lastName, String email,
+                                   String[] nameTerms, String[] emailTerms) {
+
+        static IndexedEmployee of(Employee employee) {
+            String[] nameTerms = concat(words(employee.getFirstName()), words(employee.getLastName()));
+            String email = employee.getEmail() == null ? "" : employee.getEmail().toLowerCase(Locale.ROOT);
+            String[] emailParts = email.isEmpty() ? new String[0] : EMAIL_SEPARATOR.split(email);
+            String[] emailTerms = email.isEmpty() ? emailParts : concat(new String[]{email}, emailParts);
+            return new IndexedEmployee(employee.getId(), employee.getVersion(), employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail(), nameTerms, emailTerms);
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new LinkedHashSet<>();
+            for (String term : nameTerms) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+            for (String term : emailTerms) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+            return terms;
+        }
+
+        long characters() {
+            return length(firstName) + length(lastName) + length(email);
+        }
+
+        // 0 when some word matches nothing
+        int score(String[] words) {
+            int total = 0;
+            for (String word : words) {
+                int best = Math.max(best(nameTerms, word, 4, 3), best(emailTerms, word, 2, 1));
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        EmployeeView toView() {
+            return new EmployeeView(id, firstName, lastName, email, version);
+        }
+
+        private static int best(String[] terms, String word, int exactScore, int prefixScore) {
+            int best = 0;
+            for (String term : terms) {
+                if (term.equals(word)) {
+                    return exactScore;
+                }
+                if (term.startsWith(word)) {
+                    best = prefixScore;
+                }
+            }
+            return best;
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+
+        private static String[] concat(String[] first, String[] second) {
+            String[] result = new String[first.length + second.length];
+            System.arraycopy(first, 0, result, 0, first.length);
+            System.arraycopy(second, 0, result, first.length, second.length);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springboot.search;
+
+import com.example.springboot.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the search index from the employees table once the application is up. Rows are streamed, so the load
+ * itself does not hold more than one entity at a time; later changes reach the index from the service, and
+ * employees deleted while the load runs stay out of the index.
+ */
+@Component
+public class EmployeeSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndexLoader.class);
+
+    private final EmployeeService employeeService;
+    private final EmployeeSearchIndex searchIndex;
+
+    public EmployeeSearchIndexLoader(EmployeeService employeeService, EmployeeSearchIndex searchIndex) {
+        this.employeeService = employeeService;
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        searchIndex.beginInitialLoad();
+        try {
+            employeeService.streamAllEmployees(searchIndex::index);
+        } finally {
+            searchIndex.endInitialLoad();
+        }
+        log.info("Indexed {} employees for search in {} ms, ~{} KB", searchIndex.size(),
+                (System.nanoTime() - start) / 1_000_000, searchIndex.estimatedMemoryBytes() / 1024);
+    }
+}
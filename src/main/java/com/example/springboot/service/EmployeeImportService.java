@@ -0,0 +1,16 @@
+package com.example.springboot.service;
+
+import com.example.springboot.model.ImportJob;
+import com.example.springboot.model.ImportJobError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeImportService {
+    ImportJob startImport(InputStream content, ImportJob.Format format) throws IOException;
+    Optional<ImportJob> getImportJob(String jobId);
+    List<ImportJobError> getImportErrors(String jobId, long afterRow, int limit);
+    Optional<ImportJob> resumeImport(String jobId);
+}
@@ -1,15 +1,40 @@
 package com.example.springboot.service;
 
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.dto.WriteBehindStatus;
 import com.example.springboot.model.Employee;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
-    List<Employee> getAllEmployees();
-    Optional<Employee> getEmployeeById(long id);
+    List<EmployeeView> getAllEmployees();
+    List<EmployeeView> getEmployeesAfter(long afterId, int limit);
+    List<EmployeeProjection> getAllEmployees(Set<EmployeeField> fields);
+    List<EmployeeProjection> getEmployeesAfter(long afterId, int limit, Set<EmployeeField> fields);
+    void streamAllEmployees(Consumer<Employee> consumer);
+    List<EmployeeView> searchEmployees(String query, int limit);
+    Optional<EmployeeView> getEmployeeById(long id);
+    EmployeeLookupResult getEmployeesByIds(List<Long> ids);
+    Optional<EmployeeProjection> getEmployeeById(long id, Set<EmployeeField> fields);
+    Optional<Long> getEmployeeVersion(long id);
     Employee updateEmployee(Employee updatedEmployee);
+    EmployeeUpdateResult updateEmployee(long id, Long expectedVersion, Employee employee);
 
-    void deleteEmployee(long id);
+    boolean deleteEmployee(long id);
+
+    List<BatchItemResult> saveEmployees(List<Employee> employees);
+    List<BatchItemResult> updateEmployees(List<Employee> employees);
+    List<BatchItemResult> deleteEmployees(List<Long> ids);
+
+    WriteBehindStatus submitEmployee(Employee employee);
+    Optional<WriteBehindStatus> getSubmissionStatus(String trackingId);
 }
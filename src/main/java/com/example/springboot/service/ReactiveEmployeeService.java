@@ -0,0 +1,15 @@
+package com.example.springboot.service;
+
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+    Flux<Employee> getAllEmployees();
+    Mono<Employee> getEmployeeById(long id);
+    Mono<EmployeeUpdateResult> updateEmployee(long id, Long expectedVersion, Employee employee);
+
+    Mono<Boolean> deleteEmployee(long id);
+}
@@ -0,0 +1,352 @@
+package com.example.springboot.service.impl;
+
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.model.Employee;
+import com.example.springboot.model.ImportJob;
+import com.example.springboot.model.ImportJobError;
+import com.example.springboot.repository.ImportJobErrorRepository;
+import com.example.springboot.repository.ImportJobRepository;
+import com.example.springboot.service.EmployeeImportService;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.service.impl.ImportRowReader.ImportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import as a bounded pipeline: the upload is stored in the spool directory, then one thread parses it into
+ * chunks of {@code app.import.batch-size} rows, a pool validates the chunks in parallel, and the job thread writes
+ * them in order, one transaction per chunk. At most {@code app.import.pipeline-depth} chunks are in flight, so
+ * memory does not depend on the file size. Each chunk transaction also stores the rejected rows and moves the
+ * job's checkpoint, so a job that was interrupted continues after the last committed chunk. That only holds while
+ * employees are stored in the same database, so there is no import with {@code app.memory-store.enabled=true}
+ * or {@code app.sharding.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = {"app.memory-store.enabled", "app.sharding.enabled"}, havingValue = "false", matchIfMissing = true)
+public class EmployeeImportServiceImpl implements EmployeeImportService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    // length of the employees columns
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    // marks the end of the input in the pipeline queue
+    private static final CompletableFuture<List<ImportRow>> END = CompletableFuture.completedFuture(List.of());
+
+    private final EmployeeService employeeService;
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path spoolDirectory;
+    private final int batchSize;
+    private final int pipelineDepth;
+    // one import runs at a time, further jobs queue up
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(threads("employee-import"));
+    private final ExecutorService parserExecutor = Executors.newSingleThreadExecutor(threads("employee-import-parser"));
+    private final ExecutorService validationExecutor;
+    private volatile boolean shuttingDown;
+
+    public EmployeeImportServiceImpl(EmployeeService employeeService,
+                                     ImportJobRepository importJobRepository,
+                                     ImportJobErrorRepository importJobErrorRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     @Value("${app.import.spool-dir}") String spoolDirectory,
+                                     @Value("${app.import.batch-size:1000}") int batchSize,
+                                     @Value("${app.import.validation-threads:4}") int validationThreads,
+                                     @Value("${app.import.pipeline-depth:4}") int pipelineDepth) {
+        this.employeeService = employeeService;
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.spoolDirectory = Path.of(spoolDirectory);
+        this.batchSize = batchSize;
+        this.pipelineDepth = pipelineDepth;
+        this.validationExecutor = Executors.newFixedThreadPool(validationThreads, threads("employee-import-validation"));
+    }
+
+    @Override
+    public ImportJob startImport(InputStream content, ImportJob.Format format) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Files.createDirectories(spoolDirectory);
+        long lines = spool(content, spoolFile(jobId));
+        Instant now = Instant.now();
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .id(jobId)
+                .format(format)
+                .status(ImportJob.Status.QUEUED)
+                .totalRows(format == ImportJob.Format.CSV ? Math.max(0, lines - 1) : lines)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        jobExecutor.execute(() -> run(jobId));
+        return job;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ImportJob> getImportJob(String jobId) {
+        return importJobRepository.findById(jobId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ImportJobError> getImportErrors(String jobId, long afterRow, int limit) {
+        return importJobErrorRepository.findByJobIdAndRowNumberGreaterThanOrderByRowNumberAsc(jobId, afterRow,
+                PageRequest.of(0, limit));
+    }
+
+    @Override
+    public Optional<ImportJob> resumeImport(String jobId) {
+        Optional<ImportJob> job = importJobRepository.findById(jobId);
+        if (job.isPresent() && job.get().getStatus() == ImportJob.Status.FAILED) {
+            updateStatus(jobId, ImportJob.Status.QUEUED, null);
+            jobExecutor.execute(() -> run(jobId));
+            return importJobRepository.findById(jobId);
+        }
+        return job;
+    }
+
+    // jobs that were queued or running when the application stopped continue from their checkpoint
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedImports() {
+        importJobRepository.findByStatusIn(List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING))
+                .forEach(job -> jobExecutor.execute(() -> run(job.getId())));
+    }
+
+    @Override
+    public void destroy() {
+        shuttingDown = true;
+        jobExecutor.shutdownNow();
+        parserExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    private void run(String jobId) {
+        // read in a read-write transaction so the checkpoint comes from the primary, never from a lagging replica
+        ImportJob job = transactionTemplate.execute(transaction -> importJobRepository.findById(jobId).orElse(null));
+        if (job == null || job.getStatus() == ImportJob.Status.COMPLETED || job.getStatus() == ImportJob.Status.FAILED) {
+            return;
+        }
+        updateStatus(jobId, ImportJob.Status.RUNNING, null);
+        BlockingQueue<CompletableFuture<List<ImportRow>>> chunks = new ArrayBlockingQueue<>(pipelineDepth);
+        Future<?> parser = parserExecutor.submit(() -> parse(job, chunks));
+        try {
+            for (CompletableFuture<List<ImportRow>> chunk = chunks.take(); chunk != END; chunk = chunks.take()) {
+                write(jobId, chunk.join());
+            }
+            updateStatus(jobId, ImportJob.Status.COMPLETED, null);
+            Files.deleteIfExists(spoolFile(jobId));
+        } catch (InterruptedException e) {
+            // shutting down; the job stays RUNNING and is picked up again on the next start
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            if (shuttingDown) {
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Employee import {} failed", jobId, cause);
+            updateStatus(jobId, ImportJob.Status.FAILED, describe(cause));
+        } finally {
+            parser.cancel(true);
+        }
+    }
+
+    private void parse(ImportJob job, BlockingQueue<CompletableFuture<List<ImportRow>>> chunks) {
+        try {
+            try (ImportRowReader reader = ImportRowReader.open(spoolFile(job.getId()), job.getFormat(), objectMapper)) {
+                List<ImportRow> chunk = new ArrayList<>(batchSize);
+                for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                    if (row.rowNumber() <= job.getCommittedRows()) {
+                        continue;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() == batchSize) {
+                        chunks.put(validate(chunk));
+                        chunk = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    chunks.put(validate(chunk));
+                }
+                chunks.put(END);
+            } catch (IOException | RuntimeException e) {
+                chunks.put(CompletableFuture.failedFuture(e));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<List<ImportRow>> validate(List<ImportRow> chunk) {
+        return CompletableFuture.supplyAsync(() -> chunk.stream().map(EmployeeImportServiceImpl::validate).toList(),
+                validationExecutor);
+    }
+
+    private static ImportRow validate(ImportRow row) {
+        if (row.error() != null) {
+            return row;
+        }
+        Employee employee = row.employee();
+        // ids and versions in the file are not trusted, every row becomes a new employee
+        employee.setId(0);
+        employee.setVersion(0);
+        employee.setFirstName(trim(employee.getFirstName()));
+        employee.setLastName(trim(employee.getLastName()));
+        employee.setEmail(trim(employee.getEmail()));
+        String error = requireText("firstName", employee.getFirstName());
+        if (error == null) {
+            error = requireText("lastName", employee.getLastName());
+        }
+        if (error == null) {
+            error = requireText("email", employee.getEmail());
+        }
+        if (error == null) {
+            int at = employee.getEmail().indexOf('@');
+            if (at <= 0 || at == employee.getEmail().length() - 1) {
+                error = "email is not a valid address: " + employee.getEmail();
+            }
+        }
+        return error == null ? row : ImportRow.rejected(row.rowNumber(), error);
+    }
+
+    private void write(String jobId, List<ImportRow> rows) {
+        try {
+            writeChunk(jobId, rows);
+        } catch (RuntimeException e) {
+            // most likely another writer took one of the emails between the duplicate check and the insert;
+            // the check sees it on the second attempt
+            log.debug("Retrying import chunk of job {}", jobId, e);
+            writeChunk(jobId, rows);
+        }
+    }
+
+    private void writeChunk(String jobId, List<ImportRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ImportRow> accepted = new ArrayList<>(rows.size());
+            List<ImportJobError> errors = new ArrayList<>();
+            for (ImportRow row : rows) {
+                if (row.error() == null) {
+                    accepted.add(row);
+                } else {
+                    errors.add(error(jobId, row.rowNumber(), row.error()));
+                }
+            }
+            // duplicate emails, in the chunk or already stored, come back as CONFLICT
+            List<BatchItemResult> results = employeeService.saveEmployees(accepted.stream().map(ImportRow::employee).toList());
+            long imported = 0;
+            for (BatchItemResult result : results) {
+                if (result.status() == BatchItemStatus.CREATED) {
+                    imported++;
+                } else {
+                    errors.add(error(jobId, accepted.get(result.index()).rowNumber(), result.message()));
+                }
+            }
+            importJobErrorRepository.saveAll(errors);
+            importJobRepository.advance(jobId, rows.get(rows.size() - 1).rowNumber(), imported, errors.size(), Instant.now());
+        });
+    }
+
+    private void updateStatus(String jobId, ImportJob.Status status, String message) {
+        transactionTemplate.executeWithoutResult(transaction ->
+                importJobRepository.updateStatus(jobId, status, message, Instant.now()));
+    }
+
+    private Path spoolFile(String jobId) {
+        return spoolDirectory.resolve(jobId + ".import");
+    }
+
+    // copies the upload to disk and counts its lines for the progress estimate
+    private static long spool(InputStream content, Path file) throws IOException {
+        long lines = 0;
+        int last = '\n';
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+                out.write(buffer, 0, read);
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                if (read > 0) {
+                    last = buffer[read - 1];
+                }
+            }
+        }
+        return last == '\n' ? lines : lines + 1;
+    }
+
+    private static ImportJobError error(String jobId, long rowNumber, String message) {
+        return ImportJobError.builder()
+                .jobId(jobId)
+                .rowNumber(rowNumber)
+                .message(message.length() > 1000 ? message.substring(0, 1000) : message)
+                .build();
+    }
+
+    private static String requireText(String field, String value) {
+        if (value == null || value.isEmpty()) {
+            return field + " is required";
+        }
+        if (value.length() > MAX_FIELD_LENGTH) {
+            return field + " is longer than " + MAX_FIELD_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static String describe(Throwable e) {
+        String message = e instanceof NoSuchFileException
+                ? "Import file is no longer available: " + e.getMessage()
+                : e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private static ThreadFactory threads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
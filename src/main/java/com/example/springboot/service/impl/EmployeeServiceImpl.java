@@ -1,50 +1,418 @@
 package com.example.springboot.service.impl;
 
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.config.CacheConfig;
+import com.example.springboot.config.MetricsConfig;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.dto.WriteBehindStatus;
 import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.exception.WriteBehindUnavailableException;
+import com.example.springboot.lookup.EmployeeLookupCoalescer;
 import com.example.springboot.model.Employee;
 import com.example.springboot.repository.EmployeeRepository;
+import com.example.springboot.search.EmployeeSearchIndex;
 import com.example.springboot.service.EmployeeService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+// replaced by MemoryEmployeeServiceImpl with app.memory-store.enabled=true, and by ShardedEmployeeServiceImpl
+// with app.sharding.enabled=true
+@ConditionalOnProperty(name = {"app.memory-store.enabled", "app.sharding.enabled"}, havingValue = "false", matchIfMissing = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // size of the IN (...) lists and of the flush/clear cycles used by the batch operations
+    private static final int BATCH_CHUNK_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeChangeFeed changeFeed;
+    private final EmployeeLookupCoalescer lookupCoalescer;
+    private final CacheManager cacheManager;
+    // only present with app.write-behind.enabled=true
+    private final ObjectProvider<EmployeeWriteBehind> writeBehind;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager,
+                               EmployeeSearchIndex searchIndex, EmployeeChangeFeed changeFeed,
+                               EmployeeLookupCoalescer lookupCoalescer, CacheManager cacheManager,
+                               ObjectProvider<EmployeeWriteBehind> writeBehind) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.changeFeed = changeFeed;
+        this.lookupCoalescer = lookupCoalescer;
+        this.cacheManager = cacheManager;
+        this.writeBehind = writeBehind;
     }
 
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent()){
-            throw new ResourceNotFoundException("Employee already exist with given email: "+employee.getEmail());
+        // single INSERT; the unique index on email rejects duplicates, including concurrent ones
+        try {
+            Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+            afterCommit(() -> indexAndPublish(EmployeeChange.Type.CREATED, savedEmployee));
+            return savedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(employee, e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getAllEmployees() {
+        return employeeRepository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        return employeeRepository.findViewsByIdGreaterThan(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeProjection> getAllEmployees(Set<EmployeeField> fields) {
+        return employeeRepository.findAllProjections(fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeProjection> getEmployeesAfter(long afterId, int limit, Set<EmployeeField> fields) {
+        return employeeRepository.findProjectionsByIdGreaterThan(afterId, fields, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderedById()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // keep the persistence context empty so memory stays flat for any table size
+                entityManager.detach(employee);
+            });
         }
-        return employeeRepository.save(employee);
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public List<EmployeeView> searchEmployees(String query, int limit) {
+        return searchIndex.search(query, limit);
     }
 
+    // no transaction here: a cache miss waits for a coalesced, batched query without holding a connection
     @Override
-    public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", unless = "#result == null")
+    public Optional<EmployeeView> getEmployeeById(long id) {
+        return lookupCoalescer.findById(id);
     }
 
+    // no transaction here either: cache hits need no connection, and each IN (...) chunk of misses is one
+    // read-only repository query; like getEmployeeById, only hits are put into the cache
     @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        Map<Long, EmployeeView> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            EmployeeView cached = cache != null ? cache.get(id, EmployeeView.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        for (List<Long> chunk : chunks(misses)) {
+            for (EmployeeView employee : employeeRepository.findViewsByIdIn(chunk)) {
+                found.put(employee.id(), employee);
+                if (cache != null) {
+                    cache.putIfAbsent(employee.id(), employee);
+                }
+            }
+        }
+        return EmployeeLookupResult.of(ids, found);
+    }
+
+    // not cached: the cache holds full views, and a narrow read is already a single-row index lookup
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmployeeProjection> getEmployeeById(long id, Set<EmployeeField> fields) {
+        return employeeRepository.findProjectionById(id, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getEmployeeVersion(long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        try {
+            Employee savedEmployee = employeeRepository.save(updatedEmployee);
+            afterCommit(() -> indexAndPublish(EmployeeChange.Type.UPDATED, savedEmployee));
+            return savedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(updatedEmployee, e);
+        }
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public EmployeeUpdateResult updateEmployee(long id, Long expectedVersion, Employee employee) {
+        EmployeeUpdateResult result = applyConditionalUpdate(id, expectedVersion, employee);
+        if (result.status() == EmployeeUpdateResult.Status.UPDATED) {
+            afterCommit(() -> indexAndPublish(EmployeeChange.Type.UPDATED, result.employee()));
+        }
+        return result;
+    }
+
+    private EmployeeUpdateResult applyConditionalUpdate(long id, Long expectedVersion, Employee employee) {
+        int updated = applyUpdate(id, expectedVersion, employee);
+        if (updated == 1 && expectedVersion != null) {
+            // the new state is fully known, no need to read it back
+            return EmployeeUpdateResult.updated(Employee.builder()
+                    .id(id)
+                    .version(expectedVersion + 1)
+                    .firstName(employee.getFirstName())
+                    .lastName(employee.getLastName())
+                    .email(employee.getEmail())
+                    .build());
+        }
+        // slow path: find out why nothing was written, or read the new version after an unconditional update
+        return employeeRepository.findById(id)
+                .map(current -> {
+                    if (updated == 1) {
+                        return EmployeeUpdateResult.updated(current);
+                    }
+                    if (expectedVersion != null && expectedVersion != current.getVersion()) {
+                        return EmployeeUpdateResult.preconditionFailed(current);
+                    }
+                    return EmployeeUpdateResult.unchanged(current);
+                })
+                .orElseGet(EmployeeUpdateResult::notFound);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public boolean deleteEmployee(long id) {
+        if (employeeRepository.removeById(id) == 0) {
+            return false;
+        }
+        afterCommit(() -> removeAndPublish(id));
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult> saveEmployees(List<Employee> employees) {
+        Set<String> takenEmails = new HashSet<>(findEmailOwners(employees).keySet());
+        BatchItemResult[] results = new BatchItemResult[employees.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!takenEmails.add(employee.getEmail())) {
+                results[i] = BatchItemResult.failed(i, null, BatchItemStatus.CONFLICT,
+                        "Employee already exist with given email: " + employee.getEmail());
+                continue;
+            }
+            employee.setId(0);
+            acceptedIndexes.add(i);
+        }
+        for (List<Integer> chunk : chunks(acceptedIndexes)) {
+            List<Employee> toSave = new ArrayList<>(chunk.size());
+            chunk.forEach(index -> toSave.add(employees.get(index)));
+            employeeRepository.saveAll(toSave);
+            flushAndClear();
+            chunk.forEach(index -> results[index] = BatchItemResult.of(index, employees.get(index).getId(), BatchItemStatus.CREATED));
+        }
+        afterCommit(() -> acceptedIndexes.forEach(index -> indexAndPublish(EmployeeChange.Type.CREATED, employees.get(index))));
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public List<BatchItemResult> updateEmployees(List<Employee> employees) {
+        Map<String, Long> emailOwners = findEmailOwners(employees);
+        List<BatchItemResult> results = new ArrayList<>(employees.size());
+        List<Employee> updatedEmployees = new ArrayList<>();
+        for (List<Employee> chunk : chunks(employees)) {
+            Map<Long, Employee> savedEmployees = new HashMap<>();
+            employeeRepository.findAllById(chunk.stream().map(Employee::getId).toList())
+                    .forEach(savedEmployee -> savedEmployees.put(savedEmployee.getId(), savedEmployee));
+            for (Employee employee : chunk) {
+                int index = results.size();
+                Employee savedEmployee = savedEmployees.get(employee.getId());
+                if (savedEmployee == null) {
+                    results.add(BatchItemResult.failed(index, employee.getId(), BatchItemStatus.NOT_FOUND,
+                            "Employee not found with given id: " + employee.getId()));
+                    continue;
+                }
+                Long owner = emailOwners.get(employee.getEmail());
+                if (owner != null && owner != savedEmployee.getId()) {
+                    results.add(BatchItemResult.failed(index, employee.getId(), BatchItemStatus.CONFLICT,
+                            "Employee already exist with given email: " + employee.getEmail()));
+                    continue;
+                }
+                emailOwners.remove(savedEmployee.getEmail());
+                emailOwners.put(employee.getEmail(), savedEmployee.getId());
+                savedEmployee.setFirstName(employee.getFirstName());
+                savedEmployee.setLastName(employee.getLastName());
+                savedEmployee.setEmail(employee.getEmail());
+                updatedEmployees.add(savedEmployee);
+                results.add(BatchItemResult.of(index, savedEmployee.getId(), BatchItemStatus.UPDATED));
+            }
+            // dirty entities of this chunk are written as batched UPDATEs
+            flushAndClear();
+        }
+        // flushing bumped the versions, so the detached entities now hold the committed state
+        afterCommit(() -> updatedEmployees.forEach(employee -> indexAndPublish(EmployeeChange.Type.UPDATED, employee)));
+        return results;
     }
 
     @Override
-    public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public List<BatchItemResult> deleteEmployees(List<Long> ids) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        List<Long> deletedIds = new ArrayList<>();
+        for (List<Long> chunk : chunks(ids)) {
+            Set<Long> existingIds = new HashSet<>(employeeRepository.findExistingIds(chunk));
+            List<Long> toDelete = new ArrayList<>(existingIds);
+            deletedIds.addAll(toDelete);
+            for (Long id : chunk) {
+                int index = results.size();
+                if (existingIds.remove(id)) {
+                    results.add(BatchItemResult.of(index, id, BatchItemStatus.DELETED));
+                } else {
+                    results.add(BatchItemResult.failed(index, id, BatchItemStatus.NOT_FOUND,
+                            "Employee not found with given id: " + id));
+                }
+            }
+            if (!toDelete.isEmpty()) {
+                employeeRepository.deleteAllByIdInBatch(toDelete);
+            }
+        }
+        afterCommit(() -> deletedIds.forEach(this::removeAndPublish));
+        return results;
+    }
+
+    @Override
+    public WriteBehindStatus submitEmployee(Employee employee) {
+        EmployeeWriteBehind employeeWriteBehind = writeBehind.getIfAvailable();
+        if (employeeWriteBehind == null) {
+            throw new WriteBehindUnavailableException("Write-behind mode is not enabled");
+        }
+        return employeeWriteBehind.submit(employee);
+    }
+
+    @Override
+    public Optional<WriteBehindStatus> getSubmissionStatus(String trackingId) {
+        EmployeeWriteBehind employeeWriteBehind = writeBehind.getIfAvailable();
+        return employeeWriteBehind == null ? Optional.empty() : employeeWriteBehind.status(trackingId);
+    }
+
+    private int applyUpdate(long id, Long expectedVersion, Employee employee) {
+        try {
+            return expectedVersion == null
+                    ? employeeRepository.updateById(id, employee.getFirstName(), employee.getLastName(), employee.getEmail())
+                    : employeeRepository.updateByIdAndVersion(id, expectedVersion, employee.getFirstName(),
+                            employee.getLastName(), employee.getEmail());
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(employee, e);
+        }
+    }
+
+    private static RuntimeException translateEmailConflict(Employee employee, DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_CONSTRAINT)) {
+            return new ResourceNotFoundException("Employee already exist with given email: "+employee.getEmail(), e);
+        }
+        return e;
+    }
+
+    private Map<String, Long> findEmailOwners(List<Employee> employees) {
+        Map<String, Long> emailOwners = new HashMap<>();
+        List<String> emails = employees.stream().map(Employee::getEmail).distinct().toList();
+        for (List<String> chunk : chunks(emails)) {
+            employeeRepository.findByEmailIn(chunk)
+                    .forEach(savedEmployee -> emailOwners.put(savedEmployee.getEmail(), savedEmployee.getId()));
+        }
+        return emailOwners;
+    }
+
+    private void indexAndPublish(EmployeeChange.Type type, Employee employee) {
+        searchIndex.index(employee);
+        changeFeed.publish(type, employee.getId(), EmployeeView.of(employee));
+    }
+
+    private void removeAndPublish(long id) {
+        searchIndex.remove(id);
+        changeFeed.publish(EmployeeChange.Type.DELETED, id, null);
+    }
+
+    // keeps the search index and the change feed in line with committed data only; rolled back writes never reach them
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BATCH_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
     }
 }
@@ -0,0 +1,158 @@
+package com.example.springboot.service.impl;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.model.ImportJob;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an import file one row at a time. Blank lines are skipped and not numbered, so row numbers are stable
+ * between runs over the same file, which is what resuming from a checkpoint relies on. Quoted CSV fields may
+ * contain commas and doubled quotes but not line breaks.
+ */
+final class ImportRowReader implements Closeable {
+
+    record ImportRow(long rowNumber, Employee employee, String error) {
+
+        static ImportRow rejected(long rowNumber, String error) {
+            return new ImportRow(rowNumber, null, error);
+        }
+    }
+
+    private final BufferedReader reader;
+    private final ImportJob.Format format;
+    private final ObjectReader jsonReader;
+    private int firstNameColumn = -1;
+    private int lastNameColumn = -1;
+    private int emailColumn = -1;
+    private long rowNumber;
+
+    private ImportRowReader(BufferedReader reader, ImportJob.Format format, ObjectReader jsonReader) {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = jsonReader;
+    }
+
+    static ImportRowReader open(Path file, ImportJob.Format format, ObjectMapper objectMapper) throws IOException {
+        ImportRowReader rowReader = new ImportRowReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), format,
+                objectMapper.readerFor(Employee.class));
+        if (format == ImportJob.Format.CSV) {
+            try {
+                rowReader.readHeader();
+            } catch (IOException | RuntimeException e) {
+                rowReader.close();
+                throw e;
+            }
+        }
+        return rowReader;
+    }
+
+    /**
+     * Returns the next row, or {@code null} at the end of the file. Rows that cannot be parsed are returned with
+     * an error instead of an employee.
+     */
+    ImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            return format == ImportJob.Format.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+        } while (header.isBlank());
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> columns = split(header);
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            switch (column) {
+                case "firstname" -> firstNameColumn = i;
+                case "lastname" -> lastNameColumn = i;
+                case "email" -> emailColumn = i;
+                default -> {
+                    // other columns are ignored
+                }
+            }
+        }
+        if (firstNameColumn < 0 || lastNameColumn < 0 || emailColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain firstName, lastName and email columns");
+        }
+    }
+
+    private ImportRow parseCsv(String line) {
+        List<String> fields = split(line);
+        int required = Math.max(firstNameColumn, Math.max(lastNameColumn, emailColumn)) + 1;
+        if (fields.size() < required) {
+            return ImportRow.rejected(rowNumber, "Expected at least " + required + " columns but found " + fields.size());
+        }
+        return new ImportRow(rowNumber, Employee.builder()
+                .firstName(fields.get(firstNameColumn))
+                .lastName(fields.get(lastNameColumn))
+                .email(fields.get(emailColumn))
+                .build(), null);
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            return new ImportRow(rowNumber, jsonReader.readValue(line), null);
+        } catch (JsonProcessingException e) {
+            return ImportRow.rejected(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.springboot.service.impl;
+
+import com.example.springboot.config.MetricsConfig;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.dto.WriteBehindStatus;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.exception.WriteBehindUnavailableException;
+import com.example.springboot.memstore.EmployeeMemoryStore;
+import com.example.springboot.model.Employee;
+import com.example.springboot.search.EmployeeSearchIndex;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeService} over {@link EmployeeMemoryStore}, enabled with {@code app.memory-store.enabled=true}.
+ * Same contract as {@link EmployeeServiceImpl}: the same results, conflicts and versions, but reads never leave
+ * the process and every write is one log append. The search index and the change feed are kept up to date by the
+ * store's change listener.
+ */
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class MemoryEmployeeServiceImpl implements EmployeeService {
+
+    private final EmployeeMemoryStore store;
+    private final EmployeeSearchIndex searchIndex;
+    // only present with app.write-behind.enabled=true
+    private final ObjectProvider<EmployeeWriteBehind> writeBehind;
+
+    public MemoryEmployeeServiceImpl(EmployeeMemoryStore store, EmployeeSearchIndex searchIndex,
+                                     ObjectProvider<EmployeeWriteBehind> writeBehind) {
+        this.store = store;
+        this.searchIndex = searchIndex;
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        return store.write(writer -> {
+            if (writer.ownerOf(employee.getEmail()) != null) {
+                throw emailConflict(employee);
+            }
+            return writer.insert(employee.getFirstName(), employee.getLastName(), employee.getEmail()).toEmployee();
+        });
+    }
+
+    @Override
+    public List<EmployeeView> getAllEmployees() {
+        List<EmployeeView> employees = new ArrayList<>(store.size());
+        store.forEach(employees::add);
+        return employees;
+    }
+
+    @Override
+    public List<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        return store.after(afterId, limit);
+    }
+
+    @Override
+    public List<EmployeeProjection> getAllEmployees(Set<EmployeeField> fields) {
+        List<EmployeeProjection> employees = new ArrayList<>(store.size());
+        store.forEach(employee -> employees.add(EmployeeProjection.of(employee, fields)));
+        return employees;
+    }
+
+    @Override
+    public List<EmployeeProjection> getEmployeesAfter(long afterId, int limit, Set<EmployeeField> fields) {
+        return store.after(afterId, limit).stream().map(employee -> EmployeeProjection.of(employee, fields)).toList();
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        store.forEach(employee -> consumer.accept(employee.toEmployee()));
+    }
+
+    @Override
+    public List<EmployeeView> searchEmployees(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    public Optional<EmployeeView> getEmployeeById(long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        Map<Long, EmployeeView> found = new HashMap<>();
+        for (Long id : ids) {
+            store.get(id).ifPresent(employee -> found.put(id, employee));
+        }
+        return EmployeeLookupResult.of(ids, found);
+    }
+
+    @Override
+    public Optional<EmployeeProjection> getEmployeeById(long id, Set<EmployeeField> fields) {
+        return store.get(id).map(employee -> EmployeeProjection.of(employee, fields));
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(long id) {
+        return store.get(id).map(EmployeeView::version);
+    }
+
+    // a merge of a detached entity: the version must still be current, and is only incremented by a real change
+    @Override
+    public Employee updateEmployee(Employee updatedEmployee) {
+        return store.write(writer -> {
+            EmployeeView current = writer.get(updatedEmployee.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with given id: " + updatedEmployee.getId()));
+            if (current.version() != updatedEmployee.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, updatedEmployee.getId());
+            }
+            if (sameFields(current, updatedEmployee)) {
+                return current.toEmployee();
+            }
+            checkEmailOwner(writer, current, updatedEmployee);
+            return writer.update(current, updatedEmployee.getFirstName(), updatedEmployee.getLastName(),
+                    updatedEmployee.getEmail()).toEmployee();
+        });
+    }
+
+    @Override
+    public EmployeeUpdateResult updateEmployee(long id, Long expectedVersion, Employee employee) {
+        return store.write(writer -> writer.get(id)
+                .map(current -> {
+                    if (expectedVersion != null && expectedVersion != current.version()) {
+                        return EmployeeUpdateResult.preconditionFailed(current.toEmployee());
+                    }
+                    if (sameFields(current, employee)) {
+                        return EmployeeUpdateResult.unchanged(current.toEmployee());
+                    }
+                    checkEmailOwner(writer, current, employee);
+                    return EmployeeUpdateResult.updated(writer.update(current, employee.getFirstName(),
+                            employee.getLastName(), employee.getEmail()).toEmployee());
+                })
+                .orElseGet(EmployeeUpdateResult::notFound));
+    }
+
+    @Override
+    public boolean deleteEmployee(long id) {
+        return store.write(writer -> {
+            Optional<EmployeeView> current = writer.get(id);
+            current.ifPresent(writer::delete);
+            return current.isPresent();
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> saveEmployees(List<Employee> employees) {
+        return store.write(writer -> {
+            List<BatchItemResult> results = new ArrayList<>(employees.size());
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                if (writer.ownerOf(employee.getEmail()) != null) {
+                    results.add(BatchItemResult.failed(i, null, BatchItemStatus.CONFLICT,
+                            "Employee already exist with given email: " + employee.getEmail()));
+                    continue;
+                }
+                EmployeeView saved = writer.insert(employee.getFirstName(), employee.getLastName(), employee.getEmail());
+                // like the JPA implementation, the request's entities receive their ids
+                employee.setId(saved.id());
+                employee.setVersion(saved.version());
+                results.add(BatchItemResult.of(i, saved.id(), BatchItemStatus.CREATED));
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> updateEmployees(List<Employee> employees) {
+        return store.write(writer -> {
+            List<BatchItemResult> results = new ArrayList<>(employees.size());
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                Optional<EmployeeView> current = writer.get(employee.getId());
+                if (current.isEmpty()) {
+                    results.add(BatchItemResult.failed(i, employee.getId(), BatchItemStatus.NOT_FOUND,
+                            "Employee not found with given id: " + employee.getId()));
+                    continue;
+                }
+                Long owner = writer.ownerOf(employee.getEmail());
+                if (owner != null && owner != employee.getId()) {
+                    results.add(BatchItemResult.failed(i, employee.getId(), BatchItemStatus.CONFLICT,
+                            "Employee already exist with given email: " + employee.getEmail()));
+                    continue;
+                }
+                if (!sameFields(current.get(), employee)) {
+                    writer.update(current.get(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+                }
+                results.add(BatchItemResult.of(i, employee.getId(), BatchItemStatus.UPDATED));
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> deleteEmployees(List<Long> ids) {
+        return store.write(writer -> {
+            List<BatchItemResult> results = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                Optional<EmployeeView> current = writer.get(id);
+                if (current.isPresent()) {
+                    writer.delete(current.get());
+                    results.add(BatchItemResult.of(i, id, BatchItemStatus.DELETED));
+                } else {
+                    results.add(BatchItemResult.failed(i, id, BatchItemStatus.NOT_FOUND,
+                            "Employee not found with given id: " + id));
+                }
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public WriteBehindStatus submitEmployee(Employee employee) {
+        EmployeeWriteBehind employeeWriteBehind = writeBehind.getIfAvailable();
+        if (employeeWriteBehind == null) {
+            throw new WriteBehindUnavailableException("Write-behind mode is not enabled");
+        }
+        return employeeWriteBehind.submit(employee);
+    }
+
+    @Override
+    public Optional<WriteBehindStatus> getSubmissionStatus(String trackingId) {
+        EmployeeWriteBehind employeeWriteBehind = writeBehind.getIfAvailable();
+        return employeeWriteBehind == null ? Optional.empty() : employeeWriteBehind.status(trackingId);
+    }
+
+    private static void checkEmailOwner(EmployeeMemoryStore.Writer writer, EmployeeView current, Employee employee) {
+        Long owner = writer.ownerOf(employee.getEmail());
+        if (owner != null && owner != current.id()) {
+            throw emailConflict(employee);
+        }
+    }
+
+    private static boolean sameFields(EmployeeView current, Employee employee) {
+        return Objects.equals(current.firstName(), employee.getFirstName())
+                && Objects.equals(current.lastName(), employee.getLastName())
+                && Objects.equals(current.email(), employee.getEmail());
+    }
+
+    private static ResourceNotFoundException emailConflict(Employee employee) {
+        return new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.springboot.service.impl;
+
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.ReactiveEmployeeRepository;
+import com.example.springboot.service.ReactiveEmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .onErrorMap(DataIntegrityViolationException.class, e ->
+                        new ResourceNotFoundException("Employee already exist with given email: "+employee.getEmail(), e));
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<EmployeeUpdateResult> updateEmployee(long id, Long expectedVersion, Employee employee) {
+        return employeeRepository.updateById(id, expectedVersion, employee)
+                .flatMap(updated -> {
+                    if (updated == 1 && expectedVersion != null) {
+                        // the new state is fully known, no need to read it back
+                        return Mono.just(EmployeeUpdateResult.updated(Employee.builder()
+                                .id(id)
+                                .version(expectedVersion + 1)
+                                .firstName(employee.getFirstName())
+                                .lastName(employee.getLastName())
+                                .email(employee.getEmail())
+                                .build()));
+                    }
+                    // slow path: find out why nothing was written, or read the new version after an unconditional update
+                    return employeeRepository.findById(id)
+                            .map(current -> {
+                                if (updated == 1) {
+                                    return EmployeeUpdateResult.updated(current);
+                                }
+                                if (expectedVersion != null && expectedVersion != current.getVersion()) {
+                                    return EmployeeUpdateResult.preconditionFailed(current);
+                                }
+                                return EmployeeUpdateResult.unchanged(current);
+                            })
+                            .defaultIfEmpty(EmployeeUpdateResult.notFound());
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e ->
+                        new ResourceNotFoundException("Employee already exist with given email: "+employee.getEmail(), e));
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(long id) {
+        return employeeRepository.deleteById(id).map(deleted -> deleted > 0);
+    }
+}
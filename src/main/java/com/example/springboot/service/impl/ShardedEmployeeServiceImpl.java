@@ -0,0 +1,328 @@
+package com.example.springboot.service.impl;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.config.MetricsConfig;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.dto.WriteBehindStatus;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.exception.WriteBehindUnavailableException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.search.EmployeeSearchIndex;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.sharding.ShardedEmployeeRepository;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeService} over {@link ShardedEmployeeRepository}, enabled with {@code app.sharding.enabled=true}.
+ * Same contract as {@link EmployeeServiceImpl}. No transaction spans two shards, so every write first claims the
+ * employee's email on the email's shard, then writes the row on the id's shard with a version check, and gives the
+ * claim back if the row write does not happen; a crash in between can leave a claim without a row, which blocks
+ * that email but never lets two employees share one.
+ */
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ShardedEmployeeServiceImpl implements EmployeeService {
+
+    private final ShardedEmployeeRepository repository;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeChangeFeed changeFeed;
+    // only present with app.write-behind.enabled=true
+    private final ObjectProvider<EmployeeWriteBehind> writeBehind;
+
+    public ShardedEmployeeServiceImpl(ShardedEmployeeRepository repository, EmployeeSearchIndex searchIndex,
+                                      EmployeeChangeFeed changeFeed, ObjectProvider<EmployeeWriteBehind> writeBehind) {
+        this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.changeFeed = changeFeed;
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        EmployeeView saved = new EmployeeView(repository.nextId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), 0);
+        if (!repository.claimEmail(saved.email(), saved.id())) {
+            throw emailConflict(employee);
+        }
+        try {
+            repository.insert(saved);
+        } catch (RuntimeException e) {
+            repository.releaseEmail(saved.email(), saved.id());
+            throw e;
+        }
+        indexAndPublish(EmployeeChange.Type.CREATED, saved);
+        return saved.toEmployee();
+    }
+
+    @Override
+    public List<EmployeeView> getAllEmployees() {
+        return repository.findAll();
+    }
+
+    @Override
+    public List<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        return repository.findAfter(afterId, limit);
+    }
+
+    @Override
+    public List<EmployeeProjection> getAllEmployees(Set<EmployeeField> fields) {
+        return repository.findAll().stream().map(employee -> EmployeeProjection.of(employee, fields)).toList();
+    }
+
+    @Override
+    public List<EmployeeProjection> getEmployeesAfter(long afterId, int limit, Set<EmployeeField> fields) {
+        return repository.findAfter(afterId, limit).stream().map(employee -> EmployeeProjection.of(employee, fields)).toList();
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        repository.forEachOrdered(employee -> consumer.accept(employee.toEmployee()));
+    }
+
+    @Override
+    public List<EmployeeView> searchEmployees(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    public Optional<EmployeeView> getEmployeeById(long id) {
+        return repository.findById(id);
+    }
+
+    // one IN (...) query per shard that holds any of the ids
+    @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        return EmployeeLookupResult.of(ids, repository.findAllById(List.copyOf(new LinkedHashSet<>(ids))));
+    }
+
+    @Override
+    public Optional<EmployeeProjection> getEmployeeById(long id, Set<EmployeeField> fields) {
+        return repository.findById(id).map(employee -> EmployeeProjection.of(employee, fields));
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(long id) {
+        return repository.findVersionById(id);
+    }
+
+    // a merge of a detached entity: the version must still be current, and is only incremented by a real change
+    @Override
+    public Employee updateEmployee(Employee updatedEmployee) {
+        EmployeeUpdateResult result = updateEmployee(updatedEmployee.getId(), updatedEmployee.getVersion(), updatedEmployee);
+        return switch (result.status()) {
+            case UPDATED, UNCHANGED -> result.employee();
+            case PRECONDITION_FAILED -> throw new ObjectOptimisticLockingFailureException(Employee.class, updatedEmployee.getId());
+            case NOT_FOUND -> throw new ResourceNotFoundException("Employee not found with given id: " + updatedEmployee.getId());
+        };
+    }
+
+    @Override
+    public EmployeeUpdateResult updateEmployee(long id, Long expectedVersion, Employee employee) {
+        while (true) {
+            Optional<EmployeeView> found = repository.findById(id);
+            if (found.isEmpty()) {
+                return EmployeeUpdateResult.notFound();
+            }
+            EmployeeView current = found.get();
+            if (expectedVersion != null && expectedVersion != current.version()) {
+                return EmployeeUpdateResult.preconditionFailed(current.toEmployee());
+            }
+            if (sameFields(current, employee)) {
+                return EmployeeUpdateResult.unchanged(current.toEmployee());
+            }
+            boolean emailChanged = !current.email().equals(employee.getEmail());
+            if (emailChanged && !repository.claimEmail(employee.getEmail(), id)) {
+                throw emailConflict(employee);
+            }
+            // conditional on the version that was read, so a concurrent writer makes this a retry, not a lost update
+            if (repository.update(id, current.version(), employee.getFirstName(), employee.getLastName(), employee.getEmail()) == 1) {
+                if (emailChanged) {
+                    repository.releaseEmail(current.email(), id);
+                }
+                EmployeeView updated = new EmployeeView(id, employee.getFirstName(), employee.getLastName(),
+                        employee.getEmail(), current.version() + 1);
+                indexAndPublish(EmployeeChange.Type.UPDATED, updated);
+                return EmployeeUpdateResult.updated(updated.toEmployee());
+            }
+            if (emailChanged) {
+                repository.releaseEmail(employee.getEmail(), id);
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(long id) {
+        while (true) {
+            Optional<EmployeeView> current = repository.findById(id);
+            if (current.isEmpty()) {
+                return false;
+            }
+            // conditional on the version, so the claim released is the email the deleted row really had
+            if (repository.delete(id, current.get().version())) {
+                repository.releaseEmail(current.get().email(), id);
+                removeAndPublish(id);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public List<BatchItemResult> saveEmployees(List<Employee> employees) {
+        BatchItemResult[] results = new BatchItemResult[employees.size()];
+        Map<String, Long> owners = repository.findEmailOwners(employees.stream().map(Employee::getEmail).distinct().toList());
+        Map<String, Long> wanted = new HashMap<>();
+        Map<Integer, EmployeeView> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (owners.containsKey(employee.getEmail()) || wanted.containsKey(employee.getEmail())) {
+                results[i] = conflict(i, null, employee);
+                continue;
+            }
+            EmployeeView candidate = new EmployeeView(repository.nextId(), employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail(), 0);
+            wanted.put(candidate.email(), candidate.id());
+            candidates.put(i, candidate);
+        }
+
+        // an email can still be taken between the lookup above and the claim
+        Set<String> claimed = repository.claimEmails(wanted);
+        List<EmployeeView> rows = new ArrayList<>(claimed.size());
+        candidates.forEach((i, candidate) -> {
+            if (claimed.contains(candidate.email())) {
+                rows.add(candidate);
+            } else {
+                results[i] = conflict(i, null, employees.get(i));
+            }
+        });
+        // every shard commits on its own: rows of a failed shard give their claims back and are reported per item,
+        // while rows already committed on the other shards are indexed and published as created
+        Map<String, RuntimeException> failedShards = repository.insertAll(rows);
+        List<EmployeeView> lost = rows.stream()
+                .filter(row -> failedShards.containsKey(repository.shardForId(row.id()).name()))
+                .toList();
+        lost.forEach(row -> repository.releaseEmail(row.email(), row.id()));
+        if (!rows.isEmpty() && lost.size() == rows.size()) {
+            throw failedShards.values().iterator().next();
+        }
+        candidates.forEach((i, candidate) -> {
+            if (results[i] != null) {
+                return;
+            }
+            String shard = repository.shardForId(candidate.id()).name();
+            if (failedShards.containsKey(shard)) {
+                results[i] = BatchItemResult.failed(i, null, BatchItemStatus.FAILED,
+                        "Employee was not created, shard " + shard + " is unavailable");
+                return;
+            }
+            // like the JPA implementation, the request's entities receive their ids
+            employees.get(i).setId(candidate.id());
+            employees.get(i).setVersion(candidate.version());
+            results[i] = BatchItemResult.of(i, candidate.id(), BatchItemStatus.CREATED);
+            indexAndPublish(EmployeeChange.Type.CREATED, candidate);
+        });
+        return List.of(results);
+    }
+
+    @Override
+    public List<BatchItemResult> updateEmployees(List<Employee> employees) {
+        List<BatchItemResult> results = new ArrayList<>(employees.size());
+        Map<String, Long> owners = repository.findEmailOwners(employees.stream().map(Employee::getEmail).distinct().toList());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            Long owner = owners.get(employee.getEmail());
+            if (owner != null && owner != employee.getId()) {
+                results.add(conflict(i, employee.getId(), employee));
+                continue;
+            }
+            try {
+                EmployeeUpdateResult result = updateEmployee(employee.getId(), null, employee);
+                results.add(result.status() == EmployeeUpdateResult.Status.NOT_FOUND
+                        ? BatchItemResult.failed(i, employee.getId(), BatchItemStatus.NOT_FOUND,
+                                "Employee not found with given id: " + employee.getId())
+                        : BatchItemResult.of(i, employee.getId(), BatchItemStatus.UPDATED));
+            } catch (ResourceNotFoundException e) {
+                // claimed by another request since the owner lookup
+                results.add(conflict(i, employee.getId(), employee));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<BatchItemResult> deleteEmployees(List<Long> ids) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        Set<Long> deleted = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (!deleted.contains(id) && deleteEmployee(id)) {
+                deleted.add(id);
+                results.add(BatchItemResult.of(i, id, BatchItemStatus.DELETED));
+            } else {
+                results.add(BatchItemResult.failed(i, id, BatchItemStatus.NOT_FOUND,
+                        "Employee not found with given id: " + id));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public WriteBehindStatus submitEmployee(Employee employee) {
+        EmployeeWriteBehind employeeWriteBehind = writeBehind.getIfAvailable();
+        if (employeeWriteBehind == null) {
+            throw new WriteBehindUnavailableException("Write-behind mode is not enabled");
+        }
+        return employeeWriteBehind.submit(employee);
+    }
+
+    @Override
+    public Optional<WriteBehindStatus> getSubmissionStatus(String trackingId) {
+        EmployeeWriteBehind employeeWriteBehind = writeBehind.getIfAvailable();
+        return employeeWriteBehind == null ? Optional.empty() : employeeWriteBehind.status(trackingId);
+    }
+
+    private void indexAndPublish(EmployeeChange.Type type, EmployeeView employee) {
+        searchIndex.index(employee.toEmployee());
+        changeFeed.publish(type, employee.id(), employee);
+    }
+
+    private void removeAndPublish(long id) {
+        searchIndex.remove(id);
+        changeFeed.publish(EmployeeChange.Type.DELETED, id, null);
+    }
+
+    private static boolean sameFields(EmployeeView current, Employee employee) {
+        return Objects.equals(current.firstName(), employee.getFirstName())
+                && Objects.equals(current.lastName(), employee.getLastName())
+                && Objects.equals(current.email(), employee.getEmail());
+    }
+
+    private static BatchItemResult conflict(int index, Long id, Employee employee) {
+        return BatchItemResult.failed(index, id, BatchItemStatus.CONFLICT,
+                "Employee already exist with given email: " + employee.getEmail());
+    }
+
+    private static ResourceNotFoundException emailConflict(Employee employee) {
+        return new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.springboot.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring of shard names. Every shard owns {@code virtualNodes} points on a 64-bit ring and a key
+ * belongs to the shard of the first point at or after the key's hash, so adding a shard to N others only moves
+ * about 1/(N+1) of the keys, all of them to the new shard. Immutable; a changed shard list is a new ring.
+ */
+public final class ConsistentHashRing {
+
+    private static final double TWO_TO_64 = 18446744073709551616.0;
+
+    private final List<String> shards;
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public ConsistentHashRing(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.virtualNodes = virtualNodes;
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                String previous = points.put(hash(shard + "#" + i), shard);
+                if (previous != null && !previous.equals(shard)) {
+                    // practically impossible with 64-bit hashes, but the ring would silently depend on order
+                    throw new IllegalStateException("Hash collision between shards " + previous + " and " + shard);
+                }
+            }
+        }
+    }
+
+    public String shardForId(long id) {
+        return owner(mix(id));
+    }
+
+    public String shardForEmail(String email) {
+        return owner(hash(email));
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public int virtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * Whether both rings place every key on the same shard.
+     */
+    public boolean sameLayout(ConsistentHashRing other) {
+        return virtualNodes == other.virtualNodes && Set.copyOf(shards).equals(Set.copyOf(other.shards));
+    }
+
+    public ConsistentHashRing withShard(String shard) {
+        if (shards.contains(shard)) {
+            throw new IllegalArgumentException("Shard " + shard + " is already on the ring");
+        }
+        List<String> extended = new ArrayList<>(shards);
+        extended.add(shard);
+        return new ConsistentHashRing(extended, virtualNodes);
+    }
+
+    /**
+     * Share of the hash space each shard owns, for checking the balance of a ring.
+     */
+    public Map<String, Double> ownership() {
+        Map<String, Double> ownership = new TreeMap<>();
+        long previous = points.lastKey();
+        for (Map.Entry<Long, String> point : points.entrySet()) {
+            // a point owns the arc back to the previous point, wrapping around the ring
+            double span = points.size() == 1 ? TWO_TO_64 : unsigned(point.getKey() - previous);
+            ownership.merge(point.getValue(), span / TWO_TO_64, Double::sum);
+            previous = point.getKey();
+        }
+        return Collections.unmodifiableMap(ownership);
+    }
+
+    private String owner(long hash) {
+        Map.Entry<Long, String> point = points.ceilingEntry(hash);
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    private static double unsigned(long value) {
+        return value >= 0 ? value : value + TWO_TO_64;
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer so short, similar strings spread evenly
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 finalizer: sequential ids land far apart on the ring
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.springboot.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * One employee database: its statements, and transactions that never span another shard.
+ */
+public record Shard(String name, DataSource dataSource, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+
+    public static Shard of(String name, DataSource dataSource) {
+        return new Shard(name, dataSource, new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+}
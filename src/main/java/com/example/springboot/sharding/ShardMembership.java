@@ -0,0 +1,62 @@
+package com.example.springboot.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The ring the employee rows are currently laid out for, kept in the main database. Routing with any other ring
+ * would look for rows on the wrong shards, so the application refuses to start until {@link ShardRebalanceTool}
+ * has moved the rows and recorded the configured ring.
+ */
+public class ShardMembership {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardMembership(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS shard_membership ("
+                + "position INT PRIMARY KEY, shard VARCHAR(255) NOT NULL, virtual_nodes INT NOT NULL)");
+    }
+
+    public Optional<ConsistentHashRing> recorded() {
+        List<String> shards = jdbcTemplate.queryForList("SELECT shard FROM shard_membership ORDER BY position", String.class);
+        if (shards.isEmpty()) {
+            return Optional.empty();
+        }
+        Integer virtualNodes = jdbcTemplate.queryForObject("SELECT MIN(virtual_nodes) FROM shard_membership", Integer.class);
+        return Optional.of(new ConsistentHashRing(shards, virtualNodes));
+    }
+
+    public void record(ConsistentHashRing ring) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM shard_membership");
+            List<String> shards = ring.shards();
+            for (int i = 0; i < shards.size(); i++) {
+                jdbcTemplate.update("INSERT INTO shard_membership (position, shard, virtual_nodes) VALUES (?, ?, ?)",
+                        i, shards.get(i), ring.virtualNodes());
+            }
+        });
+    }
+
+    /**
+     * Records {@code configured} on first use, and fails if the rows are laid out for a different ring.
+     */
+    public void verify(ConsistentHashRing configured) {
+        Optional<ConsistentHashRing> recorded = recorded();
+        if (recorded.isEmpty()) {
+            record(configured);
+            return;
+        }
+        if (!recorded.get().sameLayout(configured)) {
+            throw new IllegalStateException("Configured shards " + configured.shards() + " (" + configured.virtualNodes()
+                    + " virtual nodes) differ from the recorded " + recorded.get().shards() + " ("
+                    + recorded.get().virtualNodes() + " virtual nodes); run " + ShardRebalanceTool.class.getName()
+                    + " with the new configuration first");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.springboot.sharding;
+
+import com.example.springboot.SpringBootTestingApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+
+import java.util.Map;
+
+/**
+ * Moves the employees to the shards of the configured ring, e.g. after a shard was added to
+ * {@code app.sharding.shards}, and records that ring so the application starts again. Run it with the same
+ * configuration as the application, while the application is stopped:
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.example.springboot.sharding.ShardRebalanceTool \
+ *     org.springframework.boot.loader.PropertiesLauncher --spring.profiles.active=shards
+ * </pre>
+ */
+public final class ShardRebalanceTool {
+
+    private ShardRebalanceTool() {
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(SpringBootTestingApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of("app.sharding.rebalance", "true"));
+        System.exit(SpringApplication.exit(application.run(args)));
+    }
+}
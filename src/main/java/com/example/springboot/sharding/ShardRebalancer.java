@@ -0,0 +1,132 @@
+package com.example.springboot.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves employee rows and email claims whose shard differs between two rings, e.g. after a shard was added. Each
+ * shard of the old ring is read in id (or email) order, one chunk at a time; the rows that now belong elsewhere
+ * are copied to their new shard and then deleted from the old one. A copy replaces what an interrupted earlier run
+ * may have left on the target, so running it again after a failure finishes the move.
+ * <p>
+ * Meant to run while the application is stopped: a write routed with the old ring during the move could land on
+ * a shard the move has already passed.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    public record Result(long employeesMoved, long emailsMoved) {
+    }
+
+    private final Map<String, Shard> shards;
+    private final int chunkSize;
+
+    public ShardRebalancer(List<Shard> shards, int chunkSize) {
+        this.shards = new LinkedHashMap<>();
+        for (Shard shard : shards) {
+            this.shards.put(shard.name(), shard);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public Result rebalance(ConsistentHashRing from, ConsistentHashRing to) {
+        for (String name : to.shards()) {
+            if (!shards.containsKey(name)) {
+                throw new IllegalArgumentException("No data source configured for shard " + name);
+            }
+        }
+        long employeesMoved = 0;
+        long emailsMoved = 0;
+        for (String name : from.shards()) {
+            Shard source = shards.get(name);
+            if (source == null) {
+                throw new IllegalArgumentException("No data source configured for shard " + name);
+            }
+            employeesMoved += moveEmployees(source, to);
+            emailsMoved += moveEmails(source, to);
+        }
+        log.info("Rebalanced {} -> {}: moved {} employees and {} email claims", from.shards(), to.shards(),
+                employeesMoved, emailsMoved);
+        return new Result(employeesMoved, emailsMoved);
+    }
+
+    private long moveEmployees(Shard source, ConsistentHashRing to) {
+        long moved = 0;
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            rows = source.jdbcTemplate().query(
+                    "SELECT id, first_name, last_name, email, version FROM employees WHERE id > ? ORDER BY id LIMIT ?",
+                    (resultSet, row) -> new Object[]{resultSet.getLong("id"), resultSet.getString("first_name"),
+                            resultSet.getString("last_name"), resultSet.getString("email"), resultSet.getLong("version")},
+                    after, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            after = (Long) rows.get(rows.size() - 1)[0];
+            Map<String, List<Object[]>> byTarget = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                String target = to.shardForId((Long) row[0]);
+                if (!target.equals(source.name())) {
+                    byTarget.computeIfAbsent(target, ignored -> new ArrayList<>()).add(row);
+                }
+            }
+            for (Map.Entry<String, List<Object[]>> entry : byTarget.entrySet()) {
+                move(source, shards.get(entry.getKey()), "employees", "id",
+                        "INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)",
+                        entry.getValue());
+                moved += entry.getValue().size();
+            }
+        } while (rows.size() == chunkSize);
+        return moved;
+    }
+
+    private long moveEmails(Shard source, ConsistentHashRing to) {
+        long moved = 0;
+        String after = "";
+        List<Object[]> rows;
+        do {
+            rows = source.jdbcTemplate().query(
+                    "SELECT email, employee_id FROM employee_emails WHERE email > ? ORDER BY email LIMIT ?",
+                    (resultSet, row) -> new Object[]{resultSet.getString("email"), resultSet.getLong("employee_id")},
+                    after, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            after = (String) rows.get(rows.size() - 1)[0];
+            Map<String, List<Object[]>> byTarget = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                String target = to.shardForEmail((String) row[0]);
+                if (!target.equals(source.name())) {
+                    byTarget.computeIfAbsent(target, ignored -> new ArrayList<>()).add(row);
+                }
+            }
+            for (Map.Entry<String, List<Object[]>> entry : byTarget.entrySet()) {
+                move(source, shards.get(entry.getKey()), "employee_emails", "email",
+                        "INSERT INTO employee_emails (email, employee_id) VALUES (?, ?)", entry.getValue());
+                moved += entry.getValue().size();
+            }
+        } while (rows.size() == chunkSize);
+        return moved;
+    }
+
+    // copy first, delete second: a failure in between leaves a duplicate that the next run overwrites, never a loss
+    private static void move(Shard source, Shard target, String table, String key, String insert, List<Object[]> rows) {
+        Object[] keys = rows.stream().map(row -> row[0]).toArray();
+        String in = " WHERE " + key + " IN (" + String.join(", ", Collections.nCopies(keys.length, "?")) + ")";
+        target.transactionTemplate().executeWithoutResult(status -> {
+            JdbcTemplate jdbcTemplate = target.jdbcTemplate();
+            jdbcTemplate.update("DELETE FROM " + table + in, keys);
+            jdbcTemplate.batchUpdate(insert, rows);
+        });
+        source.transactionTemplate().executeWithoutResult(status -> source.jdbcTemplate().update("DELETE FROM " + table + in, keys));
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.springboot.sharding;
+
+import com.example.springboot.dto.EmployeeView;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Employee rows spread over several databases. A row lives on the shard its id hashes to, and every email has a
+ * claim row on the shard the email hashes to, whose primary key makes emails unique across all shards. Lookups by
+ * id and by email touch one shard; listing queries every shard in parallel and merges the id-ordered results.
+ * <p>
+ * Ids come from blocks of the {@code employees_seq} sequence in the main database, so they are unique over all
+ * shards and known before the row is routed.
+ */
+public class ShardedEmployeeRepository implements DisposableBean {
+
+    // matches the allocationSize of Employee's sequence generator, which created employees_seq with this increment
+    private static final int ID_BLOCK = 50;
+    private static final int IN_CHUNK = 1000;
+    private static final String INSERT =
+            "INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)";
+
+    private static final RowMapper<EmployeeView> VIEW = (resultSet, row) -> new EmployeeView(resultSet.getLong("id"),
+            resultSet.getString("first_name"), resultSet.getString("last_name"), resultSet.getString("email"),
+            resultSet.getLong("version"));
+
+    private final ConsistentHashRing ring;
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+    private final JdbcTemplate sequence;
+    private final ExecutorService scatter;
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId;
+    private long blockEnd = -1;
+
+    public ShardedEmployeeRepository(ConsistentHashRing ring, List<Shard> shards, JdbcTemplate sequence) {
+        this.ring = ring;
+        for (Shard shard : shards) {
+            this.shards.put(shard.name(), shard);
+        }
+        if (!this.shards.keySet().equals(new HashSet<>(ring.shards()))) {
+            throw new IllegalArgumentException("Shards " + this.shards.keySet() + " do not match the ring " + ring.shards());
+        }
+        this.sequence = sequence;
+        AtomicInteger threads = new AtomicInteger();
+        this.scatter = Executors.newFixedThreadPool(shards.size() * 2, runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public long nextId() {
+        idLock.lock();
+        try {
+            if (nextId > blockEnd) {
+                Long value = sequence.queryForObject("SELECT NEXT VALUE FOR employees_seq", Long.class);
+                nextId = value;
+                blockEnd = value + ID_BLOCK - 1;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    public Shard shardForId(long id) {
+        return shards.get(ring.shardForId(id));
+    }
+
+    public Shard shardForEmail(String email) {
+        return shards.get(ring.shardForEmail(email));
+    }
+
+    public Collection<Shard> shards() {
+        return shards.values();
+    }
+
+    public Optional<EmployeeView> findById(long id) {
+        return shardForId(id).jdbcTemplate()
+                .query("SELECT id, first_name, last_name, email, version FROM employees WHERE id = ?", VIEW, id)
+                .stream().findFirst();
+    }
+
+    public Map<Long, EmployeeView> findAllById(Collection<Long> ids) {
+        Map<Long, EmployeeView> found = new HashMap<>();
+        groupBy(ids, this::shardForId).forEach((shard, shardIds) -> {
+            for (List<Long> chunk : chunks(shardIds)) {
+                shard.jdbcTemplate().query("SELECT id, first_name, last_name, email, version FROM employees WHERE id IN ("
+                                + placeholders(chunk.size()) + ")", VIEW, chunk.toArray())
+                        .forEach(employee -> found.put(employee.id(), employee));
+            }
+        });
+        return found;
+    }
+
+    public Optional<Long> findVersionById(long id) {
+        return shardForId(id).jdbcTemplate()
+                .queryForList("SELECT version FROM employees WHERE id = ?", Long.class, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Up to {@code limit} employees with an id above {@code afterId}, in id order over all shards. Each shard
+     * returns at most {@code limit} rows, so the merge never reads more than shards x limit.
+     */
+    public List<EmployeeView> findAfter(long afterId, int limit) {
+        List<List<EmployeeView>> perShard = scatter(shard -> shard.jdbcTemplate().query(
+                "SELECT id, first_name, last_name, email, version FROM employees WHERE id > ? ORDER BY id LIMIT ?",
+                VIEW, afterId, limit));
+        return merge(perShard, limit);
+    }
+
+    public List<EmployeeView> findAll() {
+        List<List<EmployeeView>> perShard = scatter(shard -> shard.jdbcTemplate().query(
+                "SELECT id, first_name, last_name, email, version FROM employees ORDER BY id", VIEW));
+        return merge(perShard, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Visits every employee in id order, one merged page at a time, so memory stays flat for any table size.
+     */
+    public void forEachOrdered(Consumer<EmployeeView> consumer) {
+        long after = 0;
+        List<EmployeeView> page;
+        do {
+            page = findAfter(after, IN_CHUNK);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == IN_CHUNK);
+    }
+
+    /**
+     * Owners of the given emails that are claimed, by email.
+     */
+    public Map<String, Long> findEmailOwners(Collection<String> emails) {
+        Map<String, Long> owners = new HashMap<>();
+        groupBy(emails, this::shardForEmail).forEach((shard, shardEmails) -> {
+            for (List<String> chunk : chunks(shardEmails)) {
+                shard.jdbcTemplate().query("SELECT email, employee_id FROM employee_emails WHERE email IN ("
+                                + placeholders(chunk.size()) + ")",
+                        resultSet -> {
+                            owners.put(resultSet.getString("email"), resultSet.getLong("employee_id"));
+                        }, chunk.toArray());
+            }
+        });
+        return owners;
+    }
+
+    /**
+     * Reserves {@code email} for employee {@code id}; returns false when another employee holds it.
+     */
+    public boolean claimEmail(String email, long id) {
+        try {
+            shardForEmail(email).jdbcTemplate()
+                    .update("INSERT INTO employee_emails (email, employee_id) VALUES (?, ?)", email, id);
+            return true;
+        } catch (DuplicateKeyException e) {
+            Long owner = findEmailOwners(List.of(email)).get(email);
+            return owner != null && owner == id;
+        }
+    }
+
+    /**
+     * Reserves several emails at once, one batch per email shard; a shard whose batch hits a taken email falls back
+     * to claiming its emails one by one. Returns the emails now held by their requested employee.
+     */
+    public Set<String> claimEmails(Map<String, Long> owners) {
+        Set<String> claimed = new HashSet<>();
+        groupBy(owners.keySet(), this::shardForEmail).forEach((shard, emails) -> {
+            try {
+                shard.transactionTemplate().executeWithoutResult(status -> shard.jdbcTemplate().batchUpdate(
+                        "INSERT INTO employee_emails (email, employee_id) VALUES (?, ?)",
+                        emails.stream().map(email -> new Object[]{email, owners.get(email)}).toList()));
+                claimed.addAll(emails);
+            } catch (DuplicateKeyException e) {
+                for (String email : emails) {
+                    if (claimEmail(email, owners.get(email))) {
+                        claimed.add(email);
+                    }
+                }
+            }
+        });
+        return claimed;
+    }
+
+    public void releaseEmail(String email, long id) {
+        shardForEmail(email).jdbcTemplate()
+                .update("DELETE FROM employee_emails WHERE email = ? AND employee_id = ?", email, id);
+    }
+
+    public void insert(EmployeeView employee) {
+        shardForId(employee.id()).jdbcTemplate().update(INSERT, employee.id(), employee.firstName(),
+                employee.lastName(), employee.email(), employee.version());
+    }
+
+    /**
+     * Inserts each shard's rows in a transaction of that shard. A failing shard does not stop the others, so the
+     * result maps every shard whose rows were rolled back to its error; the rows of all other shards are committed.
+     */
+    public Map<String, RuntimeException> insertAll(List<EmployeeView> employees) {
+        Map<String, RuntimeException> failed = new LinkedHashMap<>();
+        groupBy(employees, employee -> shardForId(employee.id())).forEach((shard, shardEmployees) -> {
+            try {
+                shard.transactionTemplate().executeWithoutResult(status -> shard.jdbcTemplate().batchUpdate(INSERT,
+                        shardEmployees.stream().map(employee -> new Object[]{employee.id(), employee.firstName(),
+                                employee.lastName(), employee.email(), employee.version()}).toList()));
+            } catch (RuntimeException e) {
+                failed.put(shard.name(), e);
+            }
+        });
+        return failed;
+    }
+
+    /**
+     * Same single-statement update as {@code EmployeeRepository.updateByIdAndVersion}, or {@code updateById} when
+     * {@code expectedVersion} is null: matches only when the version is current and something actually changes.
+     */
+    public int update(long id, Long expectedVersion, String firstName, String lastName, String email) {
+        String sql = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, version = version + 1 WHERE id = ?"
+                + (expectedVersion != null ? " AND version = ?" : "")
+                + " AND (first_name <> ? OR last_name <> ? OR email <> ?)";
+        List<Object> arguments = new ArrayList<>(List.of(firstName, lastName, email, id));
+        if (expectedVersion != null) {
+            arguments.add(expectedVersion);
+        }
+        arguments.addAll(List.of(firstName, lastName, email));
+        return shardForId(id).jdbcTemplate().update(sql, arguments.toArray());
+    }
+
+    public boolean delete(long id, long expectedVersion) {
+        return shardForId(id).jdbcTemplate()
+                .update("DELETE FROM employees WHERE id = ? AND version = ?", id, expectedVersion) == 1;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scatter.shutdownNow();
+        for (Shard shard : shards.values()) {
+            if (shard.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private <T> List<T> scatter(Function<Shard, T> query) {
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards.values()) {
+            futures.add(scatter.submit(() -> query.apply(shard)));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the employee shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    // k-way merge of lists that are each sorted by id
+    private static List<EmployeeView> merge(List<List<EmployeeView>> sorted, int limit) {
+        record Cursor(List<EmployeeView> rows, int index) {
+            EmployeeView current() {
+                return rows.get(index);
+            }
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparingLong((Cursor cursor) -> cursor.current().id()));
+        int total = 0;
+        for (List<EmployeeView> rows : sorted) {
+            total += rows.size();
+            if (!rows.isEmpty()) {
+                heads.add(new Cursor(rows, 0));
+            }
+        }
+        List<EmployeeView> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor head = heads.poll();
+            merged.add(head.current());
+            if (head.index() + 1 < head.rows().size()) {
+                heads.add(new Cursor(head.rows(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private static <K, T> Map<K, List<T>> groupBy(Collection<T> items, Function<T, K> key) {
+        Map<K, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(key.apply(item), ignored -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += IN_CHUNK) {
+            chunks.add(items.subList(from, Math.min(from + IN_CHUNK, items.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
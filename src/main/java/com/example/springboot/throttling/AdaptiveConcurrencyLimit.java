@@ -0,0 +1,118 @@
+package com.example.springboot.throttling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to database latency, after the gradient algorithm of Netflix's concurrency-limits.
+ * <p>
+ * Repository call durations are summed per window. At the end of a window the window's mean is compared with a
+ * slowly moving baseline: while latency stays near the baseline the limit grows by about its square root, and when
+ * latency rises, which means requests are queuing for connections or locks, the limit shrinks in proportion. Only
+ * the thread that closes a window recomputes the limit; admission is a compare-and-set on the in-flight count.
+ */
+public class AdaptiveConcurrencyLimit implements MeterBinder {
+
+    // how fast the baseline follows the observed latency
+    private static final double BASELINE_WEIGHT = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final double tolerance;
+    private final double smoothing;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sampleNanos = new LongAdder();
+    private final LongAdder sampleCount = new LongAdder();
+    private final AtomicLong windowEnd;
+    private volatile int limit;
+    // only touched by the thread that closes a window
+    private double baselineNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowNanos,
+                                    double tolerance, double smoothing, LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.windowEnd = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSample(long durationNanos) {
+        sampleNanos.add(durationNanos);
+        sampleCount.increment();
+        long now = nanoClock.getAsLong();
+        long end = windowEnd.get();
+        if (now >= end && windowEnd.compareAndSet(end, now + windowNanos)) {
+            update();
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.throttling.concurrency.limit", this, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("employees.throttling.concurrency.in-flight", this, AdaptiveConcurrencyLimit::inFlight)
+                .description("Requests currently counted against the concurrency limit")
+                .register(registry);
+    }
+
+    private void update() {
+        long count = sampleCount.sumThenReset();
+        long total = sampleNanos.sumThenReset();
+        if (count == 0) {
+            return;
+        }
+        double latency = (double) total / count;
+        baselineNanos = baselineNanos == 0 ? latency : baselineNanos * (1 - BASELINE_WEIGHT) + latency * BASELINE_WEIGHT;
+        if (baselineNanos > 2 * latency) {
+            // latency dropped for good, e.g. after a slow start; do not keep comparing against the old baseline
+            baselineNanos = latency;
+        }
+        int current = limit;
+        if (inFlight.get() < current / 2) {
+            // the limit is not what bounds the load, so latency says nothing about it
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / latency));
+        double target = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - smoothing) + target * smoothing;
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(smoothed)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.springboot.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per client and endpoint. Buckets of clients that went quiet are dropped, and at most
+ * {@code maxBuckets} are kept, so a flood of distinct client keys cannot grow the heap.
+ */
+public class ClientRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public ClientRateLimiter(int maxBuckets, Duration idleTimeout, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns 0 when the request may pass, otherwise the nanoseconds until the client may retry.
+     */
+    public long tryAcquire(String client, String endpoint, EndpointLimits limits) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(client + '|' + endpoint,
+                key -> new TokenBucket(limits.requestsPerSecond(), limits.burst(), now));
+        return bucket.tryAcquire(now);
+    }
+}
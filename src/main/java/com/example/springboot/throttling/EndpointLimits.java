@@ -0,0 +1,8 @@
+package com.example.springboot.throttling;
+
+/**
+ * Effective limits of one endpoint: the per-client rate and burst, and whether requests also count against the
+ * adaptive concurrency limit.
+ */
+public record EndpointLimits(double requestsPerSecond, int burst, boolean concurrencyLimited) {
+}
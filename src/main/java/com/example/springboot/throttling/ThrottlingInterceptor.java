@@ -0,0 +1,114 @@
+package com.example.springboot.throttling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admission control in front of the controllers: a request first needs a token from its client's bucket for the
+ * endpoint (429 otherwise) and then, for concurrency-limited endpoints, a slot under the adaptive concurrency limit
+ * (503 otherwise). Rejected requests never reach a controller, so they cost neither a service call nor a
+ * connection. The endpoint is the controller and the handler method signature, e.g.
+ * {@code EmployeeController#getEmployeeById(long,String)}, so overloads and same-named methods of other controllers
+ * are limited and configured apart.
+ */
+public class ThrottlingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ThrottlingInterceptor.class.getName() + ".PERMIT";
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Function<String, EndpointLimits> endpointLimits;
+    private final String clientHeader;
+    private final MeterRegistry registry;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private record Endpoint(String name, EndpointLimits limits) {
+    }
+
+    public ThrottlingInterceptor(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimit concurrencyLimit,
+                                 Function<String, EndpointLimits> endpointLimits, String clientHeader,
+                                 MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.endpointLimits = endpointLimits;
+        this.clientHeader = clientHeader;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an async dispatch continues a request that was already admitted
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Endpoint resolved = endpoints.computeIfAbsent(method.getMethod(), this::resolve);
+        String endpoint = resolved.name();
+        EndpointLimits limits = resolved.limits();
+        long waitNanos = rateLimiter.tryAcquire(client(request), endpoint, limits);
+        if (waitNanos > 0) {
+            return reject(response, endpoint, "rate", HttpStatus.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        if (limits.concurrencyLimited()) {
+            if (!concurrencyLimit.tryAcquire()) {
+                return reject(response, endpoint, "concurrency", HttpStatus.SERVICE_UNAVAILABLE, 1);
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    // streaming responses give their slot back once the request thread is released
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            concurrencyLimit.release();
+        }
+    }
+
+    private Endpoint resolve(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "#" + method.getName()
+                + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(",", "(", ")"));
+        return new Endpoint(name, endpointLimits.apply(name));
+    }
+
+    // the API key identifies integrations; anonymous callers are told apart by address
+    private String client(HttpServletRequest request) {
+        String apiKey = request.getHeader(clientHeader);
+        return apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private boolean reject(HttpServletResponse response, String endpoint, String reason, HttpStatus status,
+                           long retryAfterSeconds) {
+        registry.counter("employees.throttling.rejected", "endpoint", endpoint, "reason", reason).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return false;
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.springboot.writebehind;
+
+import com.example.springboot.config.WriteBehindProperties;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.WriteBehindStatus;
+import com.example.springboot.exception.WriteBehindUnavailableException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.model.WriteBehindSubmission;
+import com.example.springboot.repository.WriteBehindSubmissionRepository;
+import com.example.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind employee creation. {@link #submit(Employee)} appends the employee to a memory-mapped log and returns
+ * once a flusher thread has fsynced it; appends that arrive while an fsync runs share the next one. A drainer thread
+ * reads the durable entries in batches of {@code app.write-behind.batch-size} and inserts them with
+ * {@link EmployeeService#saveEmployees(List)}, so the email rule is the same as for the batch endpoint. The outcome of
+ * every entry is stored as a {@link WriteBehindSubmission} in the same transaction, which makes replaying the log
+ * after a crash idempotent: entries that already have one are skipped.
+ * <p>
+ * An entry that still cannot be read after {@code app.write-behind.max-decode-attempts} tries is appended, Base64
+ * encoded, to the dead-letter file next to the log and skipped; when its tracking id can be read it is recorded as
+ * FAILED.
+ */
+public class EmployeeWriteBehind implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehind.class);
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
+    record LogEntry(String trackingId, String firstName, String lastName, String email) {
+    }
+
+    private final ObjectProvider<EmployeeService> employeeService;
+    private final WriteBehindSubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmployeeWriteLog writeLog;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long drainIntervalMillis;
+    private final int maxDecodeAttempts;
+    private final Path deadLetterFile;
+    // failed reads by the end of the entry in the log; only used by the drainer
+    private final Map<Integer, Integer> decodeFailures = new HashMap<>();
+    private final AtomicLong deadLetters = new AtomicLong();
+    // accepted but not yet drained, so their status is answered without a query
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+    private final Thread flusher;
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    public EmployeeWriteBehind(WriteBehindProperties properties,
+                               ObjectProvider<EmployeeService> employeeService,
+                               WriteBehindSubmissionRepository submissionRepository,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper) throws IOException {
+        this.employeeService = employeeService;
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.writeLog = new EmployeeWriteLog(properties.logFile(), Math.toIntExact(properties.logSize().toBytes()));
+        this.batchSize = properties.batchSize();
+        this.flushIntervalNanos = properties.flushInterval().toNanos();
+        this.drainIntervalMillis = properties.drainInterval().toMillis();
+        this.maxDecodeAttempts = properties.maxDecodeAttempts();
+        this.deadLetterFile = properties.logFile().resolveSibling(properties.logFile().getFileName() + ".dead-letter");
+        List<EmployeeWriteLog.Entry> recovered = writeLog.recover();
+        for (EmployeeWriteLog.Entry entry : recovered) {
+            try {
+                pending.put(decode(entry).trackingId(), Boolean.TRUE);
+            } catch (UncheckedIOException e) {
+                // left to the drainer, which moves it to the dead-letter file
+                log.warn("Recovered an unreadable employee write-behind entry ending at {}", entry.end(), e);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} employee write-behind entries from {}", recovered.size(), properties.logFile());
+        }
+        this.flusher = new Thread(this::flush, "employee-write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.drainer = new Thread(this::drain, "employee-write-behind-drainer");
+        this.drainer.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher.start();
+        drainer.start();
+    }
+
+    public WriteBehindStatus submit(Employee employee) {
+        String trackingId = UUID.randomUUID().toString();
+        byte[] payload = encode(new LogEntry(trackingId, employee.getFirstName(), employee.getLastName(), employee.getEmail()));
+        pending.put(trackingId, Boolean.TRUE);
+        long position = writeLog.append(payload);
+        if (position < 0) {
+            pending.remove(trackingId);
+            throw new WriteBehindUnavailableException("Write-behind log is full, try again later");
+        }
+        LockSupport.unpark(flusher);
+        try {
+            writeLog.awaitDurable(position);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindUnavailableException("Interrupted before the employee was stored");
+        }
+        return WriteBehindStatus.pending(trackingId);
+    }
+
+    public Optional<WriteBehindStatus> status(String trackingId) {
+        if (pending.containsKey(trackingId)) {
+            return Optional.of(WriteBehindStatus.pending(trackingId));
+        }
+        return submissionRepository.findById(trackingId).map(WriteBehindSubmission::toStatus);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.write-behind.pending", pending, Map::size)
+                .description("Employees accepted in write-behind mode and not yet written to the database")
+                .register(registry);
+        FunctionCounter.builder("employees.write-behind.dead-letters", deadLetters, AtomicLong::get)
+                .description("Write-behind entries that could not be read and were moved to the dead-letter file")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        running = false;
+        drainer.interrupt();
+        LockSupport.unpark(flusher);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // releases appenders still waiting; whatever was not drained is replayed on the next start
+        writeLog.force();
+        writeLog.close();
+    }
+
+    private void flush() {
+        while (running) {
+            try {
+                writeLog.force();
+            } catch (RuntimeException e) {
+                log.warn("Could not flush the employee write-behind log", e);
+            }
+            LockSupport.parkNanos(flushIntervalNanos);
+        }
+    }
+
+    private void drain() {
+        int position = 0;
+        long retryDelay = drainIntervalMillis;
+        while (running) {
+            try {
+                List<EmployeeWriteLog.Entry> entries = writeLog.readDurable(position, batchSize);
+                if (entries.isEmpty()) {
+                    if (writeLog.resetIfConsumed(position)) {
+                        position = 0;
+                        decodeFailures.clear();
+                    }
+                    Thread.sleep(drainIntervalMillis);
+                    continue;
+                }
+                List<LogEntry> batch = decodeOrDeadLetter(entries);
+                apply(batch);
+                position = entries.get(entries.size() - 1).end();
+                batch.forEach(entry -> pending.remove(entry.trackingId()));
+                retryDelay = drainIntervalMillis;
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                // the database is unavailable; the entries stay in the log and are retried
+                log.warn("Could not drain the employee write-behind log, retrying in {} ms", retryDelay, e);
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                retryDelay = Math.min(Math.max(retryDelay, 1) * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    // an unreadable entry fails the batch, so it is retried with the drainer's backoff until it is dead-lettered
+    private List<LogEntry> decodeOrDeadLetter(List<EmployeeWriteLog.Entry> entries) {
+        List<LogEntry> batch = new ArrayList<>(entries.size());
+        for (EmployeeWriteLog.Entry entry : entries) {
+            try {
+                batch.add(decode(entry));
+            } catch (UncheckedIOException e) {
+                if (decodeFailures.merge(entry.end(), 1, Integer::sum) < maxDecodeAttempts) {
+                    throw e;
+                }
+                deadLetter(entry, e);
+                decodeFailures.remove(entry.end());
+            }
+        }
+        return batch;
+    }
+
+    private void deadLetter(EmployeeWriteLog.Entry entry, UncheckedIOException e) {
+        String trackingId = trackingIdOf(entry.payload());
+        log.error("Moving unreadable employee write-behind entry {} to {}", trackingId, deadLetterFile, e);
+        if (trackingId != null) {
+            String message = "Could not read the submitted employee: " + e.getCause().getMessage();
+            transactionTemplate.executeWithoutResult(transaction -> {
+                if (submissionRepository.existsById(trackingId)) {
+                    return;
+                }
+                submissionRepository.save(WriteBehindSubmission.builder()
+                        .id(trackingId)
+                        .status(WriteBehindStatus.Status.FAILED)
+                        .message(message.length() > 1000 ? message.substring(0, 1000) : message)
+                        .build());
+            });
+            pending.remove(trackingId);
+        }
+        try {
+            Files.writeString(deadLetterFile, Base64.getEncoder().encodeToString(entry.payload()) + "\n",
+                    StandardCharsets.US_ASCII, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException io) {
+            throw new UncheckedIOException(io);
+        }
+        deadLetters.incrementAndGet();
+    }
+
+    private String trackingIdOf(byte[] payload) {
+        try {
+            JsonNode trackingId = objectMapper.readTree(payload).get("trackingId");
+            return trackingId != null && trackingId.isTextual() ? trackingId.asText() : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void apply(List<LogEntry> batch) {
+        try {
+            insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                // this entry can never be inserted, record that instead of blocking the log behind it
+                reject(batch.get(0), e);
+                return;
+            }
+            // find the offending entries, the others still go in
+            for (LogEntry entry : batch) {
+                apply(List.of(entry));
+            }
+        }
+    }
+
+    private void insert(List<LogEntry> batch) {
+        transactionTemplate.executeWithoutResult(transaction -> {
+            Set<String> applied = new HashSet<>(submissionRepository.findExistingIds(
+                    batch.stream().map(LogEntry::trackingId).toList()));
+            List<LogEntry> entries = batch.stream().filter(entry -> !applied.contains(entry.trackingId())).toList();
+            if (entries.isEmpty()) {
+                return;
+            }
+            List<Employee> employees = entries.stream()
+                    .map(entry -> Employee.builder()
+                            .firstName(entry.firstName())
+                            .lastName(entry.lastName())
+                            .email(entry.email())
+                            .build())
+                    .toList();
+            List<BatchItemResult> results = employeeService.getObject().saveEmployees(employees);
+            List<WriteBehindSubmission> submissions = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                BatchItemResult result = results.get(i);
+                submissions.add(WriteBehindSubmission.builder()
+                        .id(entries.get(i).trackingId())
+                        .status(result.status() == BatchItemStatus.CREATED
+                                ? WriteBehindStatus.Status.CREATED
+                                : WriteBehindStatus.Status.CONFLICT)
+                        .employeeId(result.id())
+                        .message(result.message())
+                        .build());
+            }
+            submissionRepository.saveAll(submissions);
+        });
+    }
+
+    private void reject(LogEntry entry, DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        transactionTemplate.executeWithoutResult(transaction -> {
+            if (submissionRepository.existsById(entry.trackingId())) {
+                return;
+            }
+            submissionRepository.save(WriteBehindSubmission.builder()
+                    .id(entry.trackingId())
+                    .status(WriteBehindStatus.Status.FAILED)
+                    .message(message != null && message.length() > 1000 ? message.substring(0, 1000) : message)
+                    .build());
+        });
+    }
+
+    private byte[] encode(LogEntry entry) {
+        try {
+            return objectMapper.writeValueAsBytes(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private LogEntry decode(EmployeeWriteLog.Entry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), LogEntry.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.springboot.writebehind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log in a fixed-size memory-mapped file.
+ * <p>
+ * A record is {@code [int length][int crc32][payload]} and the record after the last one is always a zero length,
+ * so a scan stops at the end of the log, and at a torn record after a crash. Appending only writes to the mapping;
+ * {@link #force()} makes everything appended so far durable with one fsync, and {@link #awaitDurable(long)} lets
+ * the appender wait for that, so concurrent appends share fsyncs. Once every record has been consumed the log
+ * starts over at the beginning of the file.
+ * <p>
+ * Positions handed out by {@link #append(byte[])} are logical: they keep growing across restarts of the file, so
+ * waiting for durability is not confused by a reset.
+ */
+final class EmployeeWriteLog implements Closeable {
+
+    private static final int RECORD_HEADER = 8;
+    private static final int TERMINATOR = 4;
+
+    record Entry(byte[] payload, int end) {
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durable = lock.newCondition();
+
+    // file positions, guarded by lock
+    private int writePosition;
+    private volatile int durablePosition;
+    // logical positions, guarded by lock
+    private long appended;
+    private long forced;
+
+    EmployeeWriteLog(Path file, int capacity) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Scans the file for the records that survived the last run and positions the log after them.
+     */
+    List<Entry> recover() {
+        List<Entry> entries = read(0, Integer.MAX_VALUE, capacity);
+        lock.lock();
+        try {
+            writePosition = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).end();
+            buffer.putInt(writePosition, 0);
+            buffer.force(writePosition, TERMINATOR);
+            durablePosition = writePosition;
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record and returns its logical end, to be passed to {@link #awaitDurable(long)}, or -1 when the log
+     * is full.
+     */
+    long append(byte[] payload) {
+        lock.lock();
+        try {
+            int start = writePosition;
+            int end = start + RECORD_HEADER + payload.length;
+            if (end + TERMINATOR > capacity) {
+                return -1;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            buffer.putInt(end, 0);
+            buffer.put(start + RECORD_HEADER, payload);
+            buffer.putInt(start + 4, (int) crc.getValue());
+            // the length goes last, so a scan never sees a record whose payload is not written yet
+            buffer.putInt(start, payload.length);
+            writePosition = end;
+            appended += end - start;
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes everything appended so far to disk and wakes the appenders waiting for it. Called by a single flusher.
+     */
+    void force() {
+        int from;
+        int to;
+        long target;
+        lock.lock();
+        try {
+            if (forced == appended) {
+                return;
+            }
+            from = durablePosition;
+            to = writePosition;
+            target = appended;
+        } finally {
+            lock.unlock();
+        }
+        // outside the lock, so appends keep going while the fsync runs
+        buffer.force(from, to - from + TERMINATOR);
+        lock.lock();
+        try {
+            if (durablePosition == from) {
+                durablePosition = to;
+            }
+            forced = target;
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void awaitDurable(long position) throws InterruptedException {
+        lock.lock();
+        try {
+            while (forced < position) {
+                durable.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code max} durable records starting at file position {@code from}.
+     */
+    List<Entry> readDurable(int from, int max) {
+        return read(from, max, durablePosition);
+    }
+
+    /**
+     * Starts over at the beginning of the file if every record up to {@code consumed} has been applied and nothing
+     * was appended after it.
+     */
+    boolean resetIfConsumed(int consumed) {
+        lock.lock();
+        try {
+            if (consumed == 0 || writePosition != consumed || forced != appended) {
+                return false;
+            }
+            buffer.putInt(0, 0);
+            buffer.force(0, TERMINATOR);
+            writePosition = 0;
+            durablePosition = 0;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private List<Entry> read(int from, int max, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        int position = from;
+        CRC32 crc = new CRC32();
+        while (entries.size() < max && position + RECORD_HEADER <= limit) {
+            int length = buffer.getInt(position);
+            int end = position + RECORD_HEADER + length;
+            if (length <= 0 || end > limit) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                // torn write from a crash; nothing after it was acknowledged
+                break;
+            }
+            entries.add(new Entry(payload, end));
+            position = end;
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,13 @@
+-- tables of one employee shard; employees are placed by id, email claims by email, each on its own ring position
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_employees_first_name_last_name ON employees (first_name, last_name);
+CREATE TABLE IF NOT EXISTS employee_emails (
+    email VARCHAR(255) PRIMARY KEY,
+    employee_id BIGINT NOT NULL
+);
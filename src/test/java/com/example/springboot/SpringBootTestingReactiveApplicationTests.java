@@ -0,0 +1,58 @@
+package com.example.springboot;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import com.example.springboot.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class SpringBootTestingReactiveApplicationTests {
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+	@AfterEach
+	void cleanup() {
+		employeeRepository.deleteAll();
+	}
+
+	@Test
+	void contextLoads() {
+		assertThat(employeeRepository).isNotNull();
+		assertThat(reactiveEmployeeRepository).isNotNull();
+	}
+
+	@Test
+	void conditionalUpdateBumpsTheVersionJpaReads() {
+		Employee employee = reactiveEmployeeRepository.insert(Employee.builder()
+				.firstName("Tony").lastName("Stark").email("tony@gmail.com").build()).block();
+		Employee changed = Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build();
+
+		StepVerifier.create(reactiveEmployeeRepository.updateById(employee.getId(), 1L, changed))
+				.expectNext(0L)
+				.verifyComplete();
+		StepVerifier.create(reactiveEmployeeRepository.updateById(employee.getId(), 0L, changed))
+				.expectNext(1L)
+				.verifyComplete();
+		// nothing changes, so nothing is written
+		StepVerifier.create(reactiveEmployeeRepository.updateById(employee.getId(), null, changed))
+				.expectNext(0L)
+				.verifyComplete();
+
+		Employee saved = employeeRepository.findById(employee.getId()).orElseThrow();
+		assertThat(saved.getEmail()).isEqualTo("stark@gmail.com");
+		assertThat(saved.getVersion()).isEqualTo(1L);
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.example.springboot.changes;
+
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeChangeRingTests {
+
+    private final EmployeeChangeRing ring = new EmployeeChangeRing(4);
+
+    @DisplayName("JUnit test for reading changes after a sequence")
+    @Test
+    public void givenPublishedChanges_whenReadAfterSequence_thenReturnLaterChangesInOrder(){
+        //given
+        ring.publish(EmployeeChange.Type.CREATED, 1L, new EmployeeView(1L, "Tony", "Stark", "tony@gmail.com", 0L));
+        ring.publish(EmployeeChange.Type.UPDATED, 1L, new EmployeeView(1L, "Tony", "Stark", "stark@gmail.com", 1L));
+        ring.publish(EmployeeChange.Type.DELETED, 1L, null);
+        List<EmployeeChange> changes = new ArrayList<>();
+
+        //when
+        EmployeeChangeRing.ReadStatus status = ring.read(1, 10, changes);
+
+        //then
+        assertThat(status).isEqualTo(EmployeeChangeRing.ReadStatus.OK);
+        assertThat(changes).extracting(EmployeeChange::sequence).containsExactly(2L, 3L);
+        assertThat(changes).extracting(EmployeeChange::type)
+                .containsExactly(EmployeeChange.Type.UPDATED, EmployeeChange.Type.DELETED);
+        assertThat(ring.hasChangesAfter(3)).isFalse();
+    }
+
+    @DisplayName("JUnit test for a reader lapped by the publishers")
+    @Test
+    public void givenMoreChangesThanCapacity_whenReadFromStart_thenOverflow(){
+        //given
+        for (long id = 1; id <= 6; id++) {
+            ring.publish(EmployeeChange.Type.DELETED, id, null);
+        }
+        List<EmployeeChange> changes = new ArrayList<>();
+
+        //when
+        EmployeeChangeRing.ReadStatus lapped = ring.read(0, 10, changes);
+        EmployeeChangeRing.ReadStatus oldest = ring.read(ring.oldestSequence() - 1, 10, changes);
+
+        //then
+        assertThat(lapped).isEqualTo(EmployeeChangeRing.ReadStatus.OVERFLOW);
+        assertThat(oldest).isEqualTo(EmployeeChangeRing.ReadStatus.OK);
+        assertThat(changes).extracting(EmployeeChange::sequence).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @DisplayName("JUnit test for resuming from a sequence of an earlier run")
+    @Test
+    public void givenUnknownFutureSequence_whenRead_thenOverflow(){
+        //given
+        ring.publish(EmployeeChange.Type.DELETED, 1L, null);
+
+        //when
+        EmployeeChangeRing.ReadStatus status = ring.read(42, 10, new ArrayList<>());
+
+        //then
+        assertThat(status).isEqualTo(EmployeeChangeRing.ReadStatus.OVERFLOW);
+    }
+}
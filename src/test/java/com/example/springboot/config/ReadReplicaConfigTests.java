@@ -0,0 +1,39 @@
+package com.example.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadReplicaConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ReadReplicaConfig.class)
+            .withPropertyValues(
+                    "app.datasource.routing.enabled=true",
+                    "app.datasource.routing.replicas[0].url=jdbc:h2:mem:config-replica",
+                    "spring.datasource.url=jdbc:h2:mem:config-primary");
+
+    @DisplayName("the primary pool takes the spring.datasource.hikari settings")
+    @Test
+    public void givenHikariProperties_whenRoutingEnabled_thenPrimaryPoolIsConfigured() {
+        contextRunner
+                .withPropertyValues(
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "spring.datasource.hikari.connection-timeout=1234")
+                .run(context -> {
+                    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+                    assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+                    assertThat(primary.getConnectionTimeout()).isEqualTo(1234);
+                    assertThat(primary.getPoolName()).isEqualTo("primary");
+                    assertThat(context.getBean(DataSource.class)).isInstanceOf(ReplicaRoutingDataSource.class);
+                });
+    }
+}
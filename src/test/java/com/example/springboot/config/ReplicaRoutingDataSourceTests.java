@@ -0,0 +1,109 @@
+package com.example.springboot.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two embedded H2 databases standing in for the primary and a replica.
+ */
+public class ReplicaRoutingDataSourceTests {
+
+    private ReplicaRoutingDataSource dataSource;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setup(){
+        dataSource = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1", "sa", ""),
+                List.of(new DriverManagerDataSource("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", "")),
+                new ReadYourWritesTracker(Duration.ofSeconds(2)));
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    public void cleanup(){
+        RequestContextHolder.resetRequestAttributes();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @DisplayName("read-only transactions go to the replica")
+    @Test
+    public void givenReadOnlyTransaction_whenGetConnection_thenReplica() throws Exception {
+        // given
+        startTransaction(true);
+
+        // when / then
+        assertThat(databaseOf(dataSource)).contains("routing-replica");
+        assertThat(response.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNull();
+    }
+
+    @DisplayName("read-write transactions go to the primary and pin the client's reads")
+    @Test
+    public void givenReadWriteTransaction_whenGetConnection_thenPrimaryAndCookieSet() throws Exception {
+        // given
+        startTransaction(false);
+
+        // when / then
+        assertThat(databaseOf(dataSource)).contains("routing-primary");
+        assertThat(response.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNotNull();
+
+        // later reads in the same request see the write too
+        startTransaction(true);
+        assertThat(databaseOf(dataSource)).contains("routing-primary");
+    }
+
+    @DisplayName("reads within the read-your-writes window go to the primary")
+    @Test
+    public void givenRecentWriteCookie_whenReadOnlyTransaction_thenPrimary() throws Exception {
+        // given
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 1000)));
+        startTransaction(true);
+
+        // when / then
+        assertThat(databaseOf(dataSource)).contains("routing-primary");
+    }
+
+    @DisplayName("expired or out of range cookies are ignored")
+    @Test
+    public void givenExpiredOrForgedCookie_whenReadOnlyTransaction_thenReplica() throws Exception {
+        // given
+        startTransaction(true);
+
+        // when / then
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+        assertThat(databaseOf(dataSource)).contains("routing-replica");
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        assertThat(databaseOf(dataSource)).contains("routing-replica");
+    }
+
+    private static void startTransaction(boolean readOnly){
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    // the lazy proxy only picks the target when the connection is first used
+    private static String databaseOf(ReplicaRoutingDataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.springboot.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupReportTests {
+
+    @DisplayName("startup report lists the slowest steps first with their tags")
+    @Test
+    public void givenRecordedSteps_whenSlowestSteps_thenOrderedByDuration() throws Exception {
+        //given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+        StartupStep fast = startup.start("spring.beans.instantiate").tag("beanName", "cacheManager");
+        fast.end();
+        StartupStep slow = startup.start("spring.beans.instantiate").tag("beanName", "entityManagerFactory");
+        Thread.sleep(20);
+        slow.end();
+        startup.start("spring.context.refresh").end();
+
+        //when
+        List<String> lines = StartupReport.slowestSteps(startup.getBufferedTimeline(), 2);
+
+        //then
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).endsWith("spring.beans.instantiate beanName=entityManagerFactory");
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A change feed client that stops reading, over a real connection: MockMvc buffers the whole response, so writes
+ * to it never block.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.changes.sender-threads=1",
+        "app.changes.send-timeout=500ms"
+})
+public class EmployeeChangeControllerSlowConsumerTests {
+
+    // far more than the socket buffers of the stalled connection hold
+    private static final int CHANGES = 20_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @DisplayName("A subscriber that stops reading is dropped and does not hold up the others")
+    @Test
+    public void givenSubscriberThatStopsReading_whenChangesArePublished_thenOtherSubscribersGetAllChanges() throws Exception {
+        // given
+        employeeChangeFeed.publish(EmployeeChange.Type.CREATED, 0, new EmployeeView(0, "Tony", "Stark", "tony@gmail.com", 0L));
+        long first = employeeChangeFeed.lastSequence();
+        try (Socket stalled = subscribe(first); Socket reading = subscribe(first)) {
+            String padding = "x".repeat(500);
+
+            // when
+            for (int i = 0; i < CHANGES; i++) {
+                employeeChangeFeed.publish(EmployeeChange.Type.CREATED, i,
+                        new EmployeeView(i, padding, "Stark", "tony" + i + "@gmail.com", 0L));
+            }
+
+            // then
+            String last = "id:" + employeeChangeFeed.lastSequence() + "\n";
+            assertThat(readUntil(reading.getInputStream(), last, 30_000)).isTrue();
+        }
+    }
+
+    // resumes before the latest change, so the response, whose headers go out with the first event, starts at once
+    private Socket subscribe(long latest) throws IOException {
+        Socket socket = new Socket();
+        // a small receive window, so the stalled connection fills up quickly
+        socket.setReceiveBufferSize(4096);
+        socket.setSoTimeout(1_000);
+        socket.connect(new InetSocketAddress("localhost", port));
+        socket.getOutputStream().write(("GET /api/employees/changes?after=" + (latest - 1) + " HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        assertThat(readUntil(socket.getInputStream(), "id:" + latest + "\n", 5_000)).isTrue();
+        return socket;
+    }
+
+    private static boolean readUntil(InputStream input, String expected, long timeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        StringBuilder tail = new StringBuilder();
+        byte[] buffer = new byte[8192];
+        while (System.currentTimeMillis() < deadline) {
+            int read;
+            try {
+                read = input.read(buffer);
+            } catch (SocketTimeoutException e) {
+                continue;
+            }
+            if (read < 0) {
+                return false;
+            }
+            tail.append(new String(buffer, 0, read, StandardCharsets.ISO_8859_1));
+            if (tail.indexOf(expected) >= 0) {
+                return true;
+            }
+            tail.delete(0, Math.max(0, tail.length() - expected.length()));
+        }
+        return false;
+    }
+}
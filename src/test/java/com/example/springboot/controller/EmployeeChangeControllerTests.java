@@ -0,0 +1,69 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(EmployeeChangeController.class)
+@Import(EmployeeChangeFeed.class)
+public class EmployeeChangeControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    // JUnit test for resuming the change stream with Last-Event-ID
+    @Test
+    public void givenLastEventId_whenStreamChanges_thenOnlyLaterChangesAreSent() throws Exception {
+    	// given
+    	long start = employeeChangeFeed.lastSequence();
+    	employeeChangeFeed.publish(EmployeeChange.Type.CREATED, 1L, new EmployeeView(1L, "Tony", "Stark", "tony@gmail.com", 0L));
+    	employeeChangeFeed.publish(EmployeeChange.Type.DELETED, 1L, null);
+    	// when
+    	MvcResult result = mockMvc.perform(get("/api/employees/changes")
+    			.header("Last-Event-ID", start + 1))
+    			.andExpect(request().asyncStarted())
+    			.andReturn();
+    	// then
+    	// the id, event and data lines and the payload are written separately, so wait for the payload
+    	String events = awaitContent(result, "\"type\":\"DELETED\"");
+    	assertThat(events).doesNotContain("id:" + (start + 1));
+    	assertThat(events).contains("id:" + (start + 2)).contains("event:employee");
+    }
+    
+    // JUnit test for resuming the change stream from a sequence the feed no longer has
+    @Test
+    public void givenUnknownSequence_whenStreamChanges_thenOverflowIsSignalled() throws Exception {
+    	// when
+    	MvcResult result = mockMvc.perform(get("/api/employees/changes")
+    			.param("after", Long.toString(employeeChangeFeed.lastSequence() + 100)))
+    			.andExpect(request().asyncStarted())
+    			.andReturn();
+    	// then
+    	String events = awaitContent(result, "\"lastSequence\":" + employeeChangeFeed.lastSequence());
+    	assertThat(events).contains("event:overflow");
+    }
+    
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+    	long deadline = System.currentTimeMillis() + 5_000;
+    	while (System.currentTimeMillis() < deadline) {
+    		String content = result.getResponse().getContentAsString();
+    		if (content.contains(expected)) {
+    			return content;
+    		}
+    		Thread.sleep(20);
+    	}
+    	throw new AssertionError("No " + expected + " in " + result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.service.EmployeeImportService;
+import com.example.springboot.service.EmployeeService;
+import com.example.springboot.service.impl.MemoryEmployeeServiceImpl;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The employee API end to end with {@code app.memory-store.enabled=true}.
+ */
+@SpringBootTest(properties = {
+        "app.memory-store.enabled=true",
+        "app.memory-store.directory=${java.io.tmpdir}/employee-store-test-${random.uuid}"
+})
+@AutoConfigureMockMvc
+public class EmployeeControllerMemoryStoreTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @DisplayName("Import is not available over the memory store")
+    @Test
+    public void givenMemoryStore_whenStarted_thenNoImport() {
+        assertThat(applicationContext.getBeanNamesForType(EmployeeImportService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EmployeeImportController.class)).isEmpty();
+    }
+
+    @DisplayName("Employee lifecycle over the memory store: create, read, conditional update, delete")
+    @Test
+    public void givenMemoryStore_whenEmployeeLifecycle_thenSameContractAsDatabase() throws Exception {
+        // given
+        assertThat(AopUtils.getTargetClass(employeeService)).isEqualTo(MemoryEmployeeServiceImpl.class);
+        String body = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Tony\",\"lastName\":\"Stark\",\"email\":\"tony@gmail.com\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version", is(0)))
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        // when / then
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.email", is("tony@gmail.com")));
+        mockMvc.perform(get("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(put("/api/employees/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Tony\",\"lastName\":\"Stark\",\"email\":\"stark@gmail.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put("/api/employees/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Anthony\",\"lastName\":\"Stark\",\"email\":\"stark@gmail.com\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/employees").param("limit", "10").param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email", is("stark@gmail.com")));
+        mockMvc.perform(delete("/api/employees/{id}", id))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("Collection endpoints over the memory store: batch create, multi-get, lookup, paging, search, errors")
+    @Test
+    public void givenMemoryStore_whenCollectionEndpoints_thenSameContractAsDatabase() throws Exception {
+        // given
+        String report = mockMvc.perform(post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"firstName\":\"Bruce\",\"lastName\":\"Banner\",\"email\":\"bruce@gmail.com\"},"
+                                + "{\"firstName\":\"Natasha\",\"lastName\":\"Romanoff\",\"email\":\"natasha@gmail.com\"},"
+                                + "{\"firstName\":\"Robert\",\"lastName\":\"Banner\",\"email\":\"bruce@gmail.com\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("CREATED")))
+                .andExpect(jsonPath("$[2].status", is("CONFLICT")))
+                .andReturn().getResponse().getContentAsString();
+        long bruce = JsonPath.<Number>read(report, "$[0].id").longValue();
+        long natasha = JsonPath.<Number>read(report, "$[1].id").longValue();
+
+        // when / then
+        mockMvc.perform(get("/api/employees").param("ids", natasha + "," + bruce + ",999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].email", is("natasha@gmail.com")))
+                .andExpect(jsonPath("$.employees[1].email", is("bruce@gmail.com")))
+                .andExpect(jsonPath("$.missing[0]", is(999999)));
+        mockMvc.perform(post("/api/employees/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + bruce + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].lastName", is("Banner")));
+        mockMvc.perform(get("/api/employees").param("after", Long.toString(bruce - 1)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.content[0].email", is("bruce@gmail.com")))
+                .andExpect(jsonPath("$.nextCursor", is((int) bruce)));
+        mockMvc.perform(get("/api/employees/search").param("q", "natasha").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastName", is("Romanoff")));
+        mockMvc.perform(put("/api/employees/{id}", bruce)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Bruce\",\"lastName\":\"Banner\",\"email\":\"hulk@gmail.com\"}"))
+                .andExpect(status().isPreconditionRequired());
+        mockMvc.perform(put("/api/employees/{id}", 999999)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Bruce\",\"lastName\":\"Banner\",\"email\":\"hulk@gmail.com\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/employees/{id}", 999999))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + bruce + "," + natasha + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("DELETED")))
+                .andExpect(jsonPath("$[1].status", is("DELETED")));
+    }
+}
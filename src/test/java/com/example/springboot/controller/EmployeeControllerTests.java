@@ -1,5 +1,14 @@
 package com.example.springboot.controller;
 
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.dto.WriteBehindStatus;
+import com.example.springboot.exception.WriteBehindUnavailableException;
 import com.example.springboot.model.Employee;
 import com.example.springboot.service.EmployeeService;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -11,7 +20,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -21,11 +32,12 @@ import static org.mockito.BDDMockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTests {
     @Autowired
     private MockMvc mockMvc;
@@ -61,6 +73,88 @@ public class EmployeeControllerTests {
 
     }
     
+    // JUnit test for write-behind create employee REST API
+    @Test
+    public void givenEmployeeObject_whenSubmitEmployee_thenReturnAcceptedWithTrackingId() throws Exception {
+        // given
+        Employee employee = Employee.builder()
+                .firstName("Yerkebulan")
+                .lastName("Yessenali")
+                .email("yerkebulan@gmail.com")
+                .build();
+        given(employeeService.submitEmployee(any(Employee.class))).willReturn(WriteBehindStatus.pending("tracking-1"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(employee)));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/submissions/tracking-1"))
+                .andExpect(jsonPath("$.trackingId", is("tracking-1")))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    // JUnit test for write-behind create employee REST API - write-behind disabled
+    @Test
+    public void givenWriteBehindDisabled_whenSubmitEmployee_thenReturn503() throws Exception {
+        // given
+        given(employeeService.submitEmployee(any(Employee.class)))
+                .willThrow(new WriteBehindUnavailableException("Write-behind mode is not enabled"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Tony\",\"lastName\":\"Stark\",\"email\":\"tony@gmail.com\"}"));
+
+        // then
+        response.andExpect(status().isServiceUnavailable());
+    }
+
+    // JUnit test for write-behind submission status REST API
+    @Test
+    public void givenDrainedSubmission_whenGetSubmissionStatus_thenReturnCreatedEmployeeId() throws Exception {
+        // given
+        given(employeeService.getSubmissionStatus("tracking-1")).willReturn(Optional.of(
+                new WriteBehindStatus("tracking-1", WriteBehindStatus.Status.CREATED, 42L, null)));
+        given(employeeService.getSubmissionStatus("missing")).willReturn(Optional.empty());
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees/submissions/{trackingId}", "tracking-1"));
+        ResultActions missing = mockMvc.perform(get("/api/employees/submissions/{trackingId}", "missing"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CREATED")))
+                .andExpect(jsonPath("$.employeeId", is(42)));
+        missing.andExpect(status().isNotFound());
+    }
+
+    // JUnit test for batch create employees REST API
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnPerItemReport() throws Exception {
+        // given
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().firstName("Yerkebulan").lastName("Yessenali").email("yerkebulan@gmail.com").build(),
+                Employee.builder().firstName("Tony").lastName("Stark").email("yerkebulan@gmail.com").build());
+        given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(List.of(
+                BatchItemResult.of(0, 1L, BatchItemStatus.CREATED),
+                BatchItemResult.failed(1, null, BatchItemStatus.CONFLICT, "Employee already exist with given email: yerkebulan@gmail.com")));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")));
+    }
+    
     // JUnit test for get all employees REST API
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
@@ -68,7 +162,7 @@ public class EmployeeControllerTests {
     	List<Employee> listOfEmployees = new ArrayList<>();
     	listOfEmployees.add(Employee.builder().firstName("Yerkebulan").lastName("Yessenali").email("yerkebulan@gmail.com").build());
     	listOfEmployees.add(Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
-    	given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+    	given(employeeService.getAllEmployees()).willReturn(listOfEmployees.stream().map(EmployeeView::of).toList());
     	// when
     	ResultActions response = mockMvc.perform(get("/api/employees"));
     	// then
@@ -78,6 +172,176 @@ public class EmployeeControllerTests {
     					is(listOfEmployees.size())));
     }
     
+    // JUnit test for keyset paginated get employees REST API
+    @Test
+    public void givenListOfEmployees_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+    	// given
+    	List<Employee> listOfEmployees = new ArrayList<>();
+    	listOfEmployees.add(Employee.builder().id(11L).firstName("Yerkebulan").lastName("Yessenali").email("yerkebulan@gmail.com").build());
+    	listOfEmployees.add(Employee.builder().id(12L).firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
+    	listOfEmployees.add(Employee.builder().id(13L).firstName("John").lastName("Doe").email("john@gmail.com").build());
+    	given(employeeService.getEmployeesAfter(10L, 3)).willReturn(listOfEmployees.stream().map(EmployeeView::of).toList());
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees")
+    			.param("after", "10")
+    			.param("limit", "2"));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andDo(print())
+    			.andExpect(jsonPath("$.content.size()", is(2)))
+    			.andExpect(jsonPath("$.nextCursor", is(12)));
+    }
+    
+    // JUnit test for get all employees REST API with a field projection
+    @Test
+    public void givenFieldsParam_whenGetAllEmployees_thenReturnOnlyRequestedFields() throws Exception {
+    	// given
+    	EnumSet<EmployeeField> fields = EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL);
+    	given(employeeService.getAllEmployees(fields)).willReturn(List.of(
+    			new EmployeeProjection(fields, Map.of(EmployeeField.ID, 1L, EmployeeField.EMAIL, "tony@gmail.com"))));
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "email, id"));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andDo(print())
+    			.andExpect(content().json("[{\"id\":1,\"email\":\"tony@gmail.com\"}]", true));
+    }
+    
+    // JUnit test for keyset paginated get employees REST API with a field projection
+    @Test
+    public void givenFieldsParam_whenGetEmployeesPage_thenCursorComesFromUnrequestedId() throws Exception {
+    	// given
+    	EnumSet<EmployeeField> fields = EnumSet.of(EmployeeField.EMAIL);
+    	given(employeeService.getEmployeesAfter(0L, 2, fields)).willReturn(List.of(
+    			new EmployeeProjection(fields, Map.of(EmployeeField.ID, 5L, EmployeeField.EMAIL, "tony@gmail.com")),
+    			new EmployeeProjection(fields, Map.of(EmployeeField.ID, 6L, EmployeeField.EMAIL, "john@gmail.com"))));
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees")
+    			.param("limit", "1")
+    			.param("fields", "email"));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andDo(print())
+    			.andExpect(content().json("{\"content\":[{\"email\":\"tony@gmail.com\"}],\"nextCursor\":5}", true));
+    }
+    
+    // JUnit test for get employee by id REST API with a field projection
+    @Test
+    public void givenFieldsParam_whenGetEmployeeById_thenReturnRequestedFieldsWithETag() throws Exception {
+    	// given
+    	EnumSet<EmployeeField> fields = EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL);
+    	given(employeeService.getEmployeeById(1L, fields)).willReturn(Optional.of(new EmployeeProjection(fields,
+    			Map.of(EmployeeField.ID, 1L, EmployeeField.EMAIL, "tony@gmail.com", EmployeeField.VERSION, 3L))));
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L).param("fields", "id,email"));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andDo(print())
+    			.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+    			.andExpect(content().json("{\"id\":1,\"email\":\"tony@gmail.com\"}", true));
+    }
+    
+    // JUnit test for get employee by id REST API with an unknown field
+    @Test
+    public void givenUnknownField_whenGetEmployeeById_thenReturn400() throws Exception {
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L).param("fields", "id,salary"));
+    	// then
+    	response.andExpect(status().isBadRequest());
+    }
+    
+    // JUnit test for employee search REST API
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnRankedMatches() throws Exception {
+    	// given
+    	List<EmployeeView> matches = List.of(
+    			new EmployeeView(1L, "Tony", "Stark", "tony@gmail.com", 0L),
+    			new EmployeeView(2L, "Antony", "Tonkin", "antony@gmail.com", 0L));
+    	given(employeeService.searchEmployees("ton", 5)).willReturn(matches);
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees/search")
+    			.param("q", "ton")
+    			.param("limit", "5"));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andDo(print())
+    			.andExpect(jsonPath("$.size()", is(2)))
+    			.andExpect(jsonPath("$[0].lastName", is("Stark")));
+    }
+    
+    // JUnit test for multi-get by id list REST API
+    @Test
+    public void givenIdList_whenGetEmployeesByIds_thenReturnEmployeesInRequestOrderAndMissingIds() throws Exception {
+    	// given
+    	List<Long> ids = List.of(3L, 1L, 7L);
+    	given(employeeService.getEmployeesByIds(ids)).willReturn(new EmployeeLookupResult(List.of(
+    			new EmployeeView(3L, "Bruce", "Banner", "bruce@gmail.com", 0L),
+    			new EmployeeView(1L, "Tony", "Stark", "tony@gmail.com", 2L)), List.of(7L)));
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "3,1,7"));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andDo(print())
+    			.andExpect(jsonPath("$.employees.size()", is(2)))
+    			.andExpect(jsonPath("$.employees[0].id", is(3)))
+    			.andExpect(jsonPath("$.employees[1].id", is(1)))
+    			.andExpect(jsonPath("$.missing[0]", is(7)));
+    }
+    
+    // JUnit test for multi-get by id list REST API, with paging and projection parameters alongside the ids
+    @Test
+    public void givenIdListWithLimitAndFields_whenGetEmployeesByIds_thenMultiGetAnswers() throws Exception {
+    	// given
+    	List<Long> ids = List.of(1L, 2L);
+    	given(employeeService.getEmployeesByIds(ids)).willReturn(new EmployeeLookupResult(List.of(
+    			new EmployeeView(1L, "Tony", "Stark", "tony@gmail.com", 0L)), List.of(2L)));
+    	// when
+    	ResultActions withLimit = mockMvc.perform(get("/api/employees").param("ids", "1,2").param("limit", "1"));
+    	ResultActions withLimitAndFields = mockMvc.perform(get("/api/employees").param("ids", "1,2")
+    			.param("limit", "1").param("fields", "email"));
+    	// then
+    	withLimit.andExpect(status().isOk())
+    			.andExpect(jsonPath("$.employees[0].id", is(1)))
+    			.andExpect(jsonPath("$.missing[0]", is(2)));
+    	withLimitAndFields.andExpect(status().isOk())
+    			.andExpect(jsonPath("$.employees[0].id", is(1)))
+    			.andExpect(jsonPath("$.missing[0]", is(2)));
+    }
+    
+    // JUnit test for multi-get by id list REST API, with the ids in the body
+    @Test
+    public void givenIdListBody_whenLookupEmployees_thenReturnEmployees() throws Exception {
+    	// given
+    	List<Long> ids = List.of(2L, 5L);
+    	given(employeeService.getEmployeesByIds(ids)).willReturn(new EmployeeLookupResult(List.of(
+    			new EmployeeView(2L, "Tony", "Stark", "tony@gmail.com", 0L)), List.of(5L)));
+    	// when
+    	ResultActions response = mockMvc.perform(post("/api/employees/lookup")
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content(objectMapper.writeValueAsBytes(ids)));
+    	// then
+    	response.andExpect(status().isOk())
+    			.andExpect(jsonPath("$.employees[0].email", is("tony@gmail.com")))
+    			.andExpect(jsonPath("$.missing[0]", is(5)));
+    }
+    
+    // JUnit test for multi-get by id list REST API with too many ids
+    @Test
+    public void givenTooManyIds_whenLookupEmployees_thenReturnBadRequest() throws Exception {
+    	// given
+    	List<Long> ids = new ArrayList<>();
+    	for (long id = 1; id <= 5001; id++) {
+    		ids.add(id);
+    	}
+    	// when
+    	ResultActions response = mockMvc.perform(post("/api/employees/lookup")
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content(objectMapper.writeValueAsBytes(ids)));
+    	// then
+    	response.andExpect(status().isBadRequest());
+    	verify(employeeService, never()).getEmployeesByIds(any());
+    }
+    
     // positive scenario - valid employee id
     // JUnit test for GET employee by id REST API
     @Test
@@ -89,12 +353,13 @@ public class EmployeeControllerTests {
                 .lastName("Yessenali")
                 .email("yerkebulan@gmail.com")
                 .build();
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(EmployeeView.of(employee)));
     	// when
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
     	// then
         response.andExpect(status().isOk())
         		.andDo(print())
+        		.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
         		.andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
         		.andExpect(jsonPath("$.lastName", is(employee.getLastName())))
         		.andExpect(jsonPath("$.email", is(employee.getEmail())));
@@ -136,12 +401,12 @@ public class EmployeeControllerTests {
     			.email("tony@gmail.com")
     			.build();
     	
-    	given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
-    	given(employeeService.updateEmployee(any(Employee.class)))
-    			.willAnswer((invocation) -> invocation.getArgument(0));
+    	given(employeeService.updateEmployee(eq(employeeId), eq(0L), any(Employee.class)))
+    			.willAnswer((invocation) -> EmployeeUpdateResult.updated(invocation.getArgument(2)));
     	
     	//when
     	ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+    									.header(HttpHeaders.IF_MATCH, "\"0\"")
     									.contentType(MediaType.APPLICATION_JSON)
     									.content(objectMapper.writeValueAsString(updatedEmployee)));
     	//then
@@ -152,6 +417,74 @@ public class EmployeeControllerTests {
     			.andExpect(jsonPath("$.email", is(updatedEmployee.getEmail())));
     }
     
+    // JUnit test for conditional GET employee by id REST API
+    @Test
+    public void givenMatchingETag_whenGetEmployeeById_thenReturn304() throws Exception {
+    	// given
+    	long employeeId = 1L;
+    	given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(3L));
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId)
+    									.header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+    	// then
+    	response.andExpect(status().isNotModified())
+    			.andDo(print())
+    			.andExpect(content().string(""));
+    	verify(employeeService, never()).getEmployeeById(employeeId);
+    }
+    
+    // JUnit test for update employee REST API - stale ETag
+    @Test
+    public void givenStaleETag_whenUpdateEmployee_thenReturn412() throws JsonProcessingException, Exception {
+    	// given
+    	long employeeId = 1L;
+    	Employee savedEmployee = Employee.builder()
+    			.id(employeeId)
+    			.version(2L)
+    			.firstName("Yerkebulan")
+    			.lastName("Yessenali")
+    			.email("yerkebulan@gmail.com")
+    			.build();
+    	Employee updatedEmployee = Employee.builder()
+    			.firstName("Tony")
+    			.lastName("Stark")
+    			.email("tony@gmail.com")
+    			.build();
+    	given(employeeService.updateEmployee(eq(employeeId), eq(1L), any(Employee.class)))
+    			.willReturn(EmployeeUpdateResult.preconditionFailed(savedEmployee));
+    	
+    	//when
+    	ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+    									.header(HttpHeaders.IF_MATCH, "\"1\"")
+    									.contentType(MediaType.APPLICATION_JSON)
+    									.content(objectMapper.writeValueAsString(updatedEmployee)));
+    	//then
+    	response.andExpect(status().isPreconditionFailed())
+    			.andDo(print())
+    			.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+    
+    // JUnit test for update employee REST API - missing If-Match
+    @Test
+    public void givenNoIfMatch_whenUpdateEmployee_thenReturn428() throws JsonProcessingException, Exception {
+    	// given
+    	long employeeId = 1L;
+    	Employee updatedEmployee = Employee.builder()
+    			.firstName("Tony")
+    			.lastName("Stark")
+    			.email("tony@gmail.com")
+    			.build();
+    	
+    	//when
+    	ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+    									.contentType(MediaType.APPLICATION_JSON)
+    									.content(objectMapper.writeValueAsString(updatedEmployee)));
+    	//then
+    	response.andExpect(status().isPreconditionRequired())
+    			.andDo(print());
+    	verify(employeeService, never()).updateEmployee(anyLong(), any(), any(Employee.class));
+    }
+    
     // JUnit test for update employee REST API - negative scenario
     @Test
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() throws JsonProcessingException, Exception {
@@ -169,12 +502,12 @@ public class EmployeeControllerTests {
     			.email("tony@gmail.com")
     			.build();
     	
-    	given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-    	given(employeeService.updateEmployee(any(Employee.class)))
-    			.willAnswer((invocation) -> invocation.getArgument(0));
+    	given(employeeService.updateEmployee(eq(employeeId), eq(0L), any(Employee.class)))
+    			.willReturn(EmployeeUpdateResult.notFound());
     	
     	//when
     	ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+    									.header(HttpHeaders.IF_MATCH, "\"0\"")
     									.contentType(MediaType.APPLICATION_JSON)
     									.content(objectMapper.writeValueAsString(updatedEmployee)));
     	//then
@@ -187,7 +520,7 @@ public class EmployeeControllerTests {
    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception{
 	   //given
 	   long employeeId = 1L;
-	   willDoNothing().given(employeeService).deleteEmployee(employeeId);
+	   given(employeeService.deleteEmployee(employeeId)).willReturn(true);
 	   
 	   //when
 	   ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
@@ -196,4 +529,19 @@ public class EmployeeControllerTests {
 	   response.andExpect(status().isOk())
 	   			.andDo(print());
    }
+   
+    // JUnit test for delete employee REST API - negative scenario
+   @Test
+   public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception{
+	   //given
+	   long employeeId = 1L;
+	   given(employeeService.deleteEmployee(employeeId)).willReturn(false);
+	   
+	   //when
+	   ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
+	   
+	   //then
+	   response.andExpect(status().isNotFound())
+	   			.andDo(print());
+   }
 }
@@ -0,0 +1,159 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compression, HTTP/2 and the binary formats over a real connection; MockMvc bypasses Tomcat, which does the
+ * compression and the protocol upgrade.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeControllerWireFormatTests {
+
+    private static final int EMPLOYEES = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    public void setup() {
+        if (employeeService.getEmployeesAfter(0, 1).isEmpty()) {
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employeeService.saveEmployee(Employee.builder()
+                        .firstName("First" + i).lastName("Last" + i).email("wire" + i + "@gmail.com").build());
+            }
+        }
+    }
+
+    @DisplayName("Large JSON responses are gzip-compressed for clients that accept it")
+    @Test
+    public void givenAcceptEncodingGzip_whenGetAllEmployees_thenResponseIsCompressed() throws Exception {
+        // when
+        HttpResponse<byte[]> plain = client.send(request("/api/employees").build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzipped = client.send(request("/api/employees").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // then
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).contains("gzip");
+        assertThat(gzipped.body().length).isLessThan(plain.body().length / 2);
+        assertThat(objectMapper.readTree(gunzip(gzipped.body()))).isEqualTo(objectMapper.readTree(plain.body()));
+    }
+
+    @DisplayName("Responses below the compression threshold are sent as they are")
+    @Test
+    public void givenSmallResponse_whenGetEmployeeById_thenResponseIsNotCompressed() throws Exception {
+        // given
+        long id = employeeService.getEmployeesAfter(0, 1).get(0).id();
+
+        // when
+        HttpResponse<byte[]> response = client.send(request("/api/employees/" + id).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(objectMapper.readTree(response.body()).get("id").asLong()).isEqualTo(id);
+    }
+
+    @DisplayName("Accept: application/cbor returns the same employees as JSON, in CBOR")
+    @Test
+    public void givenAcceptCbor_whenGetAllEmployees_thenResponseIsCbor() throws Exception {
+        // when
+        HttpResponse<byte[]> json = client.send(request("/api/employees").build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> cbor = client.send(request("/api/employees").header("Accept", "application/cbor").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // then
+        assertThat(cbor.headers().firstValue("Content-Type")).contains("application/cbor");
+        JsonNode employees = new CBORMapper().readTree(cbor.body());
+        JsonNode expected = objectMapper.readTree(json.body());
+        assertThat(employees.size()).isEqualTo(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(employees.get(i).get("id").asLong()).isEqualTo(expected.get(i).get("id").asLong());
+            assertThat(employees.get(i).get("email").asText()).isEqualTo(expected.get(i).get("email").asText());
+        }
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+    }
+
+    @DisplayName("A Smile request body is accepted and answered in Smile")
+    @Test
+    public void givenSmileBody_whenCreateEmployee_thenResponseIsSmile() throws Exception {
+        // given
+        SmileMapper smile = new SmileMapper();
+        byte[] body = smile.writeValueAsBytes(Employee.builder()
+                .firstName("Tony").lastName("Stark").email("smile@gmail.com").build());
+
+        // when
+        HttpResponse<byte[]> response = client.send(request("/api/employees")
+                        .header("Content-Type", "application/x-jackson-smile")
+                        .header("Accept", "application/x-jackson-smile")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(201);
+        assertThat(response.headers().firstValue("Content-Type")).contains("application/x-jackson-smile");
+        JsonNode created = smile.readTree(response.body());
+        assertThat(created.get("email").asText()).isEqualTo("smile@gmail.com");
+        assertThat(employeeService.getEmployeeById(created.get("id").asLong())).isPresent();
+    }
+
+    @DisplayName("HTTP/2 clients are upgraded to h2c on the plain-text port")
+    @Test
+    public void givenHttp2Client_whenGetEmployees_thenServedOverHttp2() throws Exception {
+        // given
+        HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        // when
+        List<HttpResponse<byte[]>> responses = List.of(
+                http2.send(request("/api/employees?limit=10").build(), HttpResponse.BodyHandlers.ofByteArray()),
+                http2.send(request("/api/employees?limit=10").build(), HttpResponse.BodyHandlers.ofByteArray()));
+
+        // then
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        });
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
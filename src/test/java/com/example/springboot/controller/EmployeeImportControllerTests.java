@@ -0,0 +1,82 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.model.ImportJob;
+import com.example.springboot.service.EmployeeImportService;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@WebMvcTest(EmployeeImportController.class)
+public class EmployeeImportControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    //JUnit test for CSV import REST API
+    @Test
+    public void givenCsvUpload_whenImportEmployees_thenReturnAcceptedJob() throws Exception {
+    	// given
+    	ImportJob job = job("job-1", ImportJob.Status.QUEUED);
+    	given(employeeImportService.startImport(any(InputStream.class), eq(ImportJob.Format.CSV))).willReturn(job);
+    	// when
+    	ResultActions response = mockMvc.perform(post("/api/employees/import")
+    			.contentType("text/csv")
+    			.content("firstName,lastName,email\nTony,Stark,tony@gmail.com\n"));
+    	// then
+    	response.andDo(print())
+    			.andExpect(status().isAccepted())
+    			.andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/import/job-1"))
+    			.andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+    
+    //JUnit test for NDJSON import REST API
+    @Test
+    public void givenNdjsonUpload_whenImportEmployees_thenNdjsonFormatIsUsed() throws Exception {
+    	// given
+    	given(employeeImportService.startImport(any(InputStream.class), eq(ImportJob.Format.NDJSON)))
+    			.willReturn(job("job-2", ImportJob.Status.QUEUED));
+    	// when
+    	ResultActions response = mockMvc.perform(post("/api/employees/import")
+    			.contentType(MediaType.APPLICATION_NDJSON)
+    			.content("{\"firstName\":\"Tony\",\"lastName\":\"Stark\",\"email\":\"tony@gmail.com\"}\n"));
+    	// then
+    	response.andExpect(status().isAccepted())
+    			.andExpect(jsonPath("$.format", is("NDJSON")));
+    }
+    
+    //JUnit test for import progress REST API (unknown job)
+    @Test
+    public void givenUnknownJobId_whenGetImportJob_thenReturnNotFound() throws Exception {
+    	// given
+    	given(employeeImportService.getImportJob("missing")).willReturn(Optional.empty());
+    	// when
+    	ResultActions response = mockMvc.perform(get("/api/employees/import/{jobId}", "missing"));
+    	// then
+    	response.andExpect(status().isNotFound());
+    }
+    
+    private static ImportJob job(String id, ImportJob.Status status){
+    	Instant now = Instant.now();
+    	ImportJob.Format format = id.equals("job-2") ? ImportJob.Format.NDJSON : ImportJob.Format.CSV;
+    	return ImportJob.builder().id(id).format(format).status(status).createdAt(now).updatedAt(now).build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.springboot.controller;
+
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.model.Employee;
+import com.example.springboot.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeRouterTests {
+
+    @Mock
+    private ReactiveEmployeeService employeeService;
+
+    private WebTestClient webTestClient;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup(){
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new EmployeeRouter().employeeRoutes(new EmployeeHandler(employeeService)))
+                .build();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Yerkebulan")
+                .lastName("Yessenali")
+                .email("yerkebulan@gmail.com")
+                .build();
+    }
+
+    // JUnit test for reactive create employee route
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee(){
+        // given
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer((invocation) -> Mono.just(invocation.getArgument(0)));
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        // then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    // JUnit test for reactive get all employees route streamed as NDJSON
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnNdjson(){
+        // given
+        Employee employee1 = Employee.builder().id(2L).firstName("Tony").lastName("Stark").email("tony@gmail.com").build();
+        given(employeeService.getAllEmployees()).willReturn(Flux.just(employee, employee1));
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+
+    // negative scenario - invalid employee id
+    // JUnit test for reactive get employee by id route
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturn404(){
+        // given
+        given(employeeService.getEmployeeById(1L)).willReturn(Mono.empty());
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L).exchange();
+        // then
+        response.expectStatus().isNotFound();
+    }
+
+    // JUnit test for reactive get employee by id route with its ETag
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeWithETag(){
+        // given
+        employee.setVersion(2L);
+        given(employeeService.getEmployeeById(1L)).willReturn(Mono.just(employee));
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L).exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    // JUnit test for reactive update employee route without If-Match
+    @Test
+    public void givenNoIfMatch_whenUpdateEmployee_thenReturn428(){
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        // then
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_REQUIRED);
+        verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test for reactive update employee route with a current If-Match
+    @Test
+    public void givenCurrentIfMatch_whenUpdateEmployee_thenReturnUpdatedEmployeeWithNewETag(){
+        // given
+        Employee updated = Employee.builder().id(1L).version(3L)
+                .firstName("Tony").lastName("Stark").email("tony@gmail.com").build();
+        given(employeeService.updateEmployee(eq(1L), eq(2L), any(Employee.class)))
+                .willReturn(Mono.just(EmployeeUpdateResult.updated(updated)));
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updated)
+                .exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("tony@gmail.com");
+    }
+
+    // JUnit test for reactive update employee route with a stale If-Match
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412WithCurrentETag(){
+        // given
+        employee.setVersion(5L);
+        given(employeeService.updateEmployee(eq(1L), eq(2L), any(Employee.class)))
+                .willReturn(Mono.just(EmployeeUpdateResult.preconditionFailed(employee)));
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        // then
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5\"");
+    }
+
+    // negative scenario - invalid employee id
+    // JUnit test for reactive delete employee route
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404(){
+        // given
+        given(employeeService.deleteEmployee(1L)).willReturn(Mono.just(false));
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", 1L).exchange();
+        // then
+        response.expectStatus().isNotFound();
+    }
+}
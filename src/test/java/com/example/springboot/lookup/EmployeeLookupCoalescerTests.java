@@ -0,0 +1,164 @@
+package com.example.springboot.lookup;
+
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class EmployeeLookupCoalescerTests {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(32);
+    private EmployeeLookupCoalescer coalescer;
+
+    @AfterEach
+    public void cleanup(){
+        callers.shutdownNow();
+        coalescer.destroy();
+    }
+
+    @DisplayName("JUnit test for coalescing concurrent lookups into one batched query")
+    @Test
+    public void givenConcurrentLookups_whenWithinBatchWindow_thenOneQuery() throws Exception {
+        //given
+        coalescer = coalescer(Duration.ofMillis(300));
+        given(employeeRepository.findViewsByIdIn(anyCollection())).willAnswer(invocation -> views(invocation.getArgument(0)));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<EmployeeView>>> results = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            long id = i % 3 + 1;
+            results.add(callers.submit(() -> {
+                start.await();
+                return coalescer.findById(id);
+            }));
+        }
+
+        //when
+        start.countDown();
+
+        //then
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).map(EmployeeView::id).contains(i % 3 + 1L);
+        }
+        verify(employeeRepository, times(1)).findViewsByIdIn(anyCollection());
+        assertThat(registry.get("employees.lookup.requests").counter().count()).isEqualTo(30);
+        assertThat(registry.get("employees.lookup.coalesced").counter().count()).isEqualTo(27);
+        assertThat(registry.get("employees.lookup.queries.saved").functionCounter().count()).isEqualTo(29);
+    }
+
+    @DisplayName("JUnit test for a lookup arriving while the query for its id runs")
+    @Test
+    public void givenRunningQuery_whenSameIdIsLookedUp_thenNewQuery() throws Exception {
+        //given
+        coalescer = coalescer(Duration.ZERO);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findViewsByIdIn(anyCollection())).willAnswer(invocation -> {
+            if (queryStarted.getCount() > 0) {
+                queryStarted.countDown();
+                releaseQuery.await();
+            }
+            return views(invocation.getArgument(0));
+        });
+        Future<Optional<EmployeeView>> first = callers.submit(() -> coalescer.findById(1L));
+        queryStarted.await(5, TimeUnit.SECONDS);
+
+        //when
+        Future<Optional<EmployeeView>> second = callers.submit(() -> coalescer.findById(1L));
+        Thread.sleep(50);
+        releaseQuery.countDown();
+
+        //then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+        verify(employeeRepository, times(2)).findViewsByIdIn(anyCollection());
+    }
+
+    @DisplayName("JUnit test for a lookup whose batched query does not return in time")
+    @Test
+    public void givenHangingQuery_whenFindById_thenTimesOut() throws Exception {
+        //given
+        coalescer = coalescer(Duration.ZERO, Duration.ofMillis(200));
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findViewsByIdIn(anyCollection())).willAnswer(invocation -> {
+            releaseQuery.await();
+            return views(invocation.getArgument(0));
+        });
+
+        //when
+        Future<Optional<EmployeeView>> result = callers.submit(() -> coalescer.findById(1L));
+
+        //then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+        releaseQuery.countDown();
+    }
+
+    @DisplayName("JUnit test for lookups pending and arriving when the coalescer stops")
+    @Test
+    public void givenPendingLookup_whenStop_thenPendingAndNewLookupsFail() throws Exception {
+        //given
+        coalescer = coalescer(Duration.ZERO);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findViewsByIdIn(anyCollection())).willAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return views(invocation.getArgument(0));
+        });
+        Future<Optional<EmployeeView>> pending = callers.submit(() -> coalescer.findById(1L));
+        queryStarted.await(5, TimeUnit.SECONDS);
+
+        //when
+        coalescer.stop();
+
+        //then
+        assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> coalescer.findById(2L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(coalescer.isRunning()).isFalse();
+        releaseQuery.countDown();
+    }
+
+    private EmployeeLookupCoalescer coalescer(Duration batchWindow) {
+        return coalescer(batchWindow, Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private EmployeeLookupCoalescer coalescer(Duration batchWindow, Duration timeout) {
+        EmployeeLookupCoalescer coalescer = new EmployeeLookupCoalescer(employeeRepository,
+                mock(PlatformTransactionManager.class), mock(ObjectProvider.class), registry, batchWindow, 100, 1, timeout);
+        coalescer.start();
+        return coalescer;
+    }
+
+    private static List<EmployeeView> views(Collection<Long> ids) {
+        return ids.stream().map(id -> new EmployeeView(id, "First" + id, "Last" + id, id + "@gmail.com", 0L)).toList();
+    }
+}
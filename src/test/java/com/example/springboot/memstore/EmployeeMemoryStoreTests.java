@@ -0,0 +1,189 @@
+package com.example.springboot.memstore;
+
+import com.example.springboot.dto.EmployeeView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeMemoryStoreTests {
+
+    @TempDir
+    private Path directory;
+
+    private final List<EmployeeMemoryStore> opened = new ArrayList<>();
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        for (EmployeeMemoryStore store : opened) {
+            store.destroy();
+        }
+    }
+
+    @DisplayName("JUnit test for recovering employees from the write-ahead log")
+    @Test
+    public void givenWrittenEmployees_whenReopenWithoutSnapshot_thenLogIsReplayed() throws IOException {
+        //given
+        EmployeeMemoryStore store = open();
+        EmployeeView tony = store.write(writer -> writer.insert("Tony", "Stark", "tony@gmail.com"));
+        EmployeeView bruce = store.write(writer -> writer.insert("Bruce", "Banner", "bruce@gmail.com"));
+        store.write(writer -> {
+            writer.update(writer.get(tony.id()).orElseThrow(), "Tony", "Stark", "stark@gmail.com");
+            writer.delete(writer.get(bruce.id()).orElseThrow());
+            return null;
+        });
+
+        //when
+        EmployeeMemoryStore recovered = reopenAfterCrash(store);
+
+        //then
+        assertThat(recovered.size()).isEqualTo(1);
+        assertThat(recovered.get(tony.id())).contains(new EmployeeView(tony.id(), "Tony", "Stark", "stark@gmail.com", 1));
+        assertThat(recovered.get(bruce.id())).isEmpty();
+        Long owner = recovered.write(writer -> writer.ownerOf("stark@gmail.com"));
+        assertThat(owner).isEqualTo(tony.id());
+        assertThat(recovered.write(writer -> writer.insert("Peter", "Parker", "peter@gmail.com")).id())
+                .isGreaterThan(bruce.id());
+    }
+
+    @DisplayName("JUnit test for recovering from a snapshot and the log written after it")
+    @Test
+    public void givenSnapshotAndLaterWrites_whenReopen_thenBothAreRecovered() throws IOException {
+        //given
+        EmployeeMemoryStore store = open();
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            store.write(writer -> writer.insert("First" + n, "Last" + n, "employee" + n + "@gmail.com"));
+        }
+        store.snapshot();
+        store.write(writer -> writer.insert("Tony", "Stark", "tony@gmail.com"));
+
+        //when
+        EmployeeMemoryStore recovered = reopenAfterCrash(store);
+
+        //then
+        assertThat(recovered.size()).isEqualTo(101);
+        assertThat(recovered.after(0, 1000)).extracting(EmployeeView::email).endsWith("tony@gmail.com");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder("employees.snapshot", "employees-1.wal");
+        }
+    }
+
+    @DisplayName("JUnit test for a write torn by a crash")
+    @Test
+    public void givenTornRecordAtEndOfLog_whenReopen_thenItIsDiscarded() throws IOException {
+        //given
+        EmployeeMemoryStore store = open();
+        EmployeeView tony = store.write(writer -> writer.insert("Tony", "Stark", "tony@gmail.com"));
+        Files.write(directory.resolve("employees-0.wal"), new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        //when
+        EmployeeMemoryStore recovered = reopenAfterCrash(store);
+        EmployeeView bruce = recovered.write(writer -> writer.insert("Bruce", "Banner", "bruce@gmail.com"));
+        EmployeeMemoryStore again = reopenAfterCrash(recovered);
+
+        //then
+        assertThat(again.get(tony.id())).isPresent();
+        assertThat(again.get(bruce.id())).isPresent();
+    }
+
+    @DisplayName("JUnit test for two employees swapping emails in one write")
+    @Test
+    public void givenEmailSwapInOneWrite_whenWriteAndReopen_thenBothEmailsAreIndexed() throws IOException {
+        //given
+        EmployeeMemoryStore store = open();
+        EmployeeView tony = store.write(writer -> writer.insert("Tony", "Stark", "tony@gmail.com"));
+        EmployeeView bruce = store.write(writer -> writer.insert("Bruce", "Banner", "bruce@gmail.com"));
+
+        //when
+        store.write(writer -> {
+            writer.update(writer.get(tony.id()).orElseThrow(), "Tony", "Stark", "bruce@gmail.com");
+            assertThat(writer.ownerOf("bruce@gmail.com")).isEqualTo(tony.id());
+            writer.update(writer.get(bruce.id()).orElseThrow(), "Bruce", "Banner", "tony@gmail.com");
+            assertThat(writer.ownerOf("bruce@gmail.com")).isEqualTo(tony.id());
+            return null;
+        });
+
+        //then
+        for (EmployeeMemoryStore current : List.of(store, reopenAfterCrash(store))) {
+            Long bruceEmailOwner = current.write(writer -> writer.ownerOf("bruce@gmail.com"));
+            Long tonyEmailOwner = current.write(writer -> writer.ownerOf("tony@gmail.com"));
+            assertThat(bruceEmailOwner).isEqualTo(tony.id());
+            assertThat(tonyEmailOwner).isEqualTo(bruce.id());
+        }
+    }
+
+    @DisplayName("JUnit test for a failed write")
+    @Test
+    public void givenWriteThatThrows_whenWrite_thenNothingIsApplied(){
+        //given
+        EmployeeMemoryStore store = open();
+
+        //when
+        assertThatThrownBy(() -> store.write(writer -> {
+            writer.insert("Tony", "Stark", "tony@gmail.com");
+            throw new IllegalStateException("rejected");
+        })).isInstanceOf(IllegalStateException.class);
+
+        //then
+        assertThat(store.size()).isZero();
+        Long owner = store.write(writer -> writer.ownerOf("tony@gmail.com"));
+        assertThat(owner).isNull();
+    }
+
+    @DisplayName("JUnit test for paging past deleted employees")
+    @Test
+    public void givenDeletedEmployees_whenPageAfterId_thenOnlyLiveEmployeesInIdOrder(){
+        //given
+        EmployeeMemoryStore store = open();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            ids.add(store.write(writer -> writer.insert("First" + n, "Last" + n, "employee" + n + "@gmail.com")).id());
+        }
+        for (int i = 0; i < 10; i += 2) {
+            long id = ids.get(i);
+            store.write(writer -> {
+                writer.delete(writer.get(id).orElseThrow());
+                return null;
+            });
+        }
+
+        //when
+        List<EmployeeView> page = store.after(ids.get(2), 3);
+
+        //then
+        assertThat(page).extracting(EmployeeView::id).containsExactly(ids.get(3), ids.get(5), ids.get(7));
+    }
+
+    private EmployeeMemoryStore open() {
+        try {
+            EmployeeMemoryStore store = new EmployeeMemoryStore(directory, true, Duration.ofHours(1),
+                    (id, previous, current) -> {
+                    });
+            opened.add(store);
+            return store;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // leaves the store without its shutdown snapshot, as a crash would
+    private EmployeeMemoryStore reopenAfterCrash(EmployeeMemoryStore store) {
+        opened.remove(store);
+        return open();
+    }
+}
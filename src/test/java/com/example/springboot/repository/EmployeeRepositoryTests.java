@@ -1,5 +1,8 @@
 package com.example.springboot.repository;
 
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeView;
 import com.example.springboot.model.Employee;
 
 import static org.assertj.core.api.Assertions.as;
@@ -10,7 +13,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -249,4 +254,82 @@ public class EmployeeRepositoryTests {
         assertThat(savedEmployee).isNotNull();
     }
 
+    //JUnit test for keyset pagination query
+    @Test
+    @DisplayName("JUnit test for keyset pagination query")
+    public void givenEmployeesList_whenFindByIdGreaterThan_thenReturnNextPage(){
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        Employee employee3 = Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        employeeRepository.save(employee3);
+
+        //when - action or the behavior that we are going test
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(), PageRequest.of(0, 1));
+
+        //then - verify the output
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
+    //JUnit test for read model projection queries
+    @Test
+    @DisplayName("JUnit test for read model projection queries")
+    public void givenEmployeesList_whenFindViews_thenReturnProjections(){
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        //when - action or the behavior that we are going test
+        Optional<EmployeeView> view = employeeRepository.findViewById(employee.getId());
+        List<EmployeeView> page = employeeRepository.findViewsByIdGreaterThan(employee.getId(), PageRequest.of(0, 10));
+
+        //then - verify the output
+        assertThat(view).contains(EmployeeView.of(employee));
+        assertThat(page).containsExactly(EmployeeView.of(employee2));
+    }
+
+    //JUnit test for dynamic field projection queries
+    @Test
+    @DisplayName("JUnit test for dynamic field projection queries")
+    public void givenEmployeesList_whenFindProjections_thenOnlyRequestedColumnsAreRead(){
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        EnumSet<EmployeeField> fields = EnumSet.of(EmployeeField.EMAIL);
+
+        //when - action or the behavior that we are going test
+        List<EmployeeProjection> all = employeeRepository.findAllProjections(fields);
+        List<EmployeeProjection> page = employeeRepository.findProjectionsByIdGreaterThan(employee.getId(), fields, 10);
+        Optional<EmployeeProjection> byId = employeeRepository.findProjectionById(employee.getId(), fields);
+
+        //then - verify the output
+        assertThat(all).extracting(projection -> projection.get(EmployeeField.EMAIL))
+                .containsExactlyInAnyOrder("yerkebulan@gmail.com", "john@gmail.com");
+        assertThat(all).allSatisfy(projection -> assertThat(projection.values()).containsOnlyKeys(EmployeeField.EMAIL));
+        assertThat(page).extracting(EmployeeProjection::id).containsExactly(employee2.getId());
+        assertThat(byId).hasValueSatisfying(projection -> {
+            assertThat(projection.get(EmployeeField.EMAIL)).isEqualTo("yerkebulan@gmail.com");
+            assertThat(projection.version()).isEqualTo(employee.getVersion());
+        });
+    }
 }
@@ -0,0 +1,106 @@
+package com.example.springboot.search;
+
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setup(){
+        searchIndex = new EmployeeSearchIndex();
+        searchIndex.index(Employee.builder().id(1L).firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
+        searchIndex.index(Employee.builder().id(2L).firstName("Antony").lastName("Tonkin").email("antony@yahoo.com").build());
+        searchIndex.index(Employee.builder().id(3L).firstName("John").lastName("Doe").email("jdoe@gmail.com").build());
+    }
+
+    @DisplayName("JUnit test for prefix search ranking")
+    @Test
+    public void givenIndexedEmployees_whenSearchPrefix_thenNameMatchesRankFirst(){
+        //when
+        List<EmployeeView> employees = searchIndex.search("Ton", 10);
+
+        //then
+        Assertions.assertThat(employees).extracting(EmployeeView::id).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("JUnit test for multi word search")
+    @Test
+    public void givenIndexedEmployees_whenSearchSeveralWords_thenEveryWordMustMatch(){
+        //when
+        List<EmployeeView> employees = searchIndex.search("john gm", 10);
+
+        //then
+        Assertions.assertThat(employees).extracting(EmployeeView::id).containsExactly(3L);
+    }
+
+    @DisplayName("JUnit test for email part search")
+    @Test
+    public void givenIndexedEmployees_whenSearchEmailDomain_thenReturnMatches(){
+        //when
+        List<EmployeeView> employees = searchIndex.search("yahoo", 10);
+
+        //then
+        Assertions.assertThat(employees).extracting(EmployeeView::id).containsExactly(2L);
+    }
+
+    @DisplayName("JUnit test for incremental update and remove")
+    @Test
+    public void givenIndexedEmployee_whenUpdatedAndRemoved_thenIndexFollows(){
+        //given
+        long memoryBefore = searchIndex.estimatedMemoryBytes();
+
+        //when
+        searchIndex.index(Employee.builder().id(3L).version(1L).firstName("Johnny").lastName("Walker").email("jwalker@gmail.com").build());
+
+        //then
+        Assertions.assertThat(searchIndex.search("doe", 10)).isEmpty();
+        Assertions.assertThat(searchIndex.search("walk", 10)).extracting(EmployeeView::version).containsExactly(1L);
+
+        //when
+        searchIndex.remove(3L);
+
+        //then
+        Assertions.assertThat(searchIndex.search("walk", 10)).isEmpty();
+        Assertions.assertThat(searchIndex.size()).isEqualTo(2);
+        Assertions.assertThat(searchIndex.estimatedMemoryBytes()).isLessThan(memoryBefore);
+    }
+
+    @DisplayName("JUnit test for stale index writes")
+    @Test
+    public void givenNewerVersionIndexed_whenOlderVersionIndexed_thenIgnored(){
+        //given
+        searchIndex.index(Employee.builder().id(1L).version(2L).firstName("Tony").lastName("Stark").email("ironman@gmail.com").build());
+
+        //when
+        searchIndex.index(Employee.builder().id(1L).version(1L).firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
+
+        //then
+        Assertions.assertThat(searchIndex.search("ironman", 10)).extracting(EmployeeView::id).containsExactly(1L);
+    }
+
+    @DisplayName("JUnit test for a removal racing with the initial load")
+    @Test
+    public void givenRemovalDuringInitialLoad_whenLoadIndexesStaleRow_thenEmployeeStaysRemoved(){
+        //given
+        searchIndex = new EmployeeSearchIndex();
+        Employee employee = Employee.builder().id(4L).firstName("Bruce").lastName("Banner").email("bruce@gmail.com").build();
+        searchIndex.beginInitialLoad();
+
+        //when
+        searchIndex.remove(employee.getId());
+        searchIndex.index(employee);
+        searchIndex.endInitialLoad();
+
+        //then
+        Assertions.assertThat(searchIndex.search("bruce", 10)).isEmpty();
+        Assertions.assertThat(searchIndex.size()).isZero();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.springboot.service;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.model.ImportJob;
+import com.example.springboot.model.ImportJobError;
+import com.example.springboot.repository.EmployeeRepository;
+import com.example.springboot.repository.ImportJobErrorRepository;
+import com.example.springboot.repository.ImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.import.batch-size=2",
+        "app.import.spool-dir=target/test-imports"})
+public class EmployeeImportServiceTests {
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Value("${app.import.spool-dir}")
+    private String spoolDirectory;
+
+    @AfterEach
+    public void cleanup(){
+        importJobErrorRepository.deleteAll();
+        importJobRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for CSV import with invalid and duplicate rows")
+    @Test
+    public void givenCsvWithBadRows_whenImport_thenValidRowsSavedAndBadRowsReported() throws Exception {
+        //given
+        employeeRepository.save(Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
+        String csv = """
+                email,firstName,lastName
+                john@gmail.com,John,Doe
+                ,Missing,Email
+                tony@gmail.com,Another,Tony
+                "jane.doe@gmail.com","Jane","Doe, Jr."
+                john@gmail.com,John,Again
+                """;
+
+        //when
+        ImportJob job = employeeImportService.startImport(stream(csv), ImportJob.Format.CSV);
+        ImportJob finished = awaitFinished(job.getId());
+
+        //then
+        assertThat(finished.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(finished.getTotalRows()).isEqualTo(5);
+        assertThat(finished.getCommittedRows()).isEqualTo(5);
+        assertThat(finished.getImportedRows()).isEqualTo(2);
+        assertThat(finished.getRejectedRows()).isEqualTo(3);
+        assertThat(employeeRepository.findByEmail("jane.doe@gmail.com")).get()
+                .extracting(Employee::getLastName).isEqualTo("Doe, Jr.");
+        List<ImportJobError> errors = employeeImportService.getImportErrors(job.getId(), 0, 10);
+        assertThat(errors).extracting(ImportJobError::getRowNumber).containsExactly(2L, 3L, 5L);
+        assertThat(Files.exists(Path.of(spoolDirectory, job.getId() + ".import"))).isFalse();
+    }
+
+    @DisplayName("JUnit test for resuming a failed import from its checkpoint")
+    @Test
+    public void givenFailedJobWithCheckpoint_whenResumeImport_thenOnlyRemainingRowsImported() throws Exception {
+        //given - a job that committed its first two rows before failing
+        String jobId = "resume-test";
+        Files.createDirectories(Path.of(spoolDirectory));
+        Files.writeString(Path.of(spoolDirectory, jobId + ".import"), """
+                {"firstName":"Already","lastName":"Imported","email":"first@gmail.com"}
+                {"firstName":"Already","lastName":"Imported","email":"second@gmail.com"}
+                {"firstName":"Still","lastName":"Pending","email":"third@gmail.com"}
+                """);
+        Instant now = Instant.now();
+        importJobRepository.save(ImportJob.builder()
+                .id(jobId)
+                .format(ImportJob.Format.NDJSON)
+                .status(ImportJob.Status.FAILED)
+                .totalRows(3)
+                .committedRows(2)
+                .importedRows(2)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        //when
+        employeeImportService.resumeImport(jobId);
+        ImportJob finished = awaitFinished(jobId);
+
+        //then
+        assertThat(finished.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(finished.getImportedRows()).isEqualTo(3);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail).containsExactly("third@gmail.com");
+    }
+
+    private ImportJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJob job = employeeImportService.getImportJob(jobId).orElseThrow();
+            if (job.getStatus() == ImportJob.Status.COMPLETED || job.getStatus() == ImportJob.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+
+    private static ByteArrayInputStream stream(String content){
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
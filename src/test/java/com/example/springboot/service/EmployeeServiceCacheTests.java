@@ -0,0 +1,185 @@
+package com.example.springboot.service;
+
+import com.example.springboot.config.CacheConfig;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The {@code employees} cache against the real caching and transaction advice: every write path evicts what it
+ * changed, and a write that fails or is rolled back leaves the cache agreeing with the database.
+ */
+@SpringBootTest
+public class EmployeeServiceCacheTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache cache;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        cache.clear();
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+        cache.clear();
+    }
+
+    @DisplayName("JUnit test for getEmployeeById method filling the cache after saveEmployee")
+    @Test
+    public void givenSavedEmployee_whenGetEmployeeById_thenCachedAsSaved() {
+        //when
+        EmployeeView loaded = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+
+        //then
+        assertThat(loaded).isEqualTo(EmployeeView.of(employee));
+        assertThat(cached(employee.getId())).isEqualTo(loaded);
+    }
+
+    @DisplayName("JUnit test for updateEmployee method evicting the cached employee")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenEntryIsEvicted() {
+        //given
+        employeeService.getEmployeeById(employee.getId());
+
+        //when
+        employeeService.updateEmployee(employee.getId(), null, Employee.builder()
+                .firstName("Tony").lastName("Stark").email("stark@gmail.com").build());
+
+        //then
+        assertThat(cached(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).get()
+                .extracting(EmployeeView::email).isEqualTo("stark@gmail.com");
+    }
+
+    @DisplayName("JUnit test for updateEmployee method with an entity evicting the cached employee")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployeeEntity_thenEntryIsEvicted() {
+        //given
+        employeeService.getEmployeeById(employee.getId());
+        Employee updated = employeeRepository.findById(employee.getId()).orElseThrow();
+        updated.setEmail("stark@gmail.com");
+
+        //when
+        employeeService.updateEmployee(updated);
+
+        //then
+        assertThat(cached(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).get()
+                .extracting(EmployeeView::email).isEqualTo("stark@gmail.com");
+    }
+
+    @DisplayName("JUnit test for deleteEmployee method evicting the cached employee")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenEntryIsEvicted() {
+        //given
+        employeeService.getEmployeeById(employee.getId());
+
+        //when
+        employeeService.deleteEmployee(employee.getId());
+
+        //then
+        assertThat(cached(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+    }
+
+    @DisplayName("JUnit test for updateEmployees and deleteEmployees methods evicting the cached employees")
+    @Test
+    public void givenCachedEmployee_whenBatchUpdateAndDelete_thenEntryIsEvicted() {
+        //given
+        employeeService.getEmployeeById(employee.getId());
+        Employee updated = Employee.builder().id(employee.getId())
+                .firstName("Tony").lastName("Stark").email("stark@gmail.com").build();
+
+        //when
+        employeeService.updateEmployees(List.of(updated));
+
+        //then
+        assertThat(cached(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).get()
+                .extracting(EmployeeView::email).isEqualTo("stark@gmail.com");
+
+        //when
+        employeeService.deleteEmployees(List.of(employee.getId()));
+
+        //then
+        assertThat(cached(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+    }
+
+    @DisplayName("JUnit test for a failed updateEmployee leaving the cached employee unchanged")
+    @Test
+    public void givenEmailConflict_whenUpdateEmployee_thenCachedEmployeeMatchesDatabase() {
+        //given
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Bruce").lastName("Banner").email("bruce@gmail.com").build());
+        EmployeeView before = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+
+        //when
+        assertThatThrownBy(() -> employeeService.updateEmployee(employee.getId(), null, Employee.builder()
+                .firstName("Tony").lastName("Stark").email("bruce@gmail.com").build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        //then
+        assertThat(cached(employee.getId())).isEqualTo(before);
+        assertThat(EmployeeView.of(employeeRepository.findById(employee.getId()).orElseThrow())).isEqualTo(before);
+    }
+
+    @DisplayName("JUnit test for an updateEmployee rolled back by the surrounding transaction")
+    @Test
+    public void givenRolledBackTransaction_whenUpdateEmployee_thenDatabaseStateIsServed() {
+        //given
+        EmployeeView before = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeService.updateEmployee(employee.getId(), null, Employee.builder()
+                    .firstName("Tony").lastName("Stark").email("stark@gmail.com").build());
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(cached(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).contains(before);
+    }
+
+    private EmployeeView cached(long id) {
+        Cache.ValueWrapper value = cache.get(id);
+        return value == null ? null : (EmployeeView) value.get();
+    }
+}
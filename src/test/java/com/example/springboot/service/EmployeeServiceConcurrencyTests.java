@@ -0,0 +1,76 @@
+package com.example.springboot.service;
+
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class EmployeeServiceConcurrencyTests {
+    private static final int WRITERS = 64;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    public void cleanup(){
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for saveEmployee method under concurrent writers with the same email
+    @DisplayName("JUnit test for saveEmployee method with 64 parallel writers")
+    @Test
+    public void givenParallelWritersWithSameEmail_whenSaveEmployee_thenOnlyOneIsSaved() throws Exception {
+        //given - precondition or setup
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Employee employee = Employee.builder()
+                    .firstName("Writer" + i)
+                    .lastName("Parallel")
+                    .email("parallel@gmail.com")
+                    .build();
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    employeeService.saveEmployee(employee);
+                    return true;
+                } catch (ResourceNotFoundException e) {
+                    return false;
+                }
+            }));
+        }
+
+        //when - action or the behavior that we are going test
+        start.countDown();
+        int saved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                saved++;
+            }
+        }
+        executor.shutdown();
+
+        //then - verify the output
+        assertThat(saved).isEqualTo(1);
+        assertThat(employeeRepository.findAll()).hasSize(1);
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.springboot.service;
 
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.config.CacheConfig;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
 import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.lookup.EmployeeLookupCoalescer;
 import com.example.springboot.model.Employee;
 import com.example.springboot.repository.EmployeeRepository;
+import com.example.springboot.search.EmployeeSearchIndex;
 import com.example.springboot.service.impl.EmployeeServiceImpl;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +31,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +46,16 @@ public class EmployeeServiceTests {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EmployeeSearchIndex searchIndex;
+    @Mock
+    private EmployeeChangeFeed changeFeed;
+    @Mock
+    private EmployeeLookupCoalescer lookupCoalescer;
+    @Mock
+    private CacheManager cacheManager;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -52,14 +78,13 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject(){
         //given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
         //when - action or the behavior that we are going test
         Employee savedEmployee = employeeService.saveEmployee(employee);
 
         //then - verify the output
         Assertions.assertThat(savedEmployee).isNotNull();
+        verify(changeFeed, times(1)).publish(EmployeeChange.Type.CREATED, 1L, EmployeeView.of(employee));
     }
 
     // JUnit test for saveEmployee method
@@ -67,16 +92,62 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException(){
         //given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
-        //given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_4 ON PUBLIC.EMPLOYEES(EMAIL)\"")));
         //when - action or the behavior that we are going test
         org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
             employeeService.saveEmployee(employee);
         });
 
         //then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(any(String.class));
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method with duplicate emails")
+    @Test
+    public void givenEmployeesWithDuplicateEmail_whenSaveEmployees_thenReportConflicts(){
+        //given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("stark@gmail.com")
+                .build();
+        Employee existingEmailEmployee = Employee.builder()
+                .firstName("Yerkebulan")
+                .lastName("Yessenali")
+                .email(employee.getEmail())
+                .build();
+        Employee sameEmailInBatch = Employee.builder()
+                .firstName("Anthony")
+                .lastName("Stark")
+                .email("stark@gmail.com")
+                .build();
+        given(employeeRepository.findByEmailIn(List.of("stark@gmail.com", employee.getEmail())))
+                .willReturn(List.of(employee));
+        //when - action or the behavior that we are going test
+        List<BatchItemResult> results = employeeService.saveEmployees(
+                List.of(newEmployee, existingEmailEmployee, sameEmailInBatch));
+
+        //then - verify the output
+        Assertions.assertThat(results).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.CONFLICT, BatchItemStatus.CONFLICT);
+        verify(employeeRepository, times(1)).saveAll(List.of(newEmployee));
+    }
+
+    //Junit test for deleteEmployees method
+    @DisplayName("Junit test for deleteEmployees method")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReportMissingIds(){
+        //given - precondition or setup
+        given(employeeRepository.findExistingIds(List.of(1L, 2L))).willReturn(List.of(1L));
+        //when - action or the behavior that we are going test
+        List<BatchItemResult> results = employeeService.deleteEmployees(List.of(1L, 2L));
+        //then - verify the output
+        Assertions.assertThat(results).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND);
+        verify(employeeRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
     }
 
     //Junit test for getAllEmployees method
@@ -92,9 +163,9 @@ public class EmployeeServiceTests {
                 .email("stark@gmail.com")
                 .build();
 
-        given(employeeRepository.findAll()).willReturn(List.of(employee, employee1));
+        given(employeeRepository.findAllViews()).willReturn(List.of(EmployeeView.of(employee), EmployeeView.of(employee1)));
         //when - action or the behavior that we are going test
-        List<Employee> employeeList = employeeService.getAllEmployees();
+        List<EmployeeView> employeeList = employeeService.getAllEmployees();
         //then - verify the output
         Assertions.assertThat(employeeList).isNotNull();
         Assertions.assertThat(employeeList.size()).isEqualTo(2);
@@ -113,22 +184,42 @@ public class EmployeeServiceTests {
                 .email("stark@gmail.com")
                 .build();
 
-        given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        given(employeeRepository.findAllViews()).willReturn(Collections.emptyList());
         //when - action or the behavior that we are going test
-        List<Employee> employeeList = employeeService.getAllEmployees();
+        List<EmployeeView> employeeList = employeeService.getAllEmployees();
         //then - verify the output
         Assertions.assertThat(employeeList).isEmpty();
         Assertions.assertThat(employeeList.size()).isEqualTo(0);
     }
 
+    //Junit test for getEmployeesAfter method
+    @DisplayName("Junit test for getEmployeesAfter method")
+    @Test
+    public void givenCursor_whenGetEmployeesAfter_thenReturnNextPage(){
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("stark@gmail.com")
+                .build();
+
+        given(employeeRepository.findViewsByIdGreaterThan(1L, PageRequest.of(0, 10)))
+                .willReturn(List.of(EmployeeView.of(employee1)));
+        //when - action or the behavior that we are going test
+        List<EmployeeView> employeeList = employeeService.getEmployeesAfter(1L, 10);
+        //then - verify the output
+        Assertions.assertThat(employeeList).containsExactly(EmployeeView.of(employee1));
+    }
+
     //JUnit test for getEmployeeById method
     @DisplayName("JUnit test for getEmployeeById method")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject(){
         // given
-        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(lookupCoalescer.findById(1L)).willReturn(Optional.of(EmployeeView.of(employee)));
         //when
-        Employee savedEmployee = employeeService.getEmployeeById(employee.getId()).get();
+        EmployeeView savedEmployee = employeeService.getEmployeeById(employee.getId()).get();
         //then
         Assertions.assertThat(savedEmployee).isNotNull();
     }
@@ -151,6 +242,86 @@ public class EmployeeServiceTests {
     }
 
 
+    //JUnit test for conditional updateEmployee method
+    @DisplayName("JUnit test for conditional updateEmployee method")
+    @Test
+    public void givenCurrentVersion_whenUpdateEmployee_thenSingleStatementUpdate(){
+        // given
+        given(employeeRepository.updateByIdAndVersion(1L, 0L, "Tony", "Stark", "tony@gmail.com")).willReturn(1);
+        Employee changes = Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(1L, 0L, changes);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.UPDATED);
+        Assertions.assertThat(result.employee().getVersion()).isEqualTo(1L);
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    //JUnit test for conditional updateEmployee method with a stale version
+    @DisplayName("JUnit test for conditional updateEmployee method (stale version)")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenPreconditionFailed(){
+        // given
+        employee.setVersion(2L);
+        given(employeeRepository.updateByIdAndVersion(1L, 1L, "Tony", "Stark", "tony@gmail.com")).willReturn(0);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        Employee changes = Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(1L, 1L, changes);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.PRECONDITION_FAILED);
+    }
+
+    //JUnit test for conditional updateEmployee method with an unchanged payload
+    @DisplayName("JUnit test for conditional updateEmployee method (unchanged payload)")
+    @Test
+    public void givenUnchangedEmployee_whenUpdateEmployee_thenUnchanged(){
+        // given
+        given(employeeRepository.updateByIdAndVersion(1L, 0L, employee.getFirstName(), employee.getLastName(), employee.getEmail()))
+                .willReturn(0);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(1L, 0L, employee);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.UNCHANGED);
+    }
+
+    //JUnit test for getEmployeesByIds method
+    @DisplayName("JUnit test for getEmployeesByIds method")
+    @Test
+    public void givenCachedAndUncachedIds_whenGetEmployeesByIds_thenOnlyMissesAreQueried(){
+        //given
+        Cache cache = new ConcurrentMapCache(CacheConfig.EMPLOYEES_CACHE);
+        EmployeeView cached = new EmployeeView(1L, "Yerkebulan", "Yessenali", "yerkebulan@gmail.com", 0L);
+        EmployeeView stored = new EmployeeView(2L, "Tony", "Stark", "tony@gmail.com", 0L);
+        cache.put(1L, cached);
+        given(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE)).willReturn(cache);
+        given(employeeRepository.findViewsByIdIn(List.of(3L, 2L))).willReturn(List.of(stored));
+
+        //when
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(List.of(3L, 1L, 2L, 1L));
+
+        //then
+        Assertions.assertThat(result.employees()).containsExactly(cached, stored);
+        Assertions.assertThat(result.missing()).containsExactly(3L);
+        Assertions.assertThat(cache.get(2L, EmployeeView.class)).isEqualTo(stored);
+        verify(employeeRepository, times(1)).findViewsByIdIn(any());
+    }
+
     //JUnit test for deleteEmployee method
     @DisplayName("JUnit test for deleteEmployee method")
     @Test
@@ -158,12 +329,30 @@ public class EmployeeServiceTests {
         //given
         long employeeId = 1L;
 
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.removeById(employeeId)).willReturn(1);
+
+        //when
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+
+        //then
+        Assertions.assertThat(deleted).isTrue();
+        verify(employeeRepository, times(1)).removeById(employeeId);
+        verify(searchIndex, times(1)).remove(employeeId);
+        verify(changeFeed, times(1)).publish(EmployeeChange.Type.DELETED, employeeId, null);
+    }
+
+    //JUnit test for searchEmployees method
+    @DisplayName("JUnit test for searchEmployees method")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenAnsweredFromIndex(){
+        //given
+        given(searchIndex.search("yer", 10)).willReturn(List.of(EmployeeView.of(employee)));
 
         //when
-        employeeService.deleteEmployee(employeeId);
+        List<EmployeeView> employees = employeeService.searchEmployees("yer", 10);
 
         //then
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        Assertions.assertThat(employees).containsExactly(EmployeeView.of(employee));
+        verifyNoInteractions(employeeRepository);
     }
 }
@@ -0,0 +1,77 @@
+package com.example.springboot.service;
+
+import com.example.springboot.dto.WriteBehindStatus;
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import com.example.springboot.repository.WriteBehindSubmissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.write-behind.enabled=true",
+        "app.write-behind.log-file=target/test-write-behind/employees.log"})
+public class EmployeeWriteBehindTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private WriteBehindSubmissionRepository submissionRepository;
+
+    @AfterEach
+    public void cleanup(){
+        submissionRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for write-behind employee creation")
+    @Test
+    public void givenSubmittedEmployees_whenDrained_thenCreatedOrConflict() throws Exception {
+        //given
+        employeeRepository.save(Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build());
+
+        //when
+        WriteBehindStatus created = employeeService.submitEmployee(
+                Employee.builder().firstName("John").lastName("Doe").email("john@gmail.com").build());
+        WriteBehindStatus conflict = employeeService.submitEmployee(
+                Employee.builder().firstName("Antony").lastName("Stark").email("tony@gmail.com").build());
+
+        //then
+        assertThat(created.status()).isEqualTo(WriteBehindStatus.Status.PENDING);
+        WriteBehindStatus createdOutcome = awaitDrained(created.trackingId());
+        assertThat(createdOutcome.status()).isEqualTo(WriteBehindStatus.Status.CREATED);
+        assertThat(employeeRepository.findById(createdOutcome.employeeId()))
+                .hasValueSatisfying(employee -> assertThat(employee.getEmail()).isEqualTo("john@gmail.com"));
+        WriteBehindStatus conflictOutcome = awaitDrained(conflict.trackingId());
+        assertThat(conflictOutcome.status()).isEqualTo(WriteBehindStatus.Status.CONFLICT);
+        assertThat(conflictOutcome.message()).contains("tony@gmail.com");
+    }
+
+    @DisplayName("JUnit test for unknown write-behind tracking id")
+    @Test
+    public void givenUnknownTrackingId_whenGetSubmissionStatus_thenEmpty(){
+        //when
+        //then
+        assertThat(employeeService.getSubmissionStatus("missing")).isEmpty();
+    }
+
+    private WriteBehindStatus awaitDrained(String trackingId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            WriteBehindStatus status = employeeService.getSubmissionStatus(trackingId).orElseThrow();
+            if (status.status() != WriteBehindStatus.Status.PENDING) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Submission " + trackingId + " was not drained");
+    }
+}
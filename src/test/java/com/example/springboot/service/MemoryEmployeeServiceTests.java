@@ -0,0 +1,350 @@
+package com.example.springboot.service;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.config.MemoryStoreConfig;
+import com.example.springboot.config.MemoryStoreProperties;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeField;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeProjection;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.memstore.EmployeeMemoryStore;
+import com.example.springboot.model.Employee;
+import com.example.springboot.search.EmployeeSearchIndex;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The {@link EmployeeServiceTests} scenarios against the memory store, on a real store in a temporary directory.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MemoryEmployeeServiceTests {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private EmployeeChangeFeed changeFeed;
+
+    @Mock
+    private ObjectProvider<EmployeeWriteBehind> writeBehind;
+
+    private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+    private EmployeeMemoryStore store;
+    private EmployeeService employeeService;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        MemoryStoreConfig config = new MemoryStoreConfig();
+        store = config.employeeMemoryStore(new MemoryStoreProperties(true, directory, true, Duration.ofHours(1)),
+                searchIndex, changeFeed);
+        employeeService = config.employeeService(store, searchIndex, writeBehind);
+        employee = Employee.builder()
+                .firstName("Yerkebulan")
+                .lastName("Yessenali")
+                .email("yerkebulan@gmail.com")
+                .build();
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        store.destroy();
+    }
+
+    @DisplayName("JUnit test for saveEmployee method")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject(){
+        //when
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //then
+        Assertions.assertThat(savedEmployee.getId()).isGreaterThan(0);
+        Assertions.assertThat(savedEmployee.getVersion()).isZero();
+        Assertions.assertThat(employeeService.getEmployeeById(savedEmployee.getId())).contains(EmployeeView.of(savedEmployee));
+        verify(changeFeed, times(1)).publish(EmployeeChange.Type.CREATED, savedEmployee.getId(), EmployeeView.of(savedEmployee));
+    }
+
+    @DisplayName("JUnit test for saveEmployee method which throws exception")
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenThrowsException(){
+        //given
+        employeeService.saveEmployee(employee);
+        Employee sameEmail = Employee.builder().firstName("Tony").lastName("Stark").email(employee.getEmail()).build();
+
+        //when
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.saveEmployee(sameEmail);
+        });
+
+        //then
+        Assertions.assertThat(employeeService.getAllEmployees()).hasSize(1);
+    }
+
+    @DisplayName("JUnit test for getEmployeesByIds method")
+    @Test
+    public void givenSavedEmployees_whenGetEmployeesByIds_thenReturnInRequestOrderWithMissingIds(){
+        //given
+        List<Long> ids = IntStream.range(0, 10)
+                .mapToObj(i -> employeeService.saveEmployee(Employee.builder()
+                        .firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build()).getId())
+                .toList();
+        long missingId = ids.get(ids.size() - 1) + 1000;
+
+        //when
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(
+                List.of(ids.get(7), missingId, ids.get(2), ids.get(7), ids.get(0)));
+
+        //then
+        Assertions.assertThat(result.employees()).extracting(EmployeeView::id)
+                .containsExactly(ids.get(7), ids.get(2), ids.get(0));
+        Assertions.assertThat(result.employees().get(0).email()).isEqualTo("employee7@gmail.com");
+        Assertions.assertThat(result.missing()).containsExactly(missingId);
+    }
+
+    @DisplayName("JUnit test for saveEmployees method with duplicate emails")
+    @Test
+    public void givenEmployeesWithDuplicateEmail_whenSaveEmployees_thenReportConflicts(){
+        //given
+        employeeService.saveEmployee(employee);
+        Employee newEmployee = Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build();
+        Employee existingEmailEmployee = Employee.builder().firstName("Yerkebulan").lastName("Yessenali")
+                .email(employee.getEmail()).build();
+        Employee sameEmailInBatch = Employee.builder().firstName("Anthony").lastName("Stark").email("stark@gmail.com").build();
+
+        //when
+        List<BatchItemResult> results = employeeService.saveEmployees(
+                List.of(newEmployee, existingEmailEmployee, sameEmailInBatch));
+
+        //then
+        Assertions.assertThat(results).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.CONFLICT, BatchItemStatus.CONFLICT);
+        Assertions.assertThat(results.get(0).id()).isEqualTo(newEmployee.getId());
+        Assertions.assertThat(employeeService.getAllEmployees()).hasSize(2);
+    }
+
+    @DisplayName("Junit test for deleteEmployees method")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReportMissingIds(){
+        //given
+        long id = employeeService.saveEmployee(employee).getId();
+
+        //when
+        List<BatchItemResult> results = employeeService.deleteEmployees(List.of(id, id + 1));
+
+        //then
+        Assertions.assertThat(results).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND);
+        Assertions.assertThat(employeeService.getEmployeeById(id)).isEmpty();
+    }
+
+    @DisplayName("Junit test for updateEmployees method")
+    @Test
+    public void givenEmployees_whenUpdateEmployees_thenReportMissingAndConflicts(){
+        //given
+        Employee first = employeeService.saveEmployee(employee);
+        Employee second = employeeService.saveEmployee(
+                Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build());
+        Employee renamed = Employee.builder().id(first.getId()).firstName("Renamed").lastName("Yessenali")
+                .email(first.getEmail()).build();
+        Employee takenEmail = Employee.builder().id(second.getId()).firstName("Tony").lastName("Stark")
+                .email(first.getEmail()).build();
+        Employee missing = Employee.builder().id(second.getId() + 1).firstName("Nobody").lastName("Here")
+                .email("nobody@gmail.com").build();
+
+        //when
+        List<BatchItemResult> results = employeeService.updateEmployees(List.of(renamed, takenEmail, missing));
+
+        //then
+        Assertions.assertThat(results).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.UPDATED, BatchItemStatus.CONFLICT, BatchItemStatus.NOT_FOUND);
+        Assertions.assertThat(employeeService.getEmployeeById(first.getId()).orElseThrow().firstName()).isEqualTo("Renamed");
+        Assertions.assertThat(employeeService.getEmployeeVersion(first.getId())).contains(1L);
+        Assertions.assertThat(employeeService.getEmployeeVersion(second.getId())).contains(0L);
+    }
+
+    @DisplayName("Junit test for getAllEmployees method")
+    @Test
+    public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList(){
+        //given
+        Employee first = employeeService.saveEmployee(employee);
+        Employee second = employeeService.saveEmployee(
+                Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build());
+
+        //when
+        List<EmployeeView> employeeList = employeeService.getAllEmployees();
+
+        //then
+        Assertions.assertThat(employeeList).containsExactly(EmployeeView.of(first), EmployeeView.of(second));
+    }
+
+    @DisplayName("Junit test for getAllEmployees method (negative scenario)")
+    @Test
+    public void givenEmptyEmployeesList_whenGetAllEmployees_thenReturnEmptyEmployeesList(){
+        //when
+        List<EmployeeView> employeeList = employeeService.getAllEmployees();
+
+        //then
+        Assertions.assertThat(employeeList).isEmpty();
+    }
+
+    @DisplayName("Junit test for getEmployeesAfter method")
+    @Test
+    public void givenCursor_whenGetEmployeesAfter_thenReturnNextPage(){
+        //given
+        Employee first = employeeService.saveEmployee(employee);
+        Employee second = employeeService.saveEmployee(
+                Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build());
+
+        //when
+        List<EmployeeView> employeeList = employeeService.getEmployeesAfter(first.getId(), 10);
+        List<EmployeeProjection> narrow = employeeService.getEmployeesAfter(0, 1, EnumSet.of(EmployeeField.EMAIL));
+
+        //then
+        Assertions.assertThat(employeeList).containsExactly(EmployeeView.of(second));
+        Assertions.assertThat(narrow).hasSize(1);
+        Assertions.assertThat(narrow.get(0).id()).isEqualTo(first.getId());
+        Assertions.assertThat(narrow.get(0).fields()).containsExactly(EmployeeField.EMAIL);
+    }
+
+    @DisplayName("JUnit test for updateEmployee method")
+    @Test
+    public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee(){
+        //given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        savedEmployee.setEmail("updated_yerkebulan_email@gmail.com");
+        savedEmployee.setFirstName("Updated_Yerkebulan_Name");
+
+        //when
+        Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
+
+        //then
+        Assertions.assertThat(updatedEmployee.getEmail()).isEqualTo("updated_yerkebulan_email@gmail.com");
+        Assertions.assertThat(updatedEmployee.getFirstName()).isEqualTo("Updated_Yerkebulan_Name");
+        Assertions.assertThat(updatedEmployee.getVersion()).isEqualTo(1L);
+        org.junit.jupiter.api.Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.updateEmployee(savedEmployee);
+        });
+    }
+
+    @DisplayName("JUnit test for conditional updateEmployee method")
+    @Test
+    public void givenCurrentVersion_whenUpdateEmployee_thenUpdated(){
+        //given
+        long id = employeeService.saveEmployee(employee).getId();
+        Employee changes = Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(id, 0L, changes);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.UPDATED);
+        Assertions.assertThat(result.employee().getVersion()).isEqualTo(1L);
+        Assertions.assertThat(searchIndex.search("tony", 10)).extracting(EmployeeView::id).containsExactly(id);
+        verify(changeFeed, times(1)).publish(eq(EmployeeChange.Type.UPDATED), eq(id), any(EmployeeView.class));
+    }
+
+    @DisplayName("JUnit test for conditional updateEmployee method (stale version)")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenPreconditionFailed(){
+        //given
+        long id = employeeService.saveEmployee(employee).getId();
+        Employee changes = Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(id, 1L, changes);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.PRECONDITION_FAILED);
+        Assertions.assertThat(result.employee().getVersion()).isZero();
+    }
+
+    @DisplayName("JUnit test for conditional updateEmployee method (unchanged payload)")
+    @Test
+    public void givenUnchangedEmployee_whenUpdateEmployee_thenUnchanged(){
+        //given
+        long id = employeeService.saveEmployee(employee).getId();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(id, 0L, employee);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.UNCHANGED);
+        verify(changeFeed, never()).publish(eq(EmployeeChange.Type.UPDATED), anyLong(), any());
+    }
+
+    @DisplayName("JUnit test for conditional updateEmployee method (email taken)")
+    @Test
+    public void givenTakenEmail_whenUpdateEmployee_thenThrowsException(){
+        //given
+        employeeService.saveEmployee(employee);
+        long id = employeeService.saveEmployee(
+                Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build()).getId();
+        Employee changes = Employee.builder().firstName("Tony").lastName("Stark").email(employee.getEmail()).build();
+
+        //when
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.updateEmployee(id, null, changes);
+        });
+
+        //then
+        Assertions.assertThat(employeeService.getEmployeeVersion(id)).contains(0L);
+    }
+
+    @DisplayName("JUnit test for deleteEmployee method")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenNothing(){
+        //given
+        long employeeId = employeeService.saveEmployee(employee).getId();
+
+        //when
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+
+        //then
+        Assertions.assertThat(deleted).isTrue();
+        Assertions.assertThat(employeeService.deleteEmployee(employeeId)).isFalse();
+        Assertions.assertThat(searchIndex.search("yer", 10)).isEmpty();
+        verify(changeFeed, times(1)).publish(EmployeeChange.Type.DELETED, employeeId, null);
+    }
+
+    @DisplayName("JUnit test for searchEmployees method")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenAnsweredFromIndex(){
+        //given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //when
+        List<EmployeeView> employees = employeeService.searchEmployees("yer", 10);
+
+        //then
+        Assertions.assertThat(employees).containsExactly(EmployeeView.of(savedEmployee));
+    }
+}
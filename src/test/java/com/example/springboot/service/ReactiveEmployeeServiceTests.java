@@ -0,0 +1,118 @@
+package com.example.springboot.service;
+
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.ReactiveEmployeeRepository;
+import com.example.springboot.service.impl.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTests {
+
+    @Mock
+    private ReactiveEmployeeRepository employeeRepository;
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup(){
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Yerkebulan")
+                .lastName("Yessenali")
+                .email("yerkebulan@gmail.com")
+                .build();
+    }
+
+    // JUnit test for reactive saveEmployee method which maps the unique email violation
+    @DisplayName("JUnit test for reactive saveEmployee method which throws exception")
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenEmitsException(){
+        //given - precondition or setup
+        given(employeeRepository.insert(employee))
+                .willReturn(Mono.error(new DataIntegrityViolationException("duplicate key")));
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        StepVerifier.create(employeeService.saveEmployee(employee))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    // JUnit test for reactive updateEmployee method
+    @DisplayName("JUnit test for reactive updateEmployee method")
+    @Test
+    public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee(){
+        //given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build();
+        given(employeeRepository.updateById(1L, 0L, updatedEmployee)).willReturn(Mono.just(1L));
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        StepVerifier.create(employeeService.updateEmployee(1L, 0L, updatedEmployee))
+                .expectNextMatches(result -> result.status() == EmployeeUpdateResult.Status.UPDATED
+                        && result.employee().getId() == 1L
+                        && result.employee().getVersion() == 1L
+                        && result.employee().getEmail().equals("tony@gmail.com"))
+                .verifyComplete();
+    }
+
+    // JUnit test for reactive updateEmployee method with a stale version
+    @DisplayName("JUnit test for reactive updateEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenPreconditionFailed(){
+        //given - precondition or setup
+        employee.setVersion(3L);
+        given(employeeRepository.updateById(1L, 2L, employee)).willReturn(Mono.just(0L));
+        given(employeeRepository.findById(1L)).willReturn(Mono.just(employee));
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        StepVerifier.create(employeeService.updateEmployee(1L, 2L, employee))
+                .expectNextMatches(result -> result.status() == EmployeeUpdateResult.Status.PRECONDITION_FAILED
+                        && result.employee().getVersion() == 3L)
+                .verifyComplete();
+    }
+
+    // JUnit test for reactive updateEmployee method with an unknown id
+    @DisplayName("JUnit test for reactive updateEmployee method (negative scenario)")
+    @Test
+    public void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFound(){
+        //given - precondition or setup
+        given(employeeRepository.updateById(1L, null, employee)).willReturn(Mono.just(0L));
+        given(employeeRepository.findById(1L)).willReturn(Mono.empty());
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        StepVerifier.create(employeeService.updateEmployee(1L, null, employee))
+                .expectNext(EmployeeUpdateResult.notFound())
+                .verifyComplete();
+    }
+
+    // JUnit test for reactive deleteEmployee method with an unknown id
+    @DisplayName("JUnit test for reactive deleteEmployee method (negative scenario)")
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturnFalse(){
+        //given - precondition or setup
+        given(employeeRepository.deleteById(1L)).willReturn(Mono.just(0L));
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        StepVerifier.create(employeeService.deleteEmployee(1L))
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
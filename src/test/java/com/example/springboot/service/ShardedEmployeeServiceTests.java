@@ -0,0 +1,313 @@
+package com.example.springboot.service;
+
+import com.example.springboot.changes.EmployeeChangeFeed;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.EmployeeChange;
+import com.example.springboot.dto.EmployeeLookupResult;
+import com.example.springboot.dto.EmployeeUpdateResult;
+import com.example.springboot.dto.EmployeeView;
+import com.example.springboot.exception.ResourceNotFoundException;
+import com.example.springboot.model.Employee;
+import com.example.springboot.search.EmployeeSearchIndex;
+import com.example.springboot.service.impl.ShardedEmployeeServiceImpl;
+import com.example.springboot.sharding.ConsistentHashRing;
+import com.example.springboot.sharding.Shard;
+import com.example.springboot.sharding.ShardedEmployeeRepository;
+import com.example.springboot.writebehind.EmployeeWriteBehind;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The {@link EmployeeServiceTests} scenarios against three embedded H2 shards, plus the cross-shard behaviour:
+ * email uniqueness and id-ordered pages over all shards.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ShardedEmployeeServiceTests {
+
+    @Mock
+    private EmployeeChangeFeed changeFeed;
+
+    @Mock
+    private ObjectProvider<EmployeeWriteBehind> writeBehind;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+    private List<Shard> shards;
+    private ShardedEmployeeRepository repository;
+    private EmployeeService employeeService;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        EmbeddedDatabase main = database();
+        new JdbcTemplate(main).execute("CREATE SEQUENCE employees_seq START WITH 1 INCREMENT BY 50");
+        shards = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            EmbeddedDatabase shard = database();
+            new ResourceDatabasePopulator(new ClassPathResource("sharding/schema.sql")).execute(shard);
+            shards.add(Shard.of("shard" + i, shard));
+        }
+        repository = new ShardedEmployeeRepository(
+                new ConsistentHashRing(List.of("shard1", "shard2", "shard3"), 64), shards, new JdbcTemplate(main));
+        employeeService = new ShardedEmployeeServiceImpl(repository, searchIndex, changeFeed, writeBehind);
+        employee = Employee.builder()
+                .firstName("Yerkebulan")
+                .lastName("Yessenali")
+                .email("yerkebulan@gmail.com")
+                .build();
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        repository.destroy();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @DisplayName("JUnit test for saveEmployee method")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject(){
+        //when
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //then
+        Assertions.assertThat(savedEmployee.getId()).isGreaterThan(0);
+        Assertions.assertThat(savedEmployee.getVersion()).isZero();
+        Assertions.assertThat(employeeService.getEmployeeById(savedEmployee.getId())).contains(EmployeeView.of(savedEmployee));
+        Assertions.assertThat(employeeService.searchEmployees("yessenali", 10)).containsExactly(EmployeeView.of(savedEmployee));
+        verify(changeFeed, times(1)).publish(EmployeeChange.Type.CREATED, savedEmployee.getId(), EmployeeView.of(savedEmployee));
+    }
+
+    @DisplayName("JUnit test for email uniqueness across shards")
+    @Test
+    public void givenEmailTakenOnAnotherShard_whenSaveEmployee_thenThrowsException(){
+        //given
+        List<Employee> saved = IntStream.range(0, 30)
+                .mapToObj(i -> employeeService.saveEmployee(Employee.builder()
+                        .firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build()))
+                .toList();
+
+        //when
+        for (Employee existing : saved) {
+            Employee sameEmail = Employee.builder().firstName("Tony").lastName("Stark").email(existing.getEmail()).build();
+            org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+                employeeService.saveEmployee(sameEmail);
+            });
+        }
+
+        //then
+        Assertions.assertThat(employeeService.getAllEmployees()).hasSize(30);
+        Assertions.assertThat(shards.stream().mapToLong(shard -> count(shard, "employee_emails")).sum()).isEqualTo(30);
+        Assertions.assertThat(shards).allSatisfy(shard -> Assertions.assertThat(count(shard, "employees")).isPositive());
+    }
+
+    @DisplayName("JUnit test for getEmployeesAfter method merging the shards in id order")
+    @Test
+    public void givenEmployeesOnAllShards_whenGetEmployeesAfter_thenPagesAreInIdOrder(){
+        //given
+        List<Long> ids = IntStream.range(0, 25)
+                .mapToObj(i -> employeeService.saveEmployee(Employee.builder()
+                        .firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build()).getId())
+                .sorted()
+                .toList();
+
+        //when
+        List<Long> paged = new ArrayList<>();
+        long after = 0;
+        List<EmployeeView> page;
+        do {
+            page = employeeService.getEmployeesAfter(after, 10);
+            page.forEach(employee -> paged.add(employee.id()));
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == 10);
+
+        //then
+        Assertions.assertThat(paged).isEqualTo(ids);
+        Assertions.assertThat(employeeService.getAllEmployees()).extracting(EmployeeView::id).isEqualTo(ids);
+        List<Long> streamed = new ArrayList<>();
+        employeeService.streamAllEmployees(employee -> streamed.add(employee.getId()));
+        Assertions.assertThat(streamed).isEqualTo(ids);
+    }
+
+    @DisplayName("JUnit test for updateEmployee method changing the email")
+    @Test
+    public void givenEmployee_whenUpdateEmail_thenOldEmailIsReleased(){
+        //given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        Employee other = employeeService.saveEmployee(Employee.builder()
+                .firstName("Tony").lastName("Stark").email("stark@gmail.com").build());
+        Employee changed = Employee.builder().firstName("Yerkebulan").lastName("Yessenali").email("yerke@gmail.com").build();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(savedEmployee.getId(), 0L, changed);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.UPDATED);
+        Assertions.assertThat(result.employee().getVersion()).isEqualTo(1);
+        Assertions.assertThat(employeeService.getEmployeeById(savedEmployee.getId()).orElseThrow().email()).isEqualTo("yerke@gmail.com");
+        Assertions.assertThat(employeeService.saveEmployee(Employee.builder()
+                .firstName("Other").lastName("Person").email("yerkebulan@gmail.com").build()).getId()).isPositive();
+        Employee takenEmail = Employee.builder().firstName("Tony").lastName("Stark").email("yerke@gmail.com").build();
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.updateEmployee(other.getId(), null, takenEmail);
+        });
+        Assertions.assertThat(employeeService.getEmployeeById(other.getId()).orElseThrow().email()).isEqualTo("stark@gmail.com");
+    }
+
+    @DisplayName("JUnit test for updateEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenPreconditionFails(){
+        //given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        employeeService.updateEmployee(savedEmployee.getId(), null,
+                Employee.builder().firstName("Yerke").lastName("Yessenali").email("yerkebulan@gmail.com").build());
+        Employee stale = Employee.builder().id(savedEmployee.getId()).firstName("Stale").lastName("Write")
+                .email("yerkebulan@gmail.com").version(0).build();
+
+        //when
+        EmployeeUpdateResult result = employeeService.updateEmployee(savedEmployee.getId(), 0L, stale);
+
+        //then
+        Assertions.assertThat(result.status()).isEqualTo(EmployeeUpdateResult.Status.PRECONDITION_FAILED);
+        Assertions.assertThat(result.employee().getVersion()).isEqualTo(1);
+        org.junit.jupiter.api.Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.updateEmployee(stale);
+        });
+    }
+
+    @DisplayName("JUnit test for deleteEmployee method")
+    @Test
+    public void givenEmployee_whenDeleteEmployee_thenEmailIsReleased(){
+        //given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //when
+        boolean deleted = employeeService.deleteEmployee(savedEmployee.getId());
+
+        //then
+        Assertions.assertThat(deleted).isTrue();
+        Assertions.assertThat(employeeService.deleteEmployee(savedEmployee.getId())).isFalse();
+        Assertions.assertThat(employeeService.getEmployeeById(savedEmployee.getId())).isEmpty();
+        Assertions.assertThat(shards.stream().mapToLong(shard -> count(shard, "employee_emails")).sum()).isZero();
+        verify(changeFeed, times(1)).publish(EmployeeChange.Type.DELETED, savedEmployee.getId(), null);
+    }
+
+    @DisplayName("JUnit test for getEmployeesByIds method")
+    @Test
+    public void givenSavedEmployees_whenGetEmployeesByIds_thenReturnInRequestOrderWithMissingIds(){
+        //given
+        List<Long> ids = IntStream.range(0, 10)
+                .mapToObj(i -> employeeService.saveEmployee(Employee.builder()
+                        .firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build()).getId())
+                .toList();
+        long missingId = ids.get(ids.size() - 1) + 1000;
+
+        //when
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(
+                List.of(ids.get(7), missingId, ids.get(2), ids.get(7), ids.get(0)));
+
+        //then
+        Assertions.assertThat(result.employees()).extracting(EmployeeView::id)
+                .containsExactly(ids.get(7), ids.get(2), ids.get(0));
+        Assertions.assertThat(result.employees().get(0).email()).isEqualTo("employee7@gmail.com");
+        Assertions.assertThat(result.missing()).containsExactly(missingId);
+    }
+
+    @DisplayName("JUnit test for saveEmployees method with duplicate emails")
+    @Test
+    public void givenEmployeesWithDuplicateEmail_whenSaveEmployees_thenReportConflicts(){
+        //given
+        employeeService.saveEmployee(employee);
+        Employee newEmployee = Employee.builder().firstName("Tony").lastName("Stark").email("stark@gmail.com").build();
+        Employee existingEmailEmployee = Employee.builder().firstName("Yerkebulan").lastName("Yessenali")
+                .email(employee.getEmail()).build();
+        Employee sameEmailInBatch = Employee.builder().firstName("Anthony").lastName("Stark").email("stark@gmail.com").build();
+
+        //when
+        List<BatchItemResult> results = employeeService.saveEmployees(
+                List.of(newEmployee, existingEmailEmployee, sameEmailInBatch));
+
+        //then
+        Assertions.assertThat(results).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.CONFLICT, BatchItemStatus.CONFLICT);
+        Assertions.assertThat(results.get(0).id()).isEqualTo(newEmployee.getId());
+        Assertions.assertThat(employeeService.getAllEmployees()).hasSize(2)
+                .isSortedAccordingTo(Comparator.comparingLong(EmployeeView::id));
+    }
+
+    @DisplayName("JUnit test for saveEmployees method when one shard fails mid-batch")
+    @Test
+    public void givenFailingShard_whenSaveEmployees_thenCommittedRowsCreatedAndFailedRowsReleased(){
+        //given
+        Shard failing = shards.get(1);
+        failing.jdbcTemplate().execute("ALTER TABLE employees RENAME TO employees_offline");
+        List<Employee> employees = IntStream.range(0, 30)
+                .mapToObj(i -> Employee.builder().firstName("First" + i).lastName("Last" + i)
+                        .email("employee" + i + "@gmail.com").build())
+                .toList();
+
+        //when
+        List<BatchItemResult> results = employeeService.saveEmployees(employees);
+
+        //then
+        // back online, so the scatter-gather read below can reach every shard
+        failing.jdbcTemplate().execute("ALTER TABLE employees_offline RENAME TO employees");
+        List<BatchItemResult> created = results.stream()
+                .filter(result -> result.status() == BatchItemStatus.CREATED).toList();
+        List<BatchItemResult> failed = results.stream()
+                .filter(result -> result.status() == BatchItemStatus.FAILED).toList();
+        Assertions.assertThat(created).isNotEmpty();
+        Assertions.assertThat(failed).isNotEmpty();
+        Assertions.assertThat(created.size() + failed.size()).isEqualTo(employees.size());
+        Assertions.assertThat(failed).allSatisfy(result -> Assertions.assertThat(result.id()).isNull());
+        Assertions.assertThat(employeeService.getAllEmployees()).extracting(EmployeeView::id)
+                .containsExactlyInAnyOrderElementsOf(created.stream().map(BatchItemResult::id).toList());
+        Assertions.assertThat(shards.stream().mapToLong(shard -> count(shard, "employee_emails")).sum())
+                .isEqualTo(created.size());
+        created.forEach(result -> verify(changeFeed, times(1)).publish(
+                EmployeeChange.Type.CREATED, result.id(), EmployeeView.of(employees.get(result.index()))));
+
+        // the failed rows gave their emails back
+        Employee retried = employees.get(failed.get(0).index());
+        Employee saved = employeeService.saveEmployee(Employee.builder().firstName(retried.getFirstName())
+                .lastName(retried.getLastName()).email(retried.getEmail()).build());
+        Assertions.assertThat(saved.getId()).isNotNull();
+    }
+
+    private static long count(Shard shard, String table) {
+        return shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private EmbeddedDatabase database() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        databases.add(database);
+        return database;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.springboot.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ConsistentHashRingTests {
+
+    private static final int KEYS = 100_000;
+
+    @DisplayName("JUnit test for spreading ids evenly over the shards")
+    @Test
+    public void givenThreeShards_whenRouteSequentialIds_thenEachShardGetsAboutAThird() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard1", "shard2", "shard3"), 256);
+
+        //when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= KEYS; id++) {
+            counts.merge(ring.shardForId(id), 1, Integer::sum);
+        }
+
+        //then
+        assertThat(counts).containsOnlyKeys("shard1", "shard2", "shard3");
+        counts.values().forEach(count -> assertThat(count / (double) KEYS).isCloseTo(1 / 3.0, within(0.05)));
+        assertThat(ring.ownership().values().stream().mapToDouble(Double::doubleValue).sum()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @DisplayName("JUnit test for the keys moved by adding a shard")
+    @Test
+    public void givenRing_whenAddShard_thenOnlyKeysOfTheNewShardMove() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard1", "shard2", "shard3"), 256);
+
+        //when
+        ConsistentHashRing extended = ring.withShard("shard4");
+
+        //then
+        int moved = 0;
+        for (long id = 1; id <= KEYS; id++) {
+            String before = ring.shardForId(id);
+            String after = extended.shardForId(id);
+            if (!before.equals(after)) {
+                assertThat(after).isEqualTo("shard4");
+                moved++;
+            }
+        }
+        for (int i = 0; i < KEYS; i++) {
+            String email = "employee" + i + "@gmail.com";
+            String after = extended.shardForEmail(email);
+            assertThat(after).isIn(ring.shardForEmail(email), "shard4");
+        }
+        assertThat(moved / (double) KEYS).isCloseTo(0.25, within(0.05));
+    }
+
+    @DisplayName("JUnit test for comparing ring layouts")
+    @Test
+    public void givenRingsWithSameShardsInAnotherOrder_whenSameLayout_thenTrue() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard1", "shard2"), 64);
+
+        //when
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("shard2", "shard1"), 64);
+
+        //then
+        assertThat(ring.sameLayout(reordered)).isTrue();
+        assertThat(ring.sameLayout(new ConsistentHashRing(List.of("shard1", "shard2"), 128))).isFalse();
+        assertThat(ring.sameLayout(ring.withShard("shard3"))).isFalse();
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(reordered.shardForId(id)).isEqualTo(ring.shardForId(id));
+        }
+    }
+}
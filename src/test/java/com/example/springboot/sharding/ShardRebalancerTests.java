@@ -0,0 +1,135 @@
+package com.example.springboot.sharding;
+
+import com.example.springboot.dto.EmployeeView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardRebalancerTests {
+
+    private static final int EMPLOYEES = 500;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private final List<ShardedEmployeeRepository> repositories = new ArrayList<>();
+    private JdbcTemplate sequence;
+    private List<Shard> shards;
+
+    @BeforeEach
+    public void setup() {
+        EmbeddedDatabase main = database("CREATE SEQUENCE employees_seq START WITH 1 INCREMENT BY 50");
+        sequence = new JdbcTemplate(main);
+        shards = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            shards.add(Shard.of("shard" + i, shardDatabase()));
+        }
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        for (ShardedEmployeeRepository repository : repositories) {
+            repository.destroy();
+        }
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @DisplayName("JUnit test for rebalancing employees onto an added shard")
+    @Test
+    public void givenEmployeesOnThreeShards_whenAddShardAndRebalance_thenEveryEmployeeIsFoundWithTheNewRing() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard1", "shard2", "shard3"), 64);
+        ShardedEmployeeRepository before = repository(ring, shards.subList(0, 3));
+        List<EmployeeView> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            EmployeeView employee = new EmployeeView(before.nextId(), "First" + i, "Last" + i, "employee" + i + "@gmail.com", 0);
+            assertThat(before.claimEmail(employee.email(), employee.id())).isTrue();
+            employees.add(employee);
+        }
+        before.insertAll(employees);
+        ConsistentHashRing extended = ring.withShard("shard4");
+
+        //when
+        ShardRebalancer.Result result = new ShardRebalancer(shards, 64).rebalance(ring, extended);
+
+        //then
+        ShardedEmployeeRepository after = repository(extended, shards);
+        long expectedEmployeesMoved = employees.stream().filter(employee -> extended.shardForId(employee.id()).equals("shard4")).count();
+        long expectedEmailsMoved = employees.stream().filter(employee -> extended.shardForEmail(employee.email()).equals("shard4")).count();
+        assertThat(result.employeesMoved()).isEqualTo(expectedEmployeesMoved).isPositive();
+        assertThat(result.emailsMoved()).isEqualTo(expectedEmailsMoved).isPositive();
+        assertThat(after.findAll()).containsExactlyElementsOf(employees);
+        Map<String, Long> owners = after.findEmailOwners(employees.stream().map(EmployeeView::email).toList());
+        assertThat(owners).isEqualTo(employees.stream().collect(Collectors.toMap(EmployeeView::email, EmployeeView::id)));
+        for (Shard shard : shards) {
+            assertThat(count(shard, "employees")).isEqualTo(
+                    employees.stream().filter(employee -> extended.shardForId(employee.id()).equals(shard.name())).count());
+        }
+    }
+
+    @DisplayName("JUnit test for finishing an interrupted rebalance")
+    @Test
+    public void givenRowsCopiedButNotDeleted_whenRebalanceAgain_thenNoDuplicatesRemain() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard1", "shard2", "shard3"), 64);
+        ShardedEmployeeRepository before = repository(ring, shards.subList(0, 3));
+        List<EmployeeView> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new EmployeeView(before.nextId(), "First" + i, "Last" + i, "employee" + i + "@gmail.com", 0));
+        }
+        before.insertAll(employees);
+        ConsistentHashRing extended = ring.withShard("shard4");
+        ShardedEmployeeRepository after = repository(extended, shards);
+        // a run that copied the new shard's rows and stopped before deleting them from their old shards
+        after.insertAll(employees.stream().filter(employee -> extended.shardForId(employee.id()).equals("shard4")).toList());
+
+        //when
+        new ShardRebalancer(shards, 64).rebalance(ring, extended);
+        ShardRebalancer.Result again = new ShardRebalancer(shards, 64).rebalance(extended, extended);
+
+        //then
+        assertThat(again.employeesMoved()).isZero();
+        assertThat(after.findAll()).containsExactlyElementsOf(employees);
+        assertThat(shards.stream().mapToLong(shard -> count(shard, "employees")).sum()).isEqualTo(EMPLOYEES);
+    }
+
+    private ShardedEmployeeRepository repository(ConsistentHashRing ring, List<Shard> shards) {
+        ShardedEmployeeRepository repository = new ShardedEmployeeRepository(ring, shards, sequence);
+        repositories.add(repository);
+        return repository;
+    }
+
+    private static long count(Shard shard, String table) {
+        return shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private EmbeddedDatabase shardDatabase() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("sharding/schema.sql")
+                .build();
+        databases.add(database);
+        return database;
+    }
+
+    private EmbeddedDatabase database(String statement) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        new JdbcTemplate(database).execute(statement);
+        databases.add(database);
+        return database;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.springboot.testdata;
+
+import com.example.springboot.model.Employee;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic employees for tests, benchmarks and load tests.
+ * <p>
+ * Names are drawn from lists of common first and last names with a Zipf distribution, so a few names are very
+ * frequent and most are rare, as in real directories; that matters for the name index, search prefixes and
+ * duplicate-name lookups. Emails follow a handful of usual patterns and always end in the employee's id, so they
+ * stay unique under the table's constraint. The same seed always produces the same employees.
+ * <p>
+ * {@link #insert(DataSource, int)} bypasses JPA and writes plain JDBC batches, which loads a million rows into the
+ * in-memory database in seconds, and then moves the id sequence past the inserted ids so the application can keep
+ * creating employees. The search index, caches and change feed do not see rows written this way.
+ */
+public final class EmployeeDataGenerator {
+
+    private static final String[] FIRST_NAMES = {"james", "mary", "robert", "patricia", "john", "jennifer",
+            "michael", "linda", "david", "elizabeth", "william", "barbara", "richard", "susan", "joseph", "jessica",
+            "thomas", "sarah", "christopher", "karen", "charles", "lisa", "daniel", "nancy", "matthew", "betty",
+            "anthony", "margaret", "mark", "sandra", "donald", "ashley", "steven", "kimberly", "paul", "emily",
+            "andrew", "donna", "joshua", "michelle", "kenneth", "carol", "kevin", "amanda", "brian", "dorothy",
+            "george", "melissa", "timothy", "deborah", "aigerim", "yerkebulan", "wei", "fatima", "mohammed", "sofia",
+            "hiroshi", "olga", "rahul", "ana"};
+    private static final String[] LAST_NAMES = {"smith", "johnson", "williams", "brown", "jones", "garcia",
+            "miller", "davis", "rodriguez", "martinez", "hernandez", "lopez", "gonzalez", "wilson", "anderson",
+            "thomas", "taylor", "moore", "jackson", "martin", "lee", "perez", "thompson", "white", "harris",
+            "sanchez", "clark", "ramirez", "lewis", "robinson", "walker", "young", "allen", "king", "wright",
+            "scott", "torres", "nguyen", "hill", "flores", "green", "adams", "nelson", "baker", "hall", "rivera",
+            "campbell", "mitchell", "carter", "roberts", "yessenali", "kim", "wang", "ivanov", "tanaka", "kowalski",
+            "muller", "rossi", "silva", "sharma"};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "hotmail.com",
+            "icloud.com", "example.com", "example.org", "mail.ru"};
+    private static final int BATCH_SIZE = 10_000;
+
+    private final SplittableRandom random;
+    private final double[] firstNameWeights = zipf(FIRST_NAMES.length);
+    private final double[] lastNameWeights = zipf(LAST_NAMES.length);
+    private final double[] domainWeights = zipf(DOMAINS.length);
+    private long built;
+
+    public EmployeeDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Builds {@code count} transient employees, for code that saves them through the application. Their emails
+     * are unique among everything this generator built, and carry a {@code +} tag so they do not collide with
+     * inserted rows.
+     */
+    public List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(next("+" + ++built, 0));
+        }
+        return employees;
+    }
+
+    /**
+     * Inserts {@code count} employees with ids above every id in use or already handed out by the sequence, and
+     * returns the first inserted id.
+     */
+    public long insert(DataSource dataSource, int count) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long firstId = firstFreeId(connection);
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)")) {
+                    for (int i = 0; i < count; i++) {
+                        Employee employee = next(Long.toString(firstId + i), firstId + i);
+                        insert.setLong(1, employee.getId());
+                        insert.setString(2, employee.getFirstName());
+                        insert.setString(3, employee.getLastName());
+                        insert.setString(4, employee.getEmail());
+                        insert.setLong(5, employee.getVersion());
+                        insert.addBatch();
+                        if ((i + 1) % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                            connection.commit();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                // likewise, the next block Hibernate fetches must lie above the inserted ids
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER SEQUENCE employees_seq RESTART WITH " + (firstId + count + 50));
+                }
+                connection.commit();
+                return firstId;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private Employee next(String emailSuffix, long id) {
+        String firstName = FIRST_NAMES[pick(firstNameWeights)];
+        String lastName = LAST_NAMES[pick(lastNameWeights)];
+        String local = switch (random.nextInt(4)) {
+            case 0 -> firstName + "." + lastName;
+            case 1 -> firstName.charAt(0) + lastName;
+            case 2 -> firstName + "_" + lastName.charAt(0);
+            default -> lastName + firstName.charAt(0);
+        };
+        return Employee.builder()
+                .id(id)
+                .firstName(capitalize(firstName))
+                .lastName(capitalize(lastName))
+                .email(local + emailSuffix + "@" + DOMAINS[pick(domainWeights)])
+                .build();
+    }
+
+    private int pick(double[] cumulativeWeights) {
+        double value = random.nextDouble();
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    // Hibernate's pooled optimizer may still hold a block of ids below the next sequence value, so start above it
+    private static long firstFreeId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long nextValue = queryLong(statement, "SELECT NEXT VALUE FOR employees_seq");
+            long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM employees");
+            return Math.max(maxId, nextValue + 50) + 1;
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // cumulative Zipf weights with exponent 1: the k-th most common value is k times rarer than the first
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int k = 1; k <= size; k++) {
+            total += 1.0 / k;
+            cumulative[k - 1] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static String capitalize(String name) {
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.springboot.testdata;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+// the generator commits on its own connection, so the test must not hold a rolled-back transaction around it
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeDataGeneratorTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    public void cleanup(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("JUnit test for bulk inserting generated employees")
+    @Test
+    public void givenGenerator_whenInsert_thenRowsAreStoredWithUniqueEmails() throws Exception {
+        //given
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+
+        //when
+        long firstId = generator.insert(dataSource, 20_000);
+
+        //then
+        List<Employee> employees = employeeRepository.findAll();
+        assertThat(employees).hasSize(20_000);
+        assertThat(employees).extracting(Employee::getId).allMatch(id -> id >= firstId && id < firstId + 20_000);
+        assertThat(employees.stream().map(Employee::getEmail).distinct()).hasSize(20_000);
+    }
+
+    @DisplayName("JUnit test for saving through JPA after a bulk insert")
+    @Test
+    public void givenInsertedEmployees_whenSaveNewEmployee_thenIdDoesNotCollide() throws Exception {
+        //given
+        long firstId = new EmployeeDataGenerator(42).insert(dataSource, 1_000);
+
+        //when
+        Employee saved = employeeRepository.save(Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build());
+
+        //then
+        assertThat(saved.getId()).satisfiesAnyOf(
+                id -> assertThat(id).isLessThan(firstId),
+                id -> assertThat(id).isGreaterThan(firstId + 999));
+        assertThat(employeeRepository.count()).isEqualTo(1_001);
+    }
+
+    @DisplayName("JUnit test for a skewed and repeatable name distribution")
+    @Test
+    public void givenSameSeed_whenGenerate_thenSameEmployeesWithSkewedNames(){
+        //given
+        List<Employee> first = new EmployeeDataGenerator(7).employees(10_000);
+
+        //when
+        List<Employee> second = new EmployeeDataGenerator(7).employees(10_000);
+
+        //then
+        assertThat(second).isEqualTo(first);
+        Map<String, Long> byFirstName = first.stream()
+                .collect(Collectors.groupingBy(Employee::getFirstName, Collectors.counting()));
+        long mostCommon = byFirstName.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        // with a uniform choice every name would appear about 10_000 / 60 times
+        assertThat(mostCommon).isGreaterThan(10_000 / 60 * 5);
+        assertThat(first.stream().map(Employee::getEmail).collect(Collectors.toMap(Function.identity(), e -> 1,
+                Integer::sum))).allSatisfy((email, count) -> assertThat(count).isEqualTo(1));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.springboot.throttling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimitTests {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, WINDOW, 1.5, 0.2, clock::get);
+
+    @DisplayName("JUnit test for admitting up to the limit")
+    @Test
+    public void givenLimitReached_whenAcquire_thenRejectedUntilReleased(){
+        //given
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        //when
+        boolean overLimit = limit.tryAcquire();
+        limit.release();
+
+        //then
+        assertThat(overLimit).isFalse();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(10);
+    }
+
+    @DisplayName("JUnit test for growing while latency is steady and shrinking when it rises")
+    @Test
+    public void givenSaturatedLimit_whenLatencyRises_thenLimitShrinks(){
+        //given
+        saturate();
+        windows(5, TimeUnit.MILLISECONDS.toNanos(1));
+        int grown = limit.limit();
+
+        //when
+        windows(5, TimeUnit.MILLISECONDS.toNanos(10));
+
+        //then
+        assertThat(grown).isGreaterThan(10);
+        assertThat(limit.limit()).isLessThan(grown).isGreaterThanOrEqualTo(4);
+    }
+
+    @DisplayName("JUnit test for keeping the limit while it is not what bounds the load")
+    @Test
+    public void givenFewRequestsInFlight_whenWindowsClose_thenLimitIsUnchanged(){
+        //given
+        limit.tryAcquire();
+
+        //when
+        windows(5, TimeUnit.MILLISECONDS.toNanos(1));
+
+        //then
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    private void saturate() {
+        while (limit.tryAcquire()) {
+        }
+    }
+
+    private void windows(int count, long latencyNanos) {
+        for (int i = 0; i < count; i++) {
+            limit.onSample(latencyNanos);
+            clock.addAndGet(WINDOW);
+            limit.onSample(latencyNanos);
+        }
+    }
+}
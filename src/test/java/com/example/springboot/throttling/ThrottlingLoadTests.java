@@ -0,0 +1,129 @@
+package com.example.springboot.throttling;
+
+import com.example.springboot.model.Employee;
+import com.example.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Load generator: one client floods an endpoint from several threads while another stays within its rate.
+ */
+@SpringBootTest(properties = {
+        "app.throttling.enabled=true",
+        "app.throttling.requests-per-second=5",
+        "app.throttling.burst=10",
+        "app.throttling.endpoints[EmployeeController#getEmployeeById(long,String,String)].requests-per-second=0.1",
+        "app.throttling.endpoints[EmployeeController#getEmployeeById(long,String,String)].burst=1"
+})
+@AutoConfigureMockMvc
+public class ThrottlingLoadTests {
+
+    private static final int FLOOD_THREADS = 8;
+    private static final int FLOOD_REQUESTS = 400;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void cleanup(){
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for shedding a flooding client without affecting a polite one")
+    @Test
+    public void givenFloodingClient_whenPoliteClientCallsWithinItsRate_thenOnlyTheFloodIsRejected() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build());
+        ExecutorService flood = Executors.newFixedThreadPool(FLOOD_THREADS);
+        List<Future<MvcResult>> flooded = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < FLOOD_REQUESTS; i++) {
+            flooded.add(flood.submit(() -> call(employee.getId(), "flood")));
+        }
+        List<Integer> politeStatuses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            politeStatuses.add(call(employee.getId(), "polite").getResponse().getStatus());
+            Thread.sleep(250);
+        }
+        flood.shutdown();
+        assertThat(flood.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        int passed = 0;
+        int throttled = 0;
+        for (Future<MvcResult> result : flooded) {
+            int status = result.get().getResponse().getStatus();
+            if (status == 200) {
+                passed++;
+            } else {
+                assertThat(status).isIn(429, 503);
+                assertThat(result.get().getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+                throttled++;
+            }
+        }
+        assertThat(politeStatuses).containsOnly(200);
+        assertThat(throttled).isGreaterThan(0);
+        assertThat(passed).isLessThan(FLOOD_REQUESTS / 2);
+        assertThat(meterRegistry.find("employees.throttling.rejected").tag("endpoint", "EmployeeController#getEmployeeById(long,String)").counters())
+                .isNotEmpty();
+    }
+
+    @DisplayName("JUnit test for overloaded handler methods getting their own limits and buckets")
+    @Test
+    public void givenOverloadWithItsOwnBurst_whenItIsExhausted_thenOtherOverloadIsStillAdmitted() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build());
+
+        //when
+        int first = mockMvc.perform(get("/api/employees/{id}", employee.getId()).param("fields", "email")
+                .header("X-Api-Key", "overloads")).andReturn().getResponse().getStatus();
+        int second = mockMvc.perform(get("/api/employees/{id}", employee.getId()).param("fields", "email")
+                .header("X-Api-Key", "overloads")).andReturn().getResponse().getStatus();
+        int other = call(employee.getId(), "overloads").getResponse().getStatus();
+
+        //then
+        assertThat(first).isEqualTo(200);
+        assertThat(second).isEqualTo(429);
+        assertThat(other).isEqualTo(200);
+        assertThat(meterRegistry.find("employees.throttling.rejected")
+                .tag("endpoint", "EmployeeController#getEmployeeById(long,String,String)").counters())
+                .isNotEmpty();
+    }
+
+    private MvcResult call(long id, String apiKey) throws Exception {
+        return mockMvc.perform(get("/api/employees/{id}", id).header("X-Api-Key", apiKey)).andReturn();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.springboot.throttling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @DisplayName("JUnit test for a burst followed by the steady rate")
+    @Test
+    public void givenFullBucket_whenBurstIsSpent_thenRequestsPassAtTheRate(){
+        //given
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        //when
+        int passed = 0;
+        while (bucket.tryAcquire(0) == 0) {
+            passed++;
+        }
+        long wait = bucket.tryAcquire(0);
+
+        //then
+        assertThat(passed).isEqualTo(5);
+        assertThat(wait).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isPositive();
+    }
+
+    @DisplayName("JUnit test for refilling an idle bucket")
+    @Test
+    public void givenSpentBucket_whenIdleLongEnough_thenBurstIsAvailableAgainButNotMore(){
+        //given
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        while (bucket.tryAcquire(0) == 0) {
+        }
+
+        //when
+        long later = 10 * SECOND;
+        int passed = 0;
+        while (bucket.tryAcquire(later) == 0) {
+            passed++;
+        }
+
+        //then
+        assertThat(passed).isEqualTo(5);
+    }
+}
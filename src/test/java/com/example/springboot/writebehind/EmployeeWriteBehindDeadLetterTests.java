@@ -0,0 +1,86 @@
+package com.example.springboot.writebehind;
+
+import com.example.springboot.config.WriteBehindProperties;
+import com.example.springboot.dto.BatchItemResult;
+import com.example.springboot.dto.BatchItemStatus;
+import com.example.springboot.dto.WriteBehindStatus;
+import com.example.springboot.repository.WriteBehindSubmissionRepository;
+import com.example.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class EmployeeWriteBehindDeadLetterTests {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final WriteBehindSubmissionRepository submissionRepository = mock(WriteBehindSubmissionRepository.class);
+    private EmployeeWriteBehind writeBehind;
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.destroy();
+        }
+    }
+
+    @DisplayName("JUnit test for an unreadable entry in the write-behind log")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenUnreadableEntry_whenDrained_thenDeadLetteredAndLaterEntriesInserted() throws Exception {
+        //given
+        Path logFile = directory.resolve("write-behind.log");
+        byte[] poison = "{\"trackingId\":\"poison\",\"firstName\":[\"not\",\"a\",\"name\"]}"
+                .getBytes(StandardCharsets.UTF_8);
+        try (EmployeeWriteLog log = new EmployeeWriteLog(logFile, CAPACITY)) {
+            log.recover();
+            log.append(poison);
+            log.append("{\"trackingId\":\"valid\",\"firstName\":\"Tony\",\"lastName\":\"Stark\",\"email\":\"tony@gmail.com\"}"
+                    .getBytes(StandardCharsets.UTF_8));
+            log.force();
+        }
+        given(employeeService.saveEmployees(anyList())).willReturn(List.of(BatchItemResult.of(0, 1L, BatchItemStatus.CREATED)));
+        ObjectProvider<EmployeeService> employeeServiceProvider = mock(ObjectProvider.class);
+        given(employeeServiceProvider.getObject()).willReturn(employeeService);
+
+        //when
+        writeBehind = new EmployeeWriteBehind(
+                new WriteBehindProperties(true, logFile, DataSize.ofBytes(CAPACITY), 10, Duration.ofMillis(2),
+                        Duration.ofMillis(5), 2),
+                employeeServiceProvider, submissionRepository, mock(PlatformTransactionManager.class), new ObjectMapper());
+        writeBehind.start();
+
+        //then
+        verify(submissionRepository, timeout(5_000)).save(argThat(submission -> submission.getId().equals("poison")
+                && submission.getStatus() == WriteBehindStatus.Status.FAILED));
+        verify(employeeService, timeout(5_000)).saveEmployees(argThat(employees -> employees.size() == 1
+                && employees.get(0).getEmail().equals("tony@gmail.com")));
+        assertThat(Files.readAllLines(directory.resolve("write-behind.log.dead-letter")))
+                .containsExactly(Base64.getEncoder().encodeToString(poison));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.springboot.writebehind;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+public class EmployeeWriteLogTests {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("JUnit test for reading durable entries")
+    @Test
+    public void givenForcedAppends_whenReadDurable_thenReturnEntriesInOrder() throws Exception {
+        //given
+        try (EmployeeWriteLog log = new EmployeeWriteLog(directory.resolve("write-behind.log"), CAPACITY)) {
+            log.recover();
+            log.append(bytes("first"));
+            long position = log.append(bytes("second"));
+
+            //when
+            List<EmployeeWriteLog.Entry> beforeForce = log.readDurable(0, 10);
+            log.force();
+            log.awaitDurable(position);
+            List<EmployeeWriteLog.Entry> afterForce = log.readDurable(0, 10);
+
+            //then
+            Assertions.assertThat(beforeForce).isEmpty();
+            Assertions.assertThat(afterForce).extracting(EmployeeWriteLogTests::text).containsExactly("first", "second");
+            Assertions.assertThat(log.readDurable(afterForce.get(0).end(), 10)).extracting(EmployeeWriteLogTests::text)
+                    .containsExactly("second");
+        }
+    }
+
+    @DisplayName("JUnit test for recovering the log after a restart")
+    @Test
+    public void givenReopenedLog_whenRecover_thenReturnEntriesUpToTornRecord() throws IOException {
+        //given
+        Path file = directory.resolve("write-behind.log");
+        int tornRecord;
+        try (EmployeeWriteLog log = new EmployeeWriteLog(file, CAPACITY)) {
+            log.recover();
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+            log.append(bytes("third"));
+            log.force();
+            tornRecord = log.readDurable(0, 10).get(1).end();
+        }
+        // corrupt the payload of the third record as a crash in the middle of the write would
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(tornRecord + 8);
+            raw.write('X');
+        }
+
+        //when
+        try (EmployeeWriteLog log = new EmployeeWriteLog(file, CAPACITY)) {
+            List<EmployeeWriteLog.Entry> recovered = log.recover();
+            log.append(bytes("fourth"));
+            log.force();
+
+            //then
+            Assertions.assertThat(recovered).extracting(EmployeeWriteLogTests::text).containsExactly("first", "second");
+            Assertions.assertThat(log.readDurable(0, 10)).extracting(EmployeeWriteLogTests::text)
+                    .containsExactly("first", "second", "fourth");
+        }
+    }
+
+    @DisplayName("JUnit test for reusing a consumed log")
+    @Test
+    public void givenFullLog_whenEverythingIsConsumed_thenLogStartsOver() throws IOException {
+        //given
+        try (EmployeeWriteLog log = new EmployeeWriteLog(directory.resolve("write-behind.log"), 64)) {
+            log.recover();
+            log.append(bytes("0123456789012345678901234567890123456789"));
+            log.force();
+
+            //when
+            long rejected = log.append(bytes("0123456789012345678901234567890123456789"));
+            int consumed = log.readDurable(0, 10).get(0).end();
+            boolean reset = log.resetIfConsumed(consumed);
+            long accepted = log.append(bytes("0123456789012345678901234567890123456789"));
+
+            //then
+            Assertions.assertThat(rejected).isEqualTo(-1);
+            Assertions.assertThat(reset).isTrue();
+            Assertions.assertThat(accepted).isGreaterThan(consumed);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(EmployeeWriteLog.Entry entry) {
+        return new String(entry.payload(), StandardCharsets.UTF_8);
+    }
+}